@@ -0,0 +1,116 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.fess.suggest.benchmark;
+
+import java.util.Random;
+
+import org.codelibs.fess.suggest.constants.SuggestConstants;
+import org.codelibs.fess.suggest.entity.SuggestItem;
+
+/**
+ * Synthetic data shared by the benchmarks.
+ * Values are generated from a fixed seed so that runs are comparable.
+ */
+public final class BenchmarkData {
+
+    private static final String[] KATAKANA_WORDS = { "ケンサク", "エンジン", "ゼンブン", "サジェスト", "ショウヒン", "ジョウホウ", "キャッシュ", "ウィンドウ",
+            "ヴァイオリン", "ティーシャツ", "コンピューター", "データベース" };
+
+    private static final String[] WORDS = { "検索", "エンジン", "全文", "サジェスト", "商品", "情報", "fess", "opensearch", "ｓｅａｒｃｈ", "ﾃﾞｰﾀ",
+            "Java", "インデックス" };
+
+    private static final String[] TAGS = { "news", "blog", "docs", "faq" };
+
+    private static final String[] ROLES = { SuggestConstants.DEFAULT_ROLE, "admin", "user", "guest" };
+
+    private BenchmarkData() {
+        // nothing
+    }
+
+    /**
+     * Creates a random generator with a fixed seed.
+     * @return The random generator
+     */
+    public static Random random() {
+        return new Random(0x5eed);
+    }
+
+    /**
+     * Creates katakana texts of one to three words.
+     * @param num Number of texts
+     * @return The texts
+     */
+    public static String[] katakanaTexts(final int num) {
+        final Random random = random();
+        final String[] texts = new String[num];
+        for (int i = 0; i < num; i++) {
+            final StringBuilder buf = new StringBuilder();
+            final int words = random.nextInt(3) + 1;
+            for (int j = 0; j < words; j++) {
+                buf.append(KATAKANA_WORDS[random.nextInt(KATAKANA_WORDS.length)]);
+            }
+            texts[i] = buf.toString();
+        }
+        return texts;
+    }
+
+    /**
+     * Creates mixed-script texts of one to three words separated by spaces.
+     * @param num Number of texts
+     * @return The texts
+     */
+    public static String[] texts(final int num) {
+        final Random random = random();
+        final String[] texts = new String[num];
+        for (int i = 0; i < num; i++) {
+            final StringBuilder buf = new StringBuilder();
+            final int words = random.nextInt(3) + 1;
+            for (int j = 0; j < words; j++) {
+                if (j > 0) {
+                    buf.append(' ');
+                }
+                buf.append(WORDS[random.nextInt(WORDS.length)]);
+            }
+            texts[i] = buf.toString();
+        }
+        return texts;
+    }
+
+    /**
+     * Creates suggest items whose texts are drawn from a vocabulary of the given size,
+     * so that about {@code num / vocabulary} items share each ID.
+     * @param num Number of items
+     * @param vocabulary Number of distinct texts
+     * @return The items
+     */
+    public static SuggestItem[] items(final int num, final int vocabulary) {
+        final Random random = random();
+        final String[] texts = texts(vocabulary);
+        final SuggestItem[] items = new SuggestItem[num];
+        for (int i = 0; i < num; i++) {
+            final String[] words = texts[random.nextInt(texts.length)].split(" ");
+            final String[][] readings = new String[words.length][];
+            for (int j = 0; j < words.length; j++) {
+                readings[j] = new String[] { words[j].toLowerCase(), KATAKANA_WORDS[random.nextInt(KATAKANA_WORDS.length)] };
+            }
+            final SuggestItem.Kind kind = random.nextBoolean() ? SuggestItem.Kind.DOCUMENT : SuggestItem.Kind.QUERY;
+            items[i] = new SuggestItem(words, readings, new String[] { "content" }, kind == SuggestItem.Kind.DOCUMENT ? 1 : 0,
+                    kind == SuggestItem.Kind.QUERY ? 1 : 0, -1, new String[] { TAGS[random.nextInt(TAGS.length)] },
+                    new String[] { ROLES[random.nextInt(ROLES.length)] }, new String[] { "ja" }, kind);
+        }
+        return items;
+    }
+}
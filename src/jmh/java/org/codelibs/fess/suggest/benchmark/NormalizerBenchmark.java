@@ -0,0 +1,99 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.fess.suggest.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.codelibs.fess.suggest.normalizer.FullWidthToHalfWidthAlphabetNormalizer;
+import org.codelibs.fess.suggest.normalizer.HankakuKanaToZenkakuKana;
+import org.codelibs.fess.suggest.normalizer.ICUNormalizer;
+import org.codelibs.fess.suggest.normalizer.Normalizer;
+import org.codelibs.fess.suggest.normalizer.NormalizerChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the local normalizers, alone and as a chain before and after compilation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NormalizerBenchmark {
+
+    private Normalizer hankakuKanaToZenkakuKana;
+
+    private Normalizer fullWidthToHalfWidthAlphabet;
+
+    private Normalizer anyLower;
+
+    private Normalizer chain;
+
+    private Normalizer compiledChain;
+
+    private String[] texts;
+
+    private int index;
+
+    @Setup
+    public void setup() {
+        hankakuKanaToZenkakuKana = new HankakuKanaToZenkakuKana();
+        fullWidthToHalfWidthAlphabet = new FullWidthToHalfWidthAlphabetNormalizer();
+        anyLower = new ICUNormalizer("Any-Lower");
+        final NormalizerChain normalizerChain = new NormalizerChain();
+        normalizerChain.add(new HankakuKanaToZenkakuKana());
+        normalizerChain.add(new FullWidthToHalfWidthAlphabetNormalizer());
+        normalizerChain.add(new ICUNormalizer("Any-Lower"));
+        chain = normalizerChain;
+        compiledChain = normalizerChain.compile();
+        texts = BenchmarkData.texts(1024);
+    }
+
+    @Benchmark
+    public String hankakuKanaToZenkakuKana() {
+        return hankakuKanaToZenkakuKana.normalize(texts[index++ & 1023], "content");
+    }
+
+    @Benchmark
+    public String fullWidthToHalfWidthAlphabet() {
+        return fullWidthToHalfWidthAlphabet.normalize(texts[index++ & 1023], "content");
+    }
+
+    @Benchmark
+    public String anyLower() {
+        return anyLower.normalize(texts[index++ & 1023], "content");
+    }
+
+    @Benchmark
+    public String chain() {
+        return chain.normalize(texts[index++ & 1023], "content");
+    }
+
+    @Benchmark
+    public String compiledChain() {
+        return compiledChain.normalize(texts[index++ & 1023], "content");
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.fess.suggest.benchmark;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.codelibs.fess.suggest.converter.KatakanaConverter;
+import org.codelibs.fess.suggest.converter.KatakanaToAlphabetConverter;
+import org.codelibs.fess.suggest.converter.ReadingConverterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks reading conversion of query texts.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReadingConverterBenchmark {
+
+    private KatakanaToAlphabetConverter katakanaToAlphabetConverter;
+
+    private ReadingConverterChain chain;
+
+    private String[] katakanaTexts;
+
+    private String[] texts;
+
+    private int index;
+
+    @Setup
+    public void setup() throws IOException {
+        katakanaToAlphabetConverter = new KatakanaToAlphabetConverter();
+        katakanaToAlphabetConverter.init();
+        chain = new ReadingConverterChain();
+        chain.addConverter(new KatakanaConverter());
+        chain.addConverter(new KatakanaToAlphabetConverter());
+        chain.init();
+        katakanaTexts = BenchmarkData.katakanaTexts(1024);
+        texts = BenchmarkData.texts(1024);
+    }
+
+    @Benchmark
+    public List<String> katakanaToAlphabet() {
+        return katakanaToAlphabetConverter.convert(katakanaTexts[index++ & 1023], "content");
+    }
+
+    @Benchmark
+    public List<String> converterChain() throws IOException {
+        return chain.convert(texts[index++ & 1023], "content");
+    }
+}
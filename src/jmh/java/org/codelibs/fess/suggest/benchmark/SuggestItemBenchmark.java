@@ -0,0 +1,87 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.fess.suggest.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.codelibs.fess.suggest.entity.SuggestItem;
+import org.codelibs.fess.suggest.entity.SuggestItemMerger;
+import org.codelibs.fess.suggest.index.writer.SuggestIndexWriter;
+import org.codelibs.fess.suggest.index.writer.SuggestWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks merging suggest items and bad word checks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SuggestItemBenchmark {
+
+    /** Number of items passed to mergeItems. */
+    @Param({ "100", "1000", "10000" })
+    public int itemNum;
+
+    /** Number of distinct texts among the items. */
+    @Param({ "100" })
+    public int vocabulary;
+
+    private SuggestItem[] items;
+
+    private SuggestWriter writer;
+
+    private String[] badWords;
+
+    private int index;
+
+    @Setup
+    public void setup() {
+        items = BenchmarkData.items(itemNum, vocabulary);
+        writer = new SuggestIndexWriter();
+        badWords = new String[] { "spam", "アダルト", "casino", "違法", "virus", "ﾃﾞｰﾀ" };
+    }
+
+    @Benchmark
+    public SuggestItem[] mergeItems() {
+        return writer.mergeItems(items);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public SuggestItem merge() {
+        final SuggestItem item = items[index++ % items.length];
+        return SuggestItemMerger.merge(item, item);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean isBadWord() {
+        return items[index++ % items.length].isBadWord(badWords);
+    }
+}
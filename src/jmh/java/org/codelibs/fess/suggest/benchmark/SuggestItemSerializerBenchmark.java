@@ -0,0 +1,152 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.fess.suggest.benchmark;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.codelibs.fess.suggest.entity.SuggestItem;
+import org.codelibs.fess.suggest.entity.SuggestItemSerializer;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.common.xcontent.XContentHelper;
+import org.opensearch.common.xcontent.json.JsonXContent;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks conversion between suggest items and their index sources.
+ * The {@code *SourceXContent} benchmarks build a map and write it, as the index writer used to;
+ * the {@code *XContent} benchmarks write directly into the builder. The {@code *LargeBatch} benchmarks
+ * serialize one million items in a single shot, as in a large bulk build.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SuggestItemSerializerBenchmark {
+
+    private SuggestItem[] items;
+
+    private Map<String, Object>[] sources;
+
+    private int index;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        items = BenchmarkData.items(1024, 1024);
+        sources = new Map[items.length];
+        for (int i = 0; i < items.length; i++) {
+            // parsed like a stored document, with lists instead of arrays
+            sources[i] = XContentHelper.convertToMap(JsonXContent.jsonXContent, SuggestItemSerializer.toJson(items[i]), false);
+        }
+    }
+
+    @Benchmark
+    public Map<String, Object> toSource() {
+        return SuggestItemSerializer.toSource(items[index++ & 1023]);
+    }
+
+    @Benchmark
+    public String toJson() {
+        return SuggestItemSerializer.toJson(items[index++ & 1023]);
+    }
+
+    @Benchmark
+    public SuggestItem fromSource() {
+        return SuggestItemSerializer.fromSource(sources[index++ & 1023]);
+    }
+
+    @Benchmark
+    public Map<String, Object> toUpdatedSource() {
+        final int i = index++ & 1023;
+        return SuggestItemSerializer.toUpdatedSource(items[i], sources[i]);
+    }
+
+    @Benchmark
+    public BytesReference toSourceXContent() throws IOException {
+        return BytesReference.bytes(XContentFactory.jsonBuilder().map(SuggestItemSerializer.toSource(items[index++ & 1023])));
+    }
+
+    @Benchmark
+    public BytesReference toXContent() throws IOException {
+        return BytesReference.bytes(SuggestItemSerializer.toXContent(items[index++ & 1023], XContentFactory.jsonBuilder()));
+    }
+
+    @Benchmark
+    public BytesReference toUpdatedSourceXContent() throws IOException {
+        final int i = index++ & 1023;
+        return BytesReference.bytes(XContentFactory.jsonBuilder().map(SuggestItemSerializer.toUpdatedSource(items[i], sources[i])));
+    }
+
+    @Benchmark
+    public BytesReference toUpdatedXContent() throws IOException {
+        final int i = index++ & 1023;
+        return BytesReference.bytes(SuggestItemSerializer.toUpdatedXContent(items[i], sources[i], XContentFactory.jsonBuilder()));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public long toSourceXContentLargeBatch(final LargeBatch batch) throws IOException {
+        long bytes = 0;
+        for (final SuggestItem item : batch.items) {
+            bytes += BytesReference.bytes(XContentFactory.jsonBuilder().map(SuggestItemSerializer.toSource(item))).length();
+        }
+        return bytes;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public long toXContentLargeBatch(final LargeBatch batch) throws IOException {
+        long bytes = 0;
+        for (final SuggestItem item : batch.items) {
+            bytes += BytesReference.bytes(SuggestItemSerializer.toXContent(item, XContentFactory.jsonBuilder())).length();
+        }
+        return bytes;
+    }
+
+    /**
+     * One million items shared by the large batch benchmarks.
+     */
+    @State(Scope.Benchmark)
+    public static class LargeBatch {
+
+        private SuggestItem[] items;
+
+        @Setup
+        public void setup() {
+            items = BenchmarkData.items(1_000_000, 100_000);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.fess.suggest.benchmark;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.codelibs.fess.suggest.converter.KatakanaToAlphabetConverter;
+import org.codelibs.fess.suggest.converter.ReadingConverterChain;
+import org.codelibs.fess.suggest.entity.SuggestItem;
+import org.codelibs.fess.suggest.entity.SuggestItemSerializer;
+import org.codelibs.fess.suggest.normalizer.FullWidthToHalfWidthAlphabetNormalizer;
+import org.codelibs.fess.suggest.normalizer.NormalizerChain;
+import org.codelibs.fess.suggest.request.suggest.SuggestQueryBuilder;
+import org.codelibs.fess.suggest.request.suggest.SuggestResponse;
+import org.codelibs.fess.suggest.request.suggest.SuggestResponseCreator;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.common.xcontent.json.JsonXContent;
+import org.opensearch.core.xcontent.DeprecationHandler;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.core.xcontent.XContentParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks creating suggest responses from synthetic search responses.
+ *
+ * <p>A search hit caches its source map once read, so each invocation parses a fresh search response.
+ * {@link #parseResponse()} measures the parsing alone and is the baseline for {@link #createResponse()}.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SuggestResponseCreatorBenchmark {
+
+    /** Number of hits in the search response. */
+    @Param({ "10", "100" })
+    public int hitNum;
+
+    /** Whether the response includes suggest items. */
+    @Param({ "false", "true" })
+    public boolean suggestDetail;
+
+    private String json;
+
+    private SuggestResponseCreator creator;
+
+    @Setup
+    public void setup() {
+        final SuggestItem[] items = BenchmarkData.items(hitNum, hitNum);
+        final StringBuilder buf = new StringBuilder();
+        buf.append("{\"took\":3,\"timed_out\":false,\"_shards\":{\"total\":1,\"successful\":1,\"skipped\":0,\"failed\":0},");
+        buf.append("\"hits\":{\"total\":{\"value\":").append(hitNum).append(",\"relation\":\"eq\"},\"max_score\":1.0,\"hits\":[");
+        for (int i = 0; i < items.length; i++) {
+            if (i > 0) {
+                buf.append(',');
+            }
+            buf.append("{\"_index\":\"fess_suggest\",\"_id\":\"")
+                    .append(items[i].getId())
+                    .append("\",\"_score\":1.0,\"_source\":")
+                    .append(SuggestItemSerializer.toJson(items[i]))
+                    .append('}');
+        }
+        buf.append("]}}");
+        json = buf.toString();
+
+        final ReadingConverterChain readingConverter = new ReadingConverterChain();
+        readingConverter.addConverter(new KatakanaToAlphabetConverter());
+        final NormalizerChain normalizer = new NormalizerChain();
+        normalizer.add(new FullWidthToHalfWidthAlphabetNormalizer());
+        final SuggestQueryBuilder queryBuilder =
+                new SuggestQueryBuilder(readingConverter, normalizer, Collections.singletonList("ja"), 2.0f);
+        creator = new SuggestResponseCreator("検索", hitNum, suggestDetail, true, true, queryBuilder);
+    }
+
+    @Benchmark
+    public SearchResponse parseResponse() throws IOException {
+        try (XContentParser parser =
+                JsonXContent.jsonXContent.createParser(NamedXContentRegistry.EMPTY, DeprecationHandler.THROW_UNSUPPORTED_OPERATION, json)) {
+            return SearchResponse.fromXContent(parser);
+        }
+    }
+
+    @Benchmark
+    public SuggestResponse createResponse() throws IOException {
+        return creator.createResponse(parseResponse());
+    }
+}
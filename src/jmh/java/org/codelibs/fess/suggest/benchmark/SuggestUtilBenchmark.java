@@ -0,0 +1,89 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.fess.suggest.benchmark;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.codelibs.fess.suggest.util.SuggestUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks keyword extraction from query log queries and suggest ID creation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SuggestUtilBenchmark {
+
+    private static final String[] FIELDS = { "content", "title" };
+
+    private String[] queries;
+
+    private String[] texts;
+
+    private int index;
+
+    @Setup
+    public void setup() {
+        final Random random = BenchmarkData.random();
+        texts = BenchmarkData.texts(1024);
+        queries = new String[texts.length];
+        for (int i = 0; i < texts.length; i++) {
+            final StringBuilder buf = new StringBuilder();
+            for (final String word : texts[i].split(" ")) {
+                if (buf.length() > 0) {
+                    buf.append(random.nextBoolean() ? " AND " : " ");
+                }
+                buf.append(FIELDS[random.nextInt(FIELDS.length)]).append(':').append(word);
+            }
+            queries[i] = buf.toString();
+        }
+    }
+
+    @Benchmark
+    public String[] parseQuery() {
+        return SuggestUtil.parseQuery(queries[index++ & 1023], "content");
+    }
+
+    @Benchmark
+    public List<String> getKeywords() {
+        return SuggestUtil.getKeywords(queries[index++ & 1023], FIELDS);
+    }
+
+    @Benchmark
+    public String createSuggestTextId() {
+        return SuggestUtil.createSuggestTextId(texts[index++ & 1023]);
+    }
+
+    @Benchmark
+    public String createHashedSuggestTextId() {
+        return SuggestUtil.createHashedSuggestTextId(texts[index++ & 1023]);
+    }
+}
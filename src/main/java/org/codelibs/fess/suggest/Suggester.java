@@ -15,6 +15,7 @@
  */
 package org.codelibs.fess.suggest;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
@@ -24,6 +25,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 
 import org.apache.logging.log4j.LogManager;
@@ -32,12 +34,18 @@ import org.codelibs.core.lang.StringUtil;
 import org.codelibs.fess.suggest.analysis.SuggestAnalyzer;
 import org.codelibs.fess.suggest.constants.FieldNames;
 import org.codelibs.fess.suggest.converter.ReadingConverter;
+import org.codelibs.fess.suggest.entity.SuggestItem;
 import org.codelibs.fess.suggest.exception.SuggesterException;
 import org.codelibs.fess.suggest.index.SuggestIndexer;
+import org.codelibs.fess.suggest.index.writer.SuggestIndexWriter;
+import org.codelibs.fess.suggest.index.writer.SuggestWriter;
+import org.codelibs.fess.suggest.index.writer.SuggestWriterResult;
 import org.codelibs.fess.suggest.normalizer.Normalizer;
 import org.codelibs.fess.suggest.request.popularwords.PopularWordsRequestBuilder;
 import org.codelibs.fess.suggest.request.suggest.SuggestRequestBuilder;
 import org.codelibs.fess.suggest.settings.SuggestSettings;
+import org.codelibs.fess.suggest.util.ScrollOperationHelper;
+import org.codelibs.fess.suggest.util.SuggestUtil;
 import org.opensearch.action.admin.indices.alias.Alias;
 import org.opensearch.action.admin.indices.alias.IndicesAliasesRequestBuilder;
 import org.opensearch.action.admin.indices.alias.get.GetAliasesResponse;
@@ -67,12 +75,14 @@ import org.opensearch.transport.client.Client;
  *   <li>{@link #suggest()}: Creates a new SuggestRequestBuilder for querying suggestions.</li>
  *   <li>{@link #popularWords()}: Creates a new PopularWordsRequestBuilder for querying popular words.</li>
  *   <li>{@link #refresh()}: Refreshes the suggestion indices.</li>
- *   <li>{@link #shutdown()}: Shuts down the thread pool.</li>
+ *   <li>{@link #shutdown()}: Flushes the query writer and shuts down the thread pool.</li>
  *   <li>{@link #createIndexIfNothing()}: Creates a new index if no index exists.</li>
  *   <li>{@link #createNextIndex()}: Creates a new index and replaces the current update alias with the new index.</li>
  *   <li>{@link #switchIndex()}: Switches the search alias to the current update index.</li>
  *   <li>{@link #removeDisableIndices()}: Removes disabled indices.</li>
+ *   <li>{@link #reindexToNextIndex()}: Copies all words into a new index with recomputed IDs and switches to it.</li>
  *   <li>{@link #indexer()}: Creates a new SuggestIndexer for indexing suggestions.</li>
+ *   <li>{@link #setQueryWriter(SuggestWriter)}: Sets the writer shared by indexers for query logs and search words.</li>
  *   <li>{@link #builder()}: Creates a new SuggesterBuilder for building Suggester instances.</li>
  *   <li>{@link #settings()}: Returns the SuggestSettings instance.</li>
  *   <li>{@link #getReadingConverter()}: Returns the ReadingConverter instance.</li>
@@ -124,6 +134,9 @@ public class Suggester {
     /** The thread pool. */
     protected final ExecutorService threadPool;
 
+    /** The writer shared by indexers for query logs and search words, or null to write directly. */
+    protected SuggestWriter queryWriter;
+
     /**
      * Constructor for Suggester.
      * @param client The OpenSearch client.
@@ -180,12 +193,19 @@ public class Suggester {
     }
 
     /**
-     * Shuts down the thread pool.
+     * Flushes the query writer and shuts down the thread pool.
      */
     public void shutdown() {
         if (logger.isInfoEnabled()) {
             logger.info("Shutting down suggester: index={}", index);
         }
+        if (queryWriter instanceof final Closeable closeable) {
+            try {
+                closeable.close();
+            } catch (final IOException e) {
+                logger.warn("Failed to close query writer: index={}", index, e);
+            }
+        }
         threadPool.shutdownNow();
     }
 
@@ -333,6 +353,87 @@ public class Suggester {
         }
     }
 
+    /**
+     * Copies all words of the search index into a new index and switches both aliases to it.
+     * Document IDs are recomputed with {@link SuggestUtil#createSuggestTextId(String)}, so this migrates
+     * an index after the ID scheme is changed by {@link SuggestUtil#setHashedSuggestTextId(boolean)}.
+     * Words that get the same ID are merged. Words indexed while copying go to the new index and are merged as well.
+     * The previous index loses its aliases and can be deleted by {@link #removeDisableIndices()}.
+     * If copying fails, the update alias is moved back to the previous index and the new index is deleted,
+     * so words indexed while copying are lost.
+     * @return The number of copied words.
+     */
+    public long reindexToNextIndex() {
+        final String searchAlias = getSearchAlias(index);
+        final String updateAlias = getUpdateAlias(index);
+        final List<String> prevIndices = getIndicesForAlias(updateAlias);
+        createNextIndex();
+        final List<String> nextIndices = getIndicesForAlias(updateAlias);
+
+        if (logger.isInfoEnabled()) {
+            logger.info("Copying words to next index: from={}, to={}, hashedId={}", searchAlias, nextIndices,
+                    SuggestUtil.isHashedSuggestTextId());
+        }
+        try {
+            final SuggestIndexWriter writer = new SuggestIndexWriter();
+            final AtomicLong count = new AtomicLong();
+            ScrollOperationHelper.scrollSearchWithBatchCallback(client, suggestSettings, searchAlias, QueryBuilders.matchAllQuery(), 500,
+                    (hits, stopFlag) -> {
+                        final SuggestItem[] items =
+                                Stream.of(hits).map(hit -> SuggestItem.parseSource(hit.getSourceAsMap())).toArray(SuggestItem[]::new);
+                        final SuggestWriterResult result = writer.write(client, suggestSettings, updateAlias, items, true);
+                        if (result.hasFailure()) {
+                            throw new SuggesterException("Failed to copy words to next index: " + updateAlias,
+                                    result.getFailures().get(0));
+                        }
+                        count.addAndGet(items.length);
+                    });
+            refresh();
+            switchIndex();
+            return count.get();
+        } catch (final RuntimeException e) {
+            try {
+                revertNextIndex(searchAlias, updateAlias, prevIndices, nextIndices);
+            } catch (final RuntimeException re) {
+                e.addSuppressed(re);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Moves the update alias back to the previous indices and deletes the next indices,
+     * unless the search alias has already been switched to them.
+     * @param searchAlias The search alias.
+     * @param updateAlias The update alias.
+     * @param prevIndices The indices of the update alias before the next index was created.
+     * @param nextIndices The created indices.
+     */
+    private void revertNextIndex(final String searchAlias, final String updateAlias, final List<String> prevIndices,
+            final List<String> nextIndices) {
+        if (getIndicesForAlias(searchAlias).stream().anyMatch(nextIndices::contains)) {
+            logger.warn("Search alias has already been switched, so the next index is kept: searchAlias={}, indices={}", searchAlias,
+                    nextIndices);
+            return;
+        }
+        if (logger.isInfoEnabled()) {
+            logger.info("Reverting next index: updateAlias={}, from={}, to={}", updateAlias, nextIndices, prevIndices);
+        }
+        final IndicesAliasesRequestBuilder aliasesRequestBuilder = client.admin().indices().prepareAliases();
+        for (final String prevIndex : prevIndices) {
+            aliasesRequestBuilder.addAlias(prevIndex, updateAlias);
+        }
+        for (final String nextIndex : nextIndices) {
+            aliasesRequestBuilder.removeAlias(nextIndex, updateAlias);
+        }
+        aliasesRequestBuilder.execute().actionGet(suggestSettings.getIndicesTimeout());
+        for (final String nextIndex : nextIndices) {
+            if (!prevIndices.contains(nextIndex)) {
+                client.admin().indices().prepareDelete(nextIndex).execute().actionGet(suggestSettings.getIndicesTimeout());
+            }
+        }
+    }
+
     /**
      * Removes disabled indices.
      */
@@ -405,8 +506,22 @@ public class Suggester {
      * @return A SuggestIndexer instance.
      */
     protected SuggestIndexer createDefaultIndexer() {
-        return new SuggestIndexer(client, getUpdateAlias(index), readingConverter, contentsReadingConverter, normalizer, analyzer,
-                suggestSettings, threadPool);
+        final SuggestIndexer indexer = new SuggestIndexer(client, getUpdateAlias(index), readingConverter, contentsReadingConverter,
+                normalizer, analyzer, suggestSettings, threadPool);
+        if (queryWriter != null) {
+            indexer.setQueryWriter(queryWriter);
+        }
+        return indexer;
+    }
+
+    /**
+     * Sets the writer shared by indexers for query logs and search words.
+     * Since {@link #indexer()} creates a new indexer for each call, a buffering writer must be set here
+     * to aggregate writes across calls. It is closed by {@link #shutdown()}.
+     * @param queryWriter The suggest writer, or null to write directly.
+     */
+    public void setQueryWriter(final SuggestWriter queryWriter) {
+        this.queryWriter = queryWriter;
     }
 
     /**
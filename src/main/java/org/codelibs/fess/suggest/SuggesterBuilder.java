@@ -16,12 +16,16 @@
 package org.codelibs.fess.suggest;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 import org.codelibs.fess.suggest.analysis.SuggestAnalyzer;
 import org.codelibs.fess.suggest.converter.ReadingConverter;
 import org.codelibs.fess.suggest.exception.SuggesterException;
+import org.codelibs.fess.suggest.index.writer.BufferedSuggestWriter;
+import org.codelibs.fess.suggest.index.writer.SuggestIndexWriter;
+import org.codelibs.fess.suggest.index.writer.SuggestWriteJournal;
 import org.codelibs.fess.suggest.normalizer.Normalizer;
 import org.codelibs.fess.suggest.settings.SuggestSettings;
 import org.codelibs.fess.suggest.settings.SuggestSettingsBuilder;
@@ -58,6 +62,13 @@ public class SuggesterBuilder {
     /** The thread pool size. */
     protected int threadPoolSize = Runtime.getRuntime().availableProcessors();
 
+    /** The flush interval of the query write buffer in milliseconds. The buffer is disabled if not positive. */
+    protected long queryWriteFlushInterval = 0L;
+    /** The maximum number of distinct suggest IDs held by the query write buffer. */
+    protected int queryWriteBufferSize = 10000;
+    /** The journal file of the query write buffer, or null. */
+    protected Path queryWriteJournalPath;
+
     /**
      * Sets the suggest settings.
      * @param settings The suggest settings.
@@ -140,6 +151,30 @@ public class SuggesterBuilder {
         return this;
     }
 
+    /**
+     * Enables write-behind buffering of query log and search word updates.
+     * Repeated updates of the same word are merged and written once per flush.
+     * @param flushInterval The flush interval in milliseconds.
+     * @param maxBufferSize The maximum number of distinct suggest IDs held before flushing.
+     * @return This builder instance.
+     */
+    public SuggesterBuilder queryWriteBuffer(final long flushInterval, final int maxBufferSize) {
+        queryWriteFlushInterval = flushInterval;
+        queryWriteBufferSize = maxBufferSize;
+        return this;
+    }
+
+    /**
+     * Sets the journal file of the query write buffer.
+     * Buffered updates are recorded in the file and replayed when a Suggester is built.
+     * @param journalPath The journal file path.
+     * @return This builder instance.
+     */
+    public SuggesterBuilder queryWriteJournal(final Path journalPath) {
+        queryWriteJournalPath = journalPath;
+        return this;
+    }
+
     /**
      * Builds a Suggester instance.
      * @param client The OpenSearch client.
@@ -186,6 +221,16 @@ public class SuggesterBuilder {
             threadPool = Executors.newFixedThreadPool(threadPoolSize);
         }
 
-        return new Suggester(client, settings, readingConverter, contentsReadingConverter, normalizer, analyzer, threadPool);
+        final Suggester suggester =
+                new Suggester(client, settings, readingConverter, contentsReadingConverter, normalizer, analyzer, threadPool);
+        if (queryWriteFlushInterval > 0) {
+            final SuggestWriteJournal journal = queryWriteJournalPath != null ? new SuggestWriteJournal(queryWriteJournalPath) : null;
+            final BufferedSuggestWriter queryWriter =
+                    new BufferedSuggestWriter(new SuggestIndexWriter(), queryWriteFlushInterval, queryWriteBufferSize, journal);
+            // only fills the buffer, so the index does not need to exist yet
+            queryWriter.recover(client, settings);
+            suggester.setQueryWriter(queryWriter);
+        }
+        return suggester;
     }
 }
@@ -15,6 +15,7 @@
  */
 package org.codelibs.fess.suggest.analysis;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.opensearch.action.admin.indices.analyze.AnalyzeAction.AnalyzeToken;
@@ -43,4 +44,40 @@ public interface SuggestAnalyzer {
      * @return a list of analyzed tokens with their readings
      */
     List<AnalyzeToken> analyzeAndReading(String text, String field, String lang);
+
+    /**
+     * Analyzes the given texts and returns the tokens of each text.
+     * Implementations may analyze all texts in a single request; the offsets and positions of the tokens are relative to
+     * their own text.
+     *
+     * @param texts the texts to analyze
+     * @param field the field associated with the texts
+     * @param lang the language of the texts
+     * @return the analyzed tokens of each text, in the order of the texts
+     */
+    default List<List<AnalyzeToken>> analyzeTexts(final List<String> texts, final String field, final String lang) {
+        final List<List<AnalyzeToken>> results = new ArrayList<>(texts.size());
+        for (final String text : texts) {
+            results.add(analyze(text, field, lang));
+        }
+        return results;
+    }
+
+    /**
+     * Analyzes the given texts and returns the tokens of each text along with their readings.
+     * Implementations may analyze all texts in a single request; the offsets and positions of the tokens are relative to
+     * their own text.
+     *
+     * @param texts the texts to analyze
+     * @param field the field associated with the texts
+     * @param lang the language of the texts
+     * @return the analyzed tokens with their readings of each text, in the order of the texts
+     */
+    default List<List<AnalyzeToken>> analyzeAndReadingTexts(final List<String> texts, final String field, final String lang) {
+        final List<List<AnalyzeToken>> results = new ArrayList<>(texts.size());
+        for (final String text : texts) {
+            results.add(analyzeAndReading(text, field, lang));
+        }
+        return results;
+    }
 }
@@ -17,12 +17,23 @@ package org.codelibs.fess.suggest.converter;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.codelibs.fess.suggest.settings.AnalyzerSettings;
 import org.codelibs.fess.suggest.settings.SuggestSettings;
+import org.codelibs.fess.suggest.util.TextScript;
 import org.opensearch.action.admin.indices.analyze.AnalyzeAction;
 import org.opensearch.action.admin.indices.analyze.AnalyzeAction.AnalyzeToken;
+import org.opensearch.action.admin.indices.analyze.AnalyzeAction.AnalyzeTokenList;
+import org.opensearch.action.admin.indices.analyze.AnalyzeAction.DetailAnalyzeResponse;
+import org.opensearch.common.action.ActionFuture;
+import org.opensearch.common.settings.Settings;
 import org.opensearch.core.common.Strings;
 import org.opensearch.transport.client.Client;
 
@@ -41,9 +52,16 @@ import com.ibm.icu.text.Transliterator;
  * <p>Methods:
  * <ul>
  *   <li>{@link #init()}: Initializes the converter. Currently does nothing.</li>
- *   <li>{@link #convert(String, String, String...)}: Converts the given text using the specified field and languages.</li>
+ *   <li>{@link #convert(String, String, String...)}: Converts the given text using the specified field and languages.
+ *       The analyze requests of all languages are sent before waiting for any response, and the readings are
+ *       merged in language order after the original text.</li>
  * </ul>
  *
+ * <p>When the reading term analyzer is the tokenizer of the reading analyzer without its token filters,
+ * which is the case for the bundled analyzers, both token lists are taken from a single explained analyze
+ * request instead of two requests. When they only split text on whitespace or word boundaries, the readings of
+ * Latin and Kana text are built without any request.
+ *
  * <p>Inner Class:
  * <ul>
  *   <li>LangAnalyzerConverter: A protected inner class that implements the ReadingConverter interface.
@@ -64,6 +82,9 @@ import com.ibm.icu.text.Transliterator;
  * </ul>
  */
 public class AnalyzerConverter implements ReadingConverter {
+    /** Tokenizers that only split text on whitespace or word boundaries. */
+    protected static final Set<String> SPLITTING_TOKENIZERS = Set.of("standard", "whitespace");
+
     /** OpenSearch client. */
     protected final Client client;
     private final SuggestSettings settings;
@@ -73,6 +94,18 @@ public class AnalyzerConverter implements ReadingConverter {
     /** Transliterator for Hiragana to Katakana. */
     protected final Transliterator transliterator = Transliterator.getInstance("Hiragana-Katakana");
 
+    /** Converter used when no language is given. */
+    protected final LangAnalyzerConverter defaultLangConverter = new LangAnalyzerConverter(null);
+
+    /** Reusable converters by language. */
+    protected final Map<String, LangAnalyzerConverter> langConverters = new ConcurrentHashMap<>();
+
+    /** Whether a reading and reading term analyzer pair can be served by one request, keyed by analyzer names. */
+    protected final Map<String, Boolean> combinableAnalyzers = new ConcurrentHashMap<>();
+
+    /** Whether a reading and reading term analyzer pair can be skipped for Latin and Kana text, keyed by analyzer names. */
+    protected final Map<String, Boolean> localReadingAnalyzers = new ConcurrentHashMap<>();
+
     /**
      * Constructor.
      * @param client OpenSearch client
@@ -91,17 +124,117 @@ public class AnalyzerConverter implements ReadingConverter {
 
     @Override
     public List<String> convert(final String text, final String field, final String... langs) throws IOException {
-        final ReadingConverter converter;
         if (langs == null || langs.length == 0) {
-            converter = new LangAnalyzerConverter(null);
-        } else {
-            final ReadingConverterChain chain = new ReadingConverterChain();
-            for (final String lang : langs) {
-                chain.addConverter(new LangAnalyzerConverter(lang));
+            return defaultLangConverter.convert(text, field);
+        }
+        if (text == null) {
+            return new ArrayList<>();
+        }
+
+        final List<PendingReading> pendings = new ArrayList<>(langs.length);
+        for (final String lang : langs) {
+            pendings.add(getLangConverter(lang).analyze(text, field));
+        }
+
+        final int maxReadingNum = getMaxReadingNum();
+        final Set<String> readingSet = new LinkedHashSet<>();
+        readingSet.add(text);
+        for (final PendingReading pending : pendings) {
+            if (readingSet.size() >= maxReadingNum) {
+                break;
             }
-            converter = chain;
+            readingSet.addAll(pending.get());
         }
-        return converter.convert(text, field);
+        final List<String> list = new ArrayList<>(readingSet);
+        return list.size() > maxReadingNum ? list.subList(0, maxReadingNum) : list;
+    }
+
+    /**
+     * Returns the reusable converter for a language.
+     * @param lang Language
+     * @return Language-specific converter
+     */
+    protected LangAnalyzerConverter getLangConverter(final String lang) {
+        if (lang == null) {
+            return defaultLangConverter;
+        }
+        return langConverters.computeIfAbsent(lang, LangAnalyzerConverter::new);
+    }
+
+    /**
+     * Checks whether the reading term tokens are the tokenizer output of the reading analyzer.
+     * This holds when both analyzers are the same, or when both are custom analyzers with the same
+     * tokenizer and char filters and the reading term analyzer has no token filters.
+     * @param readingAnalyzer Reading analyzer name
+     * @param readingTermAnalyzer Reading term analyzer name
+     * @return True if one explained analyze request returns both token lists
+     */
+    protected boolean isCombinable(final String readingAnalyzer, final String readingTermAnalyzer) {
+        if (Objects.equals(readingAnalyzer, readingTermAnalyzer)) {
+            return true;
+        }
+        final String key = readingAnalyzer + "/" + readingTermAnalyzer;
+        final Boolean cached = combinableAnalyzers.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        final Settings reading = analyzerSettings.getAnalyzerDefinition(readingAnalyzer);
+        final Settings term = analyzerSettings.getAnalyzerDefinition(readingTermAnalyzer);
+        final boolean combinable = "custom".equals(reading.get("type")) && "custom".equals(term.get("type"))
+                && reading.get("tokenizer") != null && reading.get("tokenizer").equals(term.get("tokenizer"))
+                && reading.getAsList("char_filter").equals(term.getAsList("char_filter")) && term.getAsList("filter").isEmpty();
+        combinableAnalyzers.put(key, combinable);
+        return combinable;
+    }
+
+    /**
+     * Checks whether the readings of a text can be built without the analyzers.
+     * This holds for Latin and Kana text when both analyzers only split it on whitespace or word boundaries,
+     * that is, they are custom analyzers with a standard or whitespace tokenizer and no char or token filters.
+     * The readings are then the text up to its last token, converted from Hiragana to Katakana.
+     * @param readingAnalyzer Reading analyzer name
+     * @param readingTermAnalyzer Reading term analyzer name
+     * @param script Script of the text
+     * @return True if the readings can be built locally
+     */
+    protected boolean isLocalReading(final String readingAnalyzer, final String readingTermAnalyzer, final TextScript script) {
+        if (script == TextScript.OTHER) {
+            return false;
+        }
+        return localReadingAnalyzers.computeIfAbsent(readingAnalyzer + "/" + readingTermAnalyzer,
+                k -> isSplittingAnalyzer(readingAnalyzer) && isSplittingAnalyzer(readingTermAnalyzer));
+    }
+
+    private boolean isSplittingAnalyzer(final String analyzerName) {
+        final Settings definition = analyzerSettings.getAnalyzerDefinition(analyzerName);
+        return "custom".equals(definition.get("type")) && SPLITTING_TOKENIZERS.contains(definition.get("tokenizer"))
+                && definition.getAsList("char_filter").isEmpty() && definition.getAsList("filter").isEmpty();
+    }
+
+    /**
+     * Builds the readings of Latin or Kana text without the analyzers.
+     * @param text Text
+     * @return Readings
+     */
+    protected List<String> toLocalReadings(final String text) {
+        final String reading = transliterator.transliterate(text.stripTrailing());
+        final List<String> list = new ArrayList<>(1);
+        if (!reading.isEmpty()) {
+            list.add(reading);
+        }
+        return list;
+    }
+
+    /**
+     * Readings of one language whose analyze requests are in flight.
+     */
+    protected interface PendingReading {
+        /**
+         * Waits for the analyze responses and builds the readings.
+         * @return Readings
+         */
+        List<String> get();
     }
 
     /**
@@ -126,23 +259,74 @@ public class AnalyzerConverter implements ReadingConverter {
 
         @Override
         public List<String> convert(final String text, final String field, final String... dummy) throws IOException {
-            final AnalyzeAction.Response readingResponse = client.admin()
+            return analyze(text, field).get();
+        }
+
+        /**
+         * Sends the analyze requests without waiting for the responses.
+         * No request is sent when the readings can be built locally,
+         * and a single explained request is sent when the analyzers are combinable.
+         * @param text Text
+         * @param field Field
+         * @return Pending readings
+         */
+        protected PendingReading analyze(final String text, final String field) {
+            final String readingAnalyzer = analyzerSettings.getReadingAnalyzerName(field, lang);
+            final String readingTermAnalyzer = analyzerSettings.getReadingTermAnalyzerName(field, lang);
+            if (isLocalReading(readingAnalyzer, readingTermAnalyzer, TextScript.of(text))) {
+                final List<String> readings = toLocalReadings(text);
+                return () -> readings;
+            }
+            if (isCombinable(readingAnalyzer, readingTermAnalyzer)) {
+                final ActionFuture<AnalyzeAction.Response> future = client.admin()
+                        .indices()
+                        .prepareAnalyze(analyzerSettings.getAnalyzerSettingsIndexName(), text)
+                        .setAnalyzer(readingAnalyzer)
+                        .setExplain(!readingAnalyzer.equals(readingTermAnalyzer))
+                        .execute();
+                return () -> {
+                    final AnalyzeAction.Response response = future.actionGet(settings.getIndicesTimeout());
+                    final DetailAnalyzeResponse detail = response.detail();
+                    if (detail == null) {
+                        return toReadings(text, response.getTokens(), response.getTokens());
+                    }
+                    if (detail.analyzer() != null) {
+                        final List<AnalyzeToken> tokens = Arrays.asList(detail.analyzer().getTokens());
+                        return toReadings(text, tokens, tokens);
+                    }
+                    final AnalyzeTokenList[] tokenFilters = detail.tokenfilters();
+                    final List<AnalyzeToken> termTokens = Arrays.asList(detail.tokenizer().getTokens());
+                    final List<AnalyzeToken> readingTokens = tokenFilters == null || tokenFilters.length == 0 ? termTokens
+                            : Arrays.asList(tokenFilters[tokenFilters.length - 1].getTokens());
+                    return toReadings(text, readingTokens, termTokens);
+                };
+            }
+
+            final ActionFuture<AnalyzeAction.Response> readingFuture = client.admin()
                     .indices()
                     .prepareAnalyze(analyzerSettings.getAnalyzerSettingsIndexName(), text)
-                    .setAnalyzer(analyzerSettings.getReadingAnalyzerName(field, lang))
-                    .execute()
-                    .actionGet(settings.getIndicesTimeout());
+                    .setAnalyzer(readingAnalyzer)
+                    .execute();
 
-            final AnalyzeAction.Response termResponse = client.admin()
+            final ActionFuture<AnalyzeAction.Response> termFuture = client.admin()
                     .indices()
                     .prepareAnalyze(analyzerSettings.getAnalyzerSettingsIndexName(), text)
-                    .setAnalyzer(analyzerSettings.getReadingTermAnalyzerName(field, lang))
-                    .execute()
-                    .actionGet(settings.getIndicesTimeout());
+                    .setAnalyzer(readingTermAnalyzer)
+                    .execute();
 
-            final List<AnalyzeToken> readingTokenList = readingResponse.getTokens();
-            final List<AnalyzeToken> termTokenList = termResponse.getTokens();
+            return () -> toReadings(text, readingFuture.actionGet(settings.getIndicesTimeout()).getTokens(),
+                    termFuture.actionGet(settings.getIndicesTimeout()).getTokens());
+        }
 
+        /**
+         * Builds the reading from reading and term tokens aligned by index.
+         * @param text Text
+         * @param readingTokenList Reading tokens
+         * @param termTokenList Term tokens
+         * @return Readings
+         */
+        protected List<String> toReadings(final String text, final List<AnalyzeToken> readingTokenList,
+                final List<AnalyzeToken> termTokenList) {
             final StringBuilder readingBuf = new StringBuilder(text.length());
             if (readingTokenList != null && termTokenList != null) {
                 int offset = 0;
@@ -15,32 +15,58 @@
  */
 package org.codelibs.fess.suggest.converter;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
 import org.apache.lucene.analysis.TokenizerFactory;
+import org.apache.lucene.analysis.ja.JapaneseTokenizer;
+import org.apache.lucene.analysis.ja.JapaneseTokenizerFactory;
+import org.apache.lucene.analysis.ja.dict.UserDictionary;
+import org.apache.lucene.analysis.ja.tokenattributes.ReadingAttribute;
 import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.tokenattributes.OffsetAttribute;
+import org.codelibs.fess.suggest.constants.SuggestConstants;
 import org.opensearch.core.common.Strings;
 
 import com.ibm.icu.text.Transliterator;
 
 /**
- * {@link KatakanaConverter} converts input strings to katakana representation.
- * It utilizes a transliterator to convert hiragana to katakana and can optionally
- * use a tokenizer to process the input.
+ * {@link KatakanaConverter} converts input strings to katakana representation in process,
+ * using Lucene's {@link JapaneseTokenizer} (Kuromoji) to obtain readings.
  *
  * <p>
- * The class provides methods to initialize the converter, convert strings, and
- * check if a tokenizer is enabled. It also includes methods to create a token
- * stream and extract reading information from the stream's attributes, although
- * the tokenizer-related functionality is currently commented out.
+ * Each token is replaced with its reading from {@link ReadingAttribute}. Tokens without a reading and
+ * text between tokens are converted from hiragana to katakana with a transliterator.
+ * </p>
+ *
+ * <p>
+ * A user dictionary is loaded from the file given by the {@link SuggestConstants#USER_DICT_PATH} system property,
+ * read with the encoding given by {@link SuggestConstants#USER_DICT_ENCODING} (UTF-8 by default).
+ * Alternatively, a {@link JapaneseTokenizerFactory} can be passed to the constructor.
+ * Tokenizers are not thread-safe, so each conversion borrows one from a pool shared by the threads using this
+ * converter and returns it afterwards. {@link #close()} releases the pooled tokenizers.
+ * </p>
+ *
+ * <p>
+ * The Kuromoji module ({@code lucene-analysis-kuromoji}) must be on the classpath.
  * </p>
  */
-public class KatakanaConverter implements ReadingConverter {
+public class KatakanaConverter implements ReadingConverter, Closeable {
+    private static final Logger logger = LogManager.getLogger(KatakanaConverter.class);
 
     /** The transliterator for Hiragana-Katakana conversion. */
     protected final Transliterator transliterator = Transliterator.getInstance("Hiragana-Katakana");
@@ -51,6 +77,12 @@ public class KatakanaConverter implements ReadingConverter {
     /** Tokenizer factory. */
     protected TokenizerFactory tokenizerFactory = null;
 
+    /** User dictionary, or null if none is configured. */
+    protected UserDictionary userDictionary = null;
+
+    /** Idle tokenizers, at most one per concurrent conversion. */
+    protected final Queue<Tokenizer> tokenizerPool = new ConcurrentLinkedQueue<>();
+
     /**
      * Default constructor.
      */
@@ -70,21 +102,33 @@ public class KatakanaConverter implements ReadingConverter {
 
     @Override
     public void init() throws IOException {
-        /*
-         * TODO if (initialized) { return; }
-         *
-         * if (tokenizerFactory == null) { final String path = System.getProperty(SuggestConstants.USER_DICT_PATH);
-         * final String encoding = System.getProperty(SuggestConstants.USER_DICT_ENCODING); final Map<String, String>
-         * args = new HashMap<>(); args.put("mode", "normal"); args.put("discardPunctuation", "false"); if
-         * (Strings.isNullOrEmpty(path)) { args.put("userDictionary", path); } if (Strings.isNullOrEmpty(encoding)) {
-         * args.put("userDictionaryEncoding", encoding); } final JapaneseTokenizerFactory japaneseTokenizerFactory = new
-         * JapaneseTokenizerFactory(args); // TODO japaneseTokenizerFactory.inform(new FilesystemResourceLoader());
-         * tokenizerFactory = japaneseTokenizerFactory; } initialized = true;
-         */
+        if (initialized) {
+            return;
+        }
+        synchronized (this) {
+            if (initialized) {
+                return;
+            }
+            if (tokenizerFactory == null) {
+                final String path = System.getProperty(SuggestConstants.USER_DICT_PATH);
+                if (!Strings.isNullOrEmpty(path)) {
+                    final String encoding = System.getProperty(SuggestConstants.USER_DICT_ENCODING);
+                    final Charset charset = Strings.isNullOrEmpty(encoding) ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+                    try (Reader reader = Files.newBufferedReader(Paths.get(path), charset)) {
+                        userDictionary = UserDictionary.open(reader);
+                    }
+                    if (logger.isInfoEnabled()) {
+                        logger.info("Loaded user dictionary for KatakanaConverter: path={}, encoding={}", path, charset);
+                    }
+                }
+            }
+            initialized = true;
+        }
     }
 
     @Override
     public List<String> convert(final String text, final String field, final String... langs) throws IOException {
+        init();
         final List<String> readingList = new ArrayList<>();
         readingList.add(toKatakana(text));
         return readingList;
@@ -97,36 +141,45 @@ public class KatakanaConverter implements ReadingConverter {
      * @throws IOException If an I/O error occurs.
      */
     protected String toKatakana(final String inputStr) throws IOException {
-        final StringBuilder kanaBuf = new StringBuilder();
+        final StringBuilder kanaBuf = new StringBuilder(inputStr.length());
 
-        final Reader rd = new StringReader(inputStr);
-        try (TokenStream stream = createTokenStream(rd)) {
-            if (stream == null) {
+        Tokenizer tokenizer = tokenizerPool.poll();
+        if (tokenizer == null) {
+            tokenizer = createTokenizer();
+            if (tokenizer == null) {
                 throw new IOException("Invalid tokenizer.");
             }
+        }
+        tokenizer.setReader(new StringReader(inputStr));
+        try (TokenStream stream = tokenizer) {
+            final CharTermAttribute termAttr = stream.addAttribute(CharTermAttribute.class);
+            final OffsetAttribute offsetAttr = stream.addAttribute(OffsetAttribute.class);
             stream.reset();
 
             int offset = 0;
             while (stream.incrementToken()) {
-                final CharTermAttribute att = stream.getAttribute(CharTermAttribute.class);
-                final String term = att.toString();
-                final int pos = inputStr.indexOf(term, offset);
-                if (pos > 0) {
-                    final String tmp = inputStr.substring(offset, pos);
-                    kanaBuf.append(transliterator.transliterate(tmp));
-                    offset = pos;
-                } else if (pos == -1) {
+                final int start = offsetAttr.startOffset();
+                if (start < offset) {
                     continue;
                 }
+                if (start > offset) {
+                    kanaBuf.append(transliterator.transliterate(inputStr.substring(offset, start)));
+                }
 
                 String reading = getReadingFromAttribute(stream);
                 if (Strings.isNullOrEmpty(reading)) {
-                    reading = transliterator.transliterate(att.toString());
+                    reading = transliterator.transliterate(termAttr.toString());
                 }
                 kanaBuf.append(reading);
-                offset += term.length();
+                offset = offsetAttr.endOffset();
+            }
+            stream.end();
+            if (offset < inputStr.length()) {
+                kanaBuf.append(transliterator.transliterate(inputStr.substring(offset)));
             }
         }
+        // a closed tokenizer can be reused with a new reader
+        tokenizerPool.offer(tokenizer);
 
         return kanaBuf.toString();
     }
@@ -137,16 +190,26 @@ public class KatakanaConverter implements ReadingConverter {
      * @return True if the tokenizer is enabled, false otherwise.
      */
     protected boolean isEnableTokenizer(final TokenizerFactory factory) {
-        // TODO return factory instanceof JapaneseTokenizerFactory;
-        return false;
+        return factory instanceof JapaneseTokenizerFactory;
+    }
+
+    /**
+     * Releases the pooled tokenizers.
+     */
+    @Override
+    public void close() {
+        tokenizerPool.clear();
     }
 
-    private TokenStream createTokenStream(final Reader rd) {
-        return null;
-        /*
-         * TODO if (tokenizerFactory instanceof JapaneseTokenizerFactory) { return tokenizerFactory.create(); } else {
-         * return null; }
-         */
+    /**
+     * Creates a tokenizer for the pool.
+     * @return The tokenizer.
+     */
+    protected Tokenizer createTokenizer() {
+        if (tokenizerFactory != null) {
+            return tokenizerFactory.create();
+        }
+        return new JapaneseTokenizer(userDictionary, false, false, JapaneseTokenizer.Mode.NORMAL);
     }
 
     /**
@@ -155,11 +218,10 @@ public class KatakanaConverter implements ReadingConverter {
      * @return The reading from the attribute.
      */
     protected String getReadingFromAttribute(final TokenStream stream) {
-        return null;
-        /*
-         * if (tokenizerFactory instanceof JapaneseTokenizerFactory) { final ReadingAttribute rdAttr =
-         * stream.getAttribute(ReadingAttribute.class); return rdAttr.getReading(); } else { return null; }
-         */
+        if (!stream.hasAttribute(ReadingAttribute.class)) {
+            return null;
+        }
+        return stream.getAttribute(ReadingAttribute.class).getReading();
     }
 
-}
\ No newline at end of file
+}
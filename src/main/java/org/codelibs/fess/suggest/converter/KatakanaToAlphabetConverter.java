@@ -40,8 +40,9 @@ import com.ibm.icu.text.Transliterator;
  * </p>
  *
  * <p>
- * The class also utilizes ICU4J's {@link com.ibm.icu.text.Transliterator} to convert full-width characters
- * to half-width and to convert any characters to lowercase, ensuring consistency in the output.
+ * Lookups use tables precompiled from the mapping, so no substrings or hash lookups are needed per character.
+ * Characters without a reading are converted to half-width lowercase; ASCII, full-width ASCII and the ideographic
+ * space are folded inline, and ICU4J's {@link com.ibm.icu.text.Transliterator} is used only when other characters remain.
  * </p>
  *
  * <p>
@@ -52,8 +53,31 @@ import com.ibm.icu.text.Transliterator;
  *
  */
 public class KatakanaToAlphabetConverter implements ReadingConverter {
-    /** Static conversion map shared across all instances. */
-    private static final Map<String, String[]> CONVERT_MAP = generateConvertMapping();
+    /** First character covered by the conversion tables. */
+    private static final char TABLE_BASE = '\u30A0';
+
+    /** Number of characters covered by the conversion tables. */
+    private static final int TABLE_SIZE = 0x60;
+
+    /** Readings of single Katakana characters, indexed by offset from {@link #TABLE_BASE}. */
+    private static final String[][] SINGLE_TABLE = new String[TABLE_SIZE][];
+
+    /** Readings of two-character Katakana sequences, indexed by the offsets of the first and second character. */
+    private static final String[][][] DOUBLE_TABLE = new String[TABLE_SIZE][][];
+
+    static {
+        generateConvertMapping().forEach((key, value) -> {
+            final int first = key.charAt(0) - TABLE_BASE;
+            if (key.length() == 1) {
+                SINGLE_TABLE[first] = value;
+            } else {
+                if (DOUBLE_TABLE[first] == null) {
+                    DOUBLE_TABLE[first] = new String[TABLE_SIZE][];
+                }
+                DOUBLE_TABLE[first][key.charAt(1) - TABLE_BASE] = value;
+            }
+        });
+    }
 
     /** Transliterator for full-width to half-width conversion. */
     protected Transliterator fullWidthHalfWidth;
@@ -74,49 +98,106 @@ public class KatakanaToAlphabetConverter implements ReadingConverter {
         // nothing
     }
 
+    /**
+     * Converts the text with longest-match lookups in the precompiled tables.
+     * Readings are enumerated in the same order as alternatives are expanded, and a character with
+     * alternatives is expanded only while fewer than {@link #getMaxReadingNum()} readings exist.
+     * Characters outside the tables are width-folded and lowercased inline when they are ASCII,
+     * full-width ASCII or an ideographic space; the ICU transliterators run only for other characters.
+     */
     @Override
     public List<String> convert(final String text, final String field, final String... lang) {
-        final List<String> list = new ArrayList<>();
-
-        final List<StringBuilder> bufList = new ArrayList<>();
-        bufList.add(new StringBuilder());
-        for (int i = 0; i < text.length();) {
-            String[] alphabets;
-            if (i + 1 < text.length() && CONVERT_MAP.get(text.substring(i, i + 2)) != null) {
-                alphabets = CONVERT_MAP.get(text.substring(i, i + 2));
-                i += 2;
+        final int length = text.length();
+        final String[][] tokens = new String[length][];
+        final char[] chars = new char[length];
+        final int[] radixes = new int[length];
+        final int maxReadingNum = getMaxReadingNum();
+        int tokenNum = 0;
+        int total = 1;
+        boolean transliterate = false;
+        for (int i = 0; i < length;) {
+            final int first = text.charAt(i) - TABLE_BASE;
+            String[] alphabets = null;
+            int consumed = 1;
+            if (first >= 0 && first < TABLE_SIZE) {
+                if (i + 1 < length && DOUBLE_TABLE[first] != null) {
+                    final int second = text.charAt(i + 1) - TABLE_BASE;
+                    if (second >= 0 && second < TABLE_SIZE && DOUBLE_TABLE[first][second] != null) {
+                        alphabets = DOUBLE_TABLE[first][second];
+                        consumed = 2;
+                    }
+                }
+                if (alphabets == null) {
+                    alphabets = SINGLE_TABLE[first];
+                }
+            }
+            if (alphabets != null) {
+                i += consumed;
+                final int origin = total;
+                int radix = 1;
+                for (int j = 1; j < alphabets.length && total < maxReadingNum; j++) {
+                    total += origin;
+                    radix++;
+                }
+                tokens[tokenNum] = alphabets;
+                radixes[tokenNum] = radix;
             } else {
-                if (CONVERT_MAP.get(text.substring(i, i + 1)) != null) {
-                    alphabets = CONVERT_MAP.get(text.substring(i, i + 1));
+                final char c = text.charAt(i);
+                final char folded = foldChar(c);
+                if (folded == 0) {
+                    chars[tokenNum] = c;
+                    transliterate = true;
                 } else {
-                    alphabets = new String[] { text.substring(i, i + 1) };
+                    chars[tokenNum] = folded;
                 }
+                radixes[tokenNum] = 1;
                 i++;
             }
+            tokenNum++;
+        }
 
-            final List<StringBuilder> originBufList = deepCopyBufList(bufList);
-            for (int j = 0; j < alphabets.length; j++) {
-                if (j == 0) {
-                    for (final StringBuilder buf : bufList) {
-                        buf.append(alphabets[j]);
-                    }
-                } else if (bufList.size() < getMaxReadingNum()) {
-                    final List<StringBuilder> tmpBufList = deepCopyBufList(originBufList);
-                    for (final StringBuilder buf : tmpBufList) {
-                        buf.append(alphabets[j]);
-                    }
-                    bufList.addAll(tmpBufList);
+        final List<String> list = new ArrayList<>(total);
+        final StringBuilder buf = new StringBuilder(length * 3);
+        final int[] digits = new int[tokenNum];
+        for (int n = 0; n < total; n++) {
+            buf.setLength(0);
+            for (int t = 0; t < tokenNum; t++) {
+                if (tokens[t] == null) {
+                    buf.append(chars[t]);
+                } else {
+                    buf.append(tokens[t][digits[t]]);
+                }
+            }
+            final String s = buf.toString();
+            list.add(transliterate ? anyLower.transliterate(fullWidthHalfWidth.transliterate(s)) : s);
+            for (int t = 0; t < tokenNum; t++) {
+                if (++digits[t] < radixes[t]) {
+                    break;
                 }
+                digits[t] = 0;
             }
         }
+        return list;
+    }
 
-        for (final StringBuilder buf : bufList) {
-            String s = fullWidthHalfWidth.transliterate(buf.toString());
-            s = anyLower.transliterate(s);
-            list.add(s);
+    /**
+     * Folds a character to half-width lowercase without ICU.
+     * @param c The character.
+     * @return The folded character, or 0 if the character needs the ICU transliterators.
+     */
+    private static char foldChar(final char c) {
+        char ch = c;
+        if (ch >= '\uFF01' && ch <= '\uFF5E') {
+            ch -= 0xFEE0;
+        } else if (ch == '\u3000') {
+            return ' ';
+        } else if (ch >= 0x80 || ch == 0) {
+            return 0;
         }
-
-        return list;
+        if (ch >= 'A' && ch <= 'Z') {
+            ch += 'a' - 'A';
+        }
+        return ch;
     }
 
     private static Map<String, String[]> generateConvertMapping() {
@@ -290,11 +371,4 @@ public class KatakanaToAlphabetConverter implements ReadingConverter {
 
         return map;
     }
-
-    private List<StringBuilder> deepCopyBufList(final List<StringBuilder> bufList) {
-        final List<StringBuilder> list = new ArrayList<>();
-        bufList.forEach(buf -> list.add(new StringBuilder(buf.toString())));
-        return list;
-    }
-
-}
\ No newline at end of file
+}
@@ -38,6 +38,10 @@ import org.opensearch.common.Nullable;
  * The SuggestItem class represents an item used for suggestions in the Fess search engine.
  * It contains various attributes such as text, readings, fields, tags, roles, languages, kinds, and frequencies.
  * The class provides methods to manipulate and retrieve these attributes, as well as to convert the item to and from different formats.
+ *
+ * <p>Items are created for every token on the indexing path and most of them are merged away shortly after,
+ * so construction is kept cheap: the timestamp is held as epoch milliseconds, the ID and the empty source map
+ * are computed on first use, and the given arrays are shared rather than copied.</p>
  */
 public class SuggestItem {
 
@@ -70,7 +74,9 @@ public class SuggestItem {
 
     private String text;
 
-    private ZonedDateTime timestamp;
+    private long timestamp;
+
+    private ZonedDateTime timestampValue;
 
     private long queryFreq;
 
@@ -94,11 +100,18 @@ public class SuggestItem {
 
     private String id;
 
+    /** Roles of an item created without roles, shared by those items. */
+    static final String[] DEFAULT_ROLES = { SuggestConstants.DEFAULT_ROLE };
+
+    /** Empty array shared by items without fields, tags or languages. */
+    static final String[] EMPTY_STRINGS = {};
+
     SuggestItem() {
     }
 
     /**
      * Constructor for SuggestItem.
+     * The given arrays are copied, so the caller may reuse them for other items.
      * @param text The text.
      * @param readings The readings.
      * @param fields The fields.
@@ -114,18 +127,13 @@ public class SuggestItem {
             final float userBoost, @Nullable final String[] tags, @Nullable final String[] roles, @Nullable final String[] languages,
             final Kind kind) {
         this.text = String.join(SuggestConstants.TEXT_SEPARATOR, text);
-        this.readings = readings;
-        this.fields = fields != null ? fields : new String[] {};
-        this.tags = tags != null ? tags : new String[] {};
+        this.readings = copyReadings(readings);
+        this.fields = copyStrings(fields);
+        this.tags = copyStrings(tags);
 
-        if (roles == null || roles.length == 0) {
-            this.roles = new String[] { SuggestConstants.DEFAULT_ROLE };
-        } else {
-            this.roles = new String[roles.length];
-            System.arraycopy(roles, 0, this.roles, 0, roles.length);
-        }
+        this.roles = roles == null || roles.length == 0 ? DEFAULT_ROLES : roles.clone();
 
-        this.languages = languages != null ? languages : new String[] {};
+        this.languages = copyStrings(languages);
 
         kinds = new Kind[] { kind };
         if (userBoost > 1) {
@@ -135,9 +143,7 @@ public class SuggestItem {
         }
         this.docFreq = docFreq;
         this.queryFreq = queryFreq;
-        timestamp = ZonedDateTime.now();
-        emptySource = createEmptyMap();
-        id = SuggestUtil.createSuggestTextId(this.text);
+        timestamp = System.currentTimeMillis();
     }
 
     /**
@@ -225,6 +231,17 @@ public class SuggestItem {
      * @return The timestamp.
      */
     public ZonedDateTime getTimestamp() {
+        if (timestampValue == null) {
+            timestampValue = ZonedDateTime.ofInstant(Instant.ofEpochMilli(timestamp), Clock.systemDefaultZone().getZone());
+        }
+        return timestampValue;
+    }
+
+    /**
+     * Returns the timestamp of the suggest item in epoch milliseconds.
+     * @return The timestamp in milliseconds.
+     */
+    public long getTimestampMillis() {
         return timestamp;
     }
 
@@ -241,7 +258,17 @@ public class SuggestItem {
      * @param timestamp The timestamp to set.
      */
     public void setTimestamp(final ZonedDateTime timestamp) {
+        this.timestamp = timestamp.toInstant().toEpochMilli();
+        timestampValue = timestamp;
+    }
+
+    /**
+     * Sets the timestamp of the suggest item in epoch milliseconds.
+     * @param timestamp The timestamp in milliseconds.
+     */
+    public void setTimestampMillis(final long timestamp) {
         this.timestamp = timestamp;
+        timestampValue = null;
     }
 
     /**
@@ -337,6 +364,9 @@ public class SuggestItem {
      * @return An empty map.
      */
     public Map<String, Object> toEmptyMap() {
+        if (emptySource == null) {
+            emptySource = createEmptyMap();
+        }
         return emptySource;
     }
 
@@ -370,6 +400,9 @@ public class SuggestItem {
      * @return The ID.
      */
     public String getId() {
+        if (id == null && text != null) {
+            id = SuggestUtil.createSuggestTextId(text);
+        }
         return id;
     }
 
@@ -463,7 +496,7 @@ public class SuggestItem {
 
     @Override
     public String toString() {
-        return "SuggestItem [text=" + text + ", timestamp=" + timestamp + ", queryFreq=" + queryFreq + ", docFreq=" + docFreq
+        return "SuggestItem [text=" + text + ", timestamp=" + getTimestamp() + ", queryFreq=" + queryFreq + ", docFreq=" + docFreq
                 + ", userBoost=" + userBoost + ", readings=" + Arrays.toString(readings) + ", fields=" + Arrays.toString(fields) + ", tags="
                 + Arrays.toString(tags) + ", roles=" + Arrays.toString(roles) + ", languages=" + Arrays.toString(languages) + ", kinds="
                 + Arrays.toString(kinds) + ", emptySource=" + emptySource + ", id=" + id + "]";
@@ -487,4 +520,19 @@ public class SuggestItem {
     public String toJsonString() {
         return SuggestItemSerializer.toJson(this);
     }
+
+    private static String[] copyStrings(final String[] values) {
+        return values == null || values.length == 0 ? EMPTY_STRINGS : values.clone();
+    }
+
+    private static String[][] copyReadings(final String[][] readings) {
+        if (readings == null) {
+            return null;
+        }
+        final String[][] copy = new String[readings.length][];
+        for (int i = 0; i < readings.length; i++) {
+            copy[i] = readings[i] == null ? null : readings[i].clone();
+        }
+        return copy;
+    }
 }
@@ -16,9 +16,11 @@
 package org.codelibs.fess.suggest.entity;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 
 import org.codelibs.fess.suggest.constants.SuggestConstants;
@@ -84,9 +86,8 @@ public final class SuggestItemMerger {
         mergedItem.setKinds(mergeKinds(item1.getKinds(), item2.getKinds()));
 
         // Take newer values from item2
-        mergedItem.setTimestamp(item2.getTimestamp());
+        mergedItem.setTimestampMillis(item2.getTimestampMillis());
         mergedItem.setUserBoost(item2.getUserBoost());
-        mergedItem.setEmptySource(item2.toEmptyMap());
 
         // Sum frequencies
         mergedItem.setQueryFreq(item1.getQueryFreq() + item2.getQueryFreq());
@@ -120,6 +121,12 @@ public final class SuggestItemMerger {
      * Merges two string arrays, maintaining uniqueness and order.
      */
     private static String[] mergeStringArrays(final String[] array1, final String[] array2) {
+        // items of a document or query usually have equal arrays, which need a copy but no merge;
+        // empty arrays and the default roles are shared defaults and are not copied
+        if (array1 != null && Arrays.equals(array1, array2) && isDistinct(array1)) {
+            return array1.length == 0 || array1 == SuggestItem.DEFAULT_ROLES ? array1 : array1.clone();
+        }
+
         final Set<String> merged = new LinkedHashSet<>();
 
         if (array1 != null) {
@@ -133,6 +140,20 @@ public final class SuggestItemMerger {
         return merged.toArray(new String[merged.size()]);
     }
 
+    /**
+     * Checks that an array has no duplicate values.
+     */
+    private static boolean isDistinct(final String[] array) {
+        for (int i = 1; i < array.length; i++) {
+            for (int j = 0; j < i; j++) {
+                if (Objects.equals(array[i], array[j])) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
     /**
      * Merges two Kind arrays, maintaining uniqueness.
      */
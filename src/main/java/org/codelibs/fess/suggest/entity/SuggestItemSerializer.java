@@ -15,18 +15,22 @@
  */
 package org.codelibs.fess.suggest.entity;
 
-import java.time.Clock;
-import java.time.Instant;
-import java.time.ZonedDateTime;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Stream;
 
 import org.codelibs.fess.suggest.constants.FieldNames;
+import org.codelibs.fess.suggest.exception.SuggesterException;
 import org.codelibs.fess.suggest.util.SuggestUtil;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.core.xcontent.XContentBuilder;
 
 /**
  * Utility class for serializing and deserializing SuggestItem objects.
@@ -38,6 +42,7 @@ import org.codelibs.fess.suggest.util.SuggestUtil;
  * <li>Parsing Map back to SuggestItem (from OpenSearch documents)</li>
  * <li>Creating updated source maps (for document updates)</li>
  * <li>Converting SuggestItem to JSON string</li>
+ * <li>Writing source and updated source directly into an {@link XContentBuilder}, without intermediate maps</li>
  * </ul>
  */
 public final class SuggestItemSerializer {
@@ -71,7 +76,7 @@ public final class SuggestItemSerializer {
         map.put(FieldNames.DOC_FREQ, item.getDocFreq());
         map.put(FieldNames.USER_BOOST, item.getUserBoost());
         map.put(FieldNames.SCORE, (item.getQueryFreq() + item.getDocFreq()) * item.getUserBoost());
-        map.put(FieldNames.TIMESTAMP, item.getTimestamp().toInstant().toEpochMilli());
+        map.put(FieldNames.TIMESTAMP, item.getTimestampMillis());
         return map;
     }
 
@@ -128,7 +133,7 @@ public final class SuggestItemSerializer {
         item.setKinds(itemKinds);
 
         item.setId(SuggestUtil.createSuggestTextId(text));
-        item.setTimestamp(ZonedDateTime.ofInstant(Instant.ofEpochMilli(timestamp), Clock.systemDefaultZone().getZone()));
+        item.setTimestampMillis(timestamp);
         return item;
     }
 
@@ -180,45 +185,219 @@ public final class SuggestItemSerializer {
 
         map.put(FieldNames.USER_BOOST, item.getUserBoost());
         map.put(FieldNames.SCORE, (updatedQueryFreq + updatedDocFreq) * item.getUserBoost());
-        map.put(FieldNames.TIMESTAMP, item.getTimestamp().toInstant().toEpochMilli());
+        map.put(FieldNames.TIMESTAMP, item.getTimestampMillis());
         return map;
     }
 
     /**
      * Converts a SuggestItem to a JSON string.
+     * Unlike {@link #toXContent(SuggestItem, XContentBuilder)}, null arrays are written as empty arrays.
      *
      * @param item The SuggestItem to convert
      * @return A JSON string representation
      */
     public static String toJson(final SuggestItem item) {
-        final StringBuilder buf = new StringBuilder(100);
-        buf.append('{').append('"').append(FieldNames.TEXT).append("\":").append(escapeJsonString(item.getText()));
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        try (XContentBuilder builder = XContentFactory.jsonBuilder(out)) {
+            writeSource(item, builder, true);
+        } catch (final IOException e) {
+            throw new SuggesterException("Failed to serialize SuggestItem to JSON: itemId=" + item.getId(), e);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes the source of a SuggestItem into a builder.
+     * Produces the same document as {@link #toSource(SuggestItem)} without building a map.
+     *
+     * @param item The SuggestItem to write
+     * @param builder The builder to write to
+     * @return The builder
+     * @throws IOException If the builder fails to write
+     */
+    public static XContentBuilder toXContent(final SuggestItem item, final XContentBuilder builder) throws IOException {
+        return writeSource(item, builder, false);
+    }
+
+    /**
+     * Writes the source of a SuggestItem into a builder, writing null arrays as empty arrays or as null fields.
+     */
+    private static XContentBuilder writeSource(final SuggestItem item, final XContentBuilder builder, final boolean nullAsEmpty)
+            throws IOException {
+        builder.startObject();
+        builder.field(FieldNames.TEXT, item.getText());
 
         final String[][] readings = item.getReadings();
         for (int i = 0; i < readings.length; i++) {
-            final String[] values = readings[i] == null ? null : Arrays.stream(readings[i]).distinct().toArray(n -> new String[n]);
-            buf.append(',').append('"').append(FieldNames.READING_PREFIX + i).append("\":").append(toJsonArray(values));
+            writeDistinctValues(builder, FieldNames.READING_PREFIX + i, null, readings[i], nullAsEmpty);
+        }
+
+        writeValues(builder, FieldNames.FIELDS, item.getFields(), nullAsEmpty);
+        writeValues(builder, FieldNames.TAGS, item.getTags(), nullAsEmpty);
+        writeValues(builder, FieldNames.ROLES, item.getRoles(), nullAsEmpty);
+        writeValues(builder, FieldNames.LANGUAGES, item.getLanguages(), nullAsEmpty);
+        writeKinds(builder, null, item.getKinds());
+        builder.field(FieldNames.QUERY_FREQ, item.getQueryFreq());
+        builder.field(FieldNames.DOC_FREQ, item.getDocFreq());
+        builder.field(FieldNames.USER_BOOST, item.getUserBoost());
+        builder.field(FieldNames.SCORE, (item.getQueryFreq() + item.getDocFreq()) * item.getUserBoost());
+        builder.field(FieldNames.TIMESTAMP, item.getTimestampMillis());
+        return builder.endObject();
+    }
+
+    /**
+     * Writes the source of a SuggestItem merged with an existing source into a builder.
+     * Produces the same document as {@link #toUpdatedSource(SuggestItem, Map)} without building a map
+     * or modifying the existing source.
+     *
+     * @param item The SuggestItem with new data
+     * @param existingSource The existing source map from OpenSearch
+     * @param builder The builder to write to
+     * @return The builder
+     * @throws IOException If the builder fails to write
+     */
+    public static XContentBuilder toUpdatedXContent(final SuggestItem item, final Map<String, Object> existingSource,
+            final XContentBuilder builder) throws IOException {
+        builder.startObject();
+        builder.field(FieldNames.TEXT, item.getText());
+
+        final String[][] readings = item.getReadings();
+        for (int i = 0; i < readings.length; i++) {
+            final Object readingObj = existingSource.get(FieldNames.READING_PREFIX + i);
+            writeDistinctValues(builder, FieldNames.READING_PREFIX + i, readingObj instanceof final List<?> list ? list : null, readings[i],
+                    false);
+        }
+
+        writeMergedValues(builder, existingSource, FieldNames.FIELDS, item.getFields());
+        writeMergedValues(builder, existingSource, FieldNames.TAGS, item.getTags());
+        writeMergedValues(builder, existingSource, FieldNames.ROLES, item.getRoles());
+        writeMergedValues(builder, existingSource, FieldNames.LANGUAGES, item.getLanguages());
+        final Object kindsObj = existingSource.get(FieldNames.KINDS);
+        writeKinds(builder, kindsObj instanceof final List<?> list ? list : null, item.getKinds());
+
+        final long updatedQueryFreq = mergeFrequency(existingSource, FieldNames.QUERY_FREQ, item.getQueryFreq());
+        builder.field(FieldNames.QUERY_FREQ, updatedQueryFreq);
+        final long updatedDocFreq = mergeFrequency(existingSource, FieldNames.DOC_FREQ, item.getDocFreq());
+        builder.field(FieldNames.DOC_FREQ, updatedDocFreq);
+        builder.field(FieldNames.USER_BOOST, item.getUserBoost());
+        builder.field(FieldNames.SCORE, (updatedQueryFreq + updatedDocFreq) * item.getUserBoost());
+        builder.field(FieldNames.TIMESTAMP, item.getTimestampMillis());
+        return builder.endObject();
+    }
+
+    /**
+     * Writes an array field, or an empty array or a null field if the values are null.
+     */
+    private static void writeValues(final XContentBuilder builder, final String fieldName, final String[] values,
+            final boolean nullAsEmpty) throws IOException {
+        if (values == null) {
+            writeNull(builder, fieldName, nullAsEmpty);
+            return;
+        }
+        builder.startArray(fieldName);
+        for (final String value : values) {
+            builder.value(value);
+        }
+        builder.endArray();
+    }
+
+    private static void writeNull(final XContentBuilder builder, final String fieldName, final boolean nullAsEmpty) throws IOException {
+        if (nullAsEmpty) {
+            builder.startArray(fieldName).endArray();
+        } else {
+            builder.nullField(fieldName);
+        }
+    }
+
+    /**
+     * Writes the distinct values of an existing list followed by new values, or an empty array or a null field if both are absent.
+     */
+    private static void writeDistinctValues(final XContentBuilder builder, final String fieldName, final List<?> existingValues,
+            final String[] newValues, final boolean nullAsEmpty) throws IOException {
+        if (existingValues == null && newValues == null) {
+            writeNull(builder, fieldName, nullAsEmpty);
+            return;
+        }
+        builder.startArray(fieldName);
+        if (existingValues != null) {
+            for (int i = 0; i < existingValues.size(); i++) {
+                if (!containsBefore(existingValues, i, existingValues.get(i))) {
+                    builder.value(existingValues.get(i));
+                }
+            }
+        }
+        if (newValues != null) {
+            for (int i = 0; i < newValues.length; i++) {
+                final String value = newValues[i];
+                if ((existingValues == null || !existingValues.contains(value)) && !containsBefore(newValues, i, value)) {
+                    builder.value(value);
+                }
+            }
+        }
+        builder.endArray();
+    }
+
+    /**
+     * Writes an existing list followed by new values it does not contain, or the new values if there is no existing list.
+     */
+    private static void writeMergedValues(final XContentBuilder builder, final Map<String, Object> existingSource, final String fieldName,
+            final String[] newValues) throws IOException {
+        final Object existingObj = existingSource.get(fieldName);
+        if (!(existingObj instanceof final List<?> existingValues)) {
+            writeValues(builder, fieldName, newValues, false);
+            return;
+        }
+        builder.startArray(fieldName);
+        for (final Object value : existingValues) {
+            builder.value(value);
+        }
+        if (newValues != null) {
+            for (int i = 0; i < newValues.length; i++) {
+                final String value = newValues[i];
+                if (!existingValues.contains(value) && !containsBefore(newValues, i, value)) {
+                    builder.value(value);
+                }
+            }
+        }
+        builder.endArray();
+    }
+
+    /**
+     * Writes the kinds field, appending new kinds to an existing list if given.
+     */
+    private static void writeKinds(final XContentBuilder builder, final List<?> existingKinds, final SuggestItem.Kind[] kinds)
+            throws IOException {
+        builder.startArray(FieldNames.KINDS);
+        if (existingKinds != null) {
+            for (final Object kind : existingKinds) {
+                builder.value(kind);
+            }
+        }
+        for (int i = 0; i < kinds.length; i++) {
+            final String kind = kinds[i].toString();
+            if (existingKinds == null || !existingKinds.contains(kind) && !containsBefore(kinds, i, kinds[i])) {
+                builder.value(kind);
+            }
+        }
+        builder.endArray();
+    }
+
+    private static boolean containsBefore(final Object[] values, final int end, final Object value) {
+        for (int i = 0; i < end; i++) {
+            if (Objects.equals(values[i], value)) {
+                return true;
+            }
         }
+        return false;
+    }
 
-        buf.append(',').append('"').append(FieldNames.FIELDS).append("\":").append(toJsonArray(item.getFields()));
-        buf.append(',').append('"').append(FieldNames.TAGS).append("\":").append(toJsonArray(item.getTags()));
-        buf.append(',').append('"').append(FieldNames.ROLES).append("\":").append(toJsonArray(item.getRoles()));
-        buf.append(',').append('"').append(FieldNames.LANGUAGES).append("\":").append(toJsonArray(item.getLanguages()));
-        buf.append(',')
-                .append('"')
-                .append(FieldNames.KINDS)
-                .append("\":")
-                .append(toJsonArray(Stream.of(item.getKinds()).map(SuggestItem.Kind::toString).toArray(n -> new String[n])));
-        buf.append(',').append('"').append(FieldNames.QUERY_FREQ).append("\":").append(item.getQueryFreq());
-        buf.append(',').append('"').append(FieldNames.DOC_FREQ).append("\":").append(item.getDocFreq());
-        buf.append(',').append('"').append(FieldNames.USER_BOOST).append("\":").append(item.getUserBoost());
-        buf.append(',')
-                .append('"')
-                .append(FieldNames.SCORE)
-                .append("\":")
-                .append((item.getQueryFreq() + item.getDocFreq()) * item.getUserBoost());
-        buf.append(',').append('"').append(FieldNames.TIMESTAMP).append("\":").append(item.getTimestamp().toInstant().toEpochMilli());
-        return buf.append('}').toString();
+    private static boolean containsBefore(final List<?> values, final int end, final Object value) {
+        for (int i = 0; i < end; i++) {
+            if (Objects.equals(values.get(i), value)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -261,57 +440,4 @@ public final class SuggestItemSerializer {
             }
         }
     }
-
-    /**
-     * Escapes a string for JSON output.
-     */
-    private static String escapeJsonString(final String value) {
-        if (value == null) {
-            return "null";
-        }
-        final StringBuilder buf = new StringBuilder(value.length() + 2);
-        buf.append('"');
-        for (final char c : value.toCharArray()) {
-            switch (c) {
-            case '"':
-                buf.append("\\\"");
-                break;
-            case '\\':
-                buf.append("\\\\");
-                break;
-            case '\n':
-                buf.append("\\n");
-                break;
-            case '\r':
-                buf.append("\\r");
-                break;
-            case '\t':
-                buf.append("\\t");
-                break;
-            default:
-                buf.append(c);
-            }
-        }
-        buf.append('"');
-        return buf.toString();
-    }
-
-    /**
-     * Converts a string array to JSON array format.
-     */
-    private static String toJsonArray(final String[] values) {
-        if (values == null) {
-            return "[]";
-        }
-        final StringBuilder buf = new StringBuilder();
-        buf.append('[');
-        for (int i = 0; i < values.length; i++) {
-            if (i > 0) {
-                buf.append(',');
-            }
-            buf.append(escapeJsonString(values[i]));
-        }
-        buf.append(']');
-        return buf.toString();
-    }
 }
@@ -38,6 +38,8 @@ import org.codelibs.fess.suggest.index.operations.ContentIndexingOperations;
 import org.codelibs.fess.suggest.index.operations.DeletionOperations;
 import org.codelibs.fess.suggest.index.operations.IndexingOperations;
 import org.codelibs.fess.suggest.index.operations.WordManagementOperations;
+import org.codelibs.fess.suggest.index.throttle.AdaptiveIndexingThrottle;
+import org.codelibs.fess.suggest.index.throttle.IndexingThrottle;
 import org.codelibs.fess.suggest.index.writer.SuggestIndexWriter;
 import org.codelibs.fess.suggest.index.writer.SuggestWriter;
 import org.codelibs.fess.suggest.normalizer.Normalizer;
@@ -75,7 +77,10 @@ import org.opensearch.transport.client.Client;
  * <li>{@link #indexFromQueryLog(QueryLog)} - Index from a single query log.</li>
  * <li>{@link #indexFromQueryLog(QueryLog[])} - Index from multiple query logs.</li>
  * <li>{@link #indexFromQueryLog(QueryLogReader, int, long)} - Index from query log reader with specified document per request and request interval.</li>
+ * <li>{@link #indexFromQueryLog(QueryLogReader, IndexingThrottle)} - Index from query log reader with throttle-controlled batches.</li>
  * <li>{@link #indexFromDocument(Map[])} - Index from an array of documents.</li>
+ * <li>{@link #indexFromDocument(Supplier, int, Runnable)} - Index from document reader with specified document per request and wait controller.</li>
+ * <li>{@link #indexFromDocument(Supplier, IndexingThrottle)} - Index from document reader with throttle-controlled batches.</li>
  * <li>{@link #indexFromSearchWord(String, String[], String[], String[], int, String[])} - Index from search word.</li>
  * <li>{@link #addBadWord(String, boolean)} - Add a bad word and optionally apply it.</li>
  * <li>{@link #deleteBadWord(String)} - Delete a bad word.</li>
@@ -112,6 +117,7 @@ import org.opensearch.transport.client.Client;
  * <li>{@link #analyzer} - Suggest analyzer.</li>
  * <li>{@link #contentsParser} - Contents parser.</li>
  * <li>{@link #suggestWriter} - Suggest writer.</li>
+ * <li>{@link #queryWriter} - Suggest writer for query logs and search words.</li>
  * <li>{@link #threadPool} - Executor service for thread pool.</li>
  * </ul>
  */
@@ -144,6 +150,8 @@ public class SuggestIndexer {
     protected SuggestSettings settings;
     /** The suggest writer. */
     protected SuggestWriter suggestWriter;
+    /** The suggest writer for query logs and search words, or null to use {@link #suggestWriter}. */
+    protected SuggestWriter queryWriter;
     /** Supported fields for suggestions. */
     protected String[] supportedFields;
     /** Tag field names. */
@@ -202,10 +210,13 @@ public class SuggestIndexer {
      */
     private void initializeOperations() {
         indexingOps = new IndexingOperations(client, settings, suggestWriter);
-        deletionOps = new DeletionOperations(client, settings, suggestWriter);
+        final IndexingOperations queryIndexingOps =
+                queryWriter != null ? new IndexingOperations(client, settings, queryWriter) : indexingOps;
+        // deletes go through the query writer so that buffered items are written before they are deleted
+        deletionOps = new DeletionOperations(client, settings, queryWriter != null ? queryWriter : suggestWriter);
         wordMgmtOps = new WordManagementOperations(settings, normalizer, indexingOps, deletionOps, this::getBadWords);
-        contentOps = new ContentIndexingOperations(client, settings, threadPool, indexingOps, contentsParser, analyzer, readingConverter,
-                contentsReadingConverter, normalizer, parallel);
+        contentOps = new ContentIndexingOperations(client, settings, threadPool, indexingOps, queryIndexingOps, contentsParser, analyzer,
+                readingConverter, contentsReadingConverter, normalizer, parallel);
         operationsStale = false;
     }
 
@@ -347,6 +358,17 @@ public class SuggestIndexer {
         return contentOps.indexFromQueryLog(createContext(), queryLogReader, docPerReq, requestInterval);
     }
 
+    /**
+     * Indexes documents from a query log reader asynchronously, with batch size and pauses controlled by a throttle.
+     * @param queryLogReader The query log reader.
+     * @param throttle The throttle, such as an {@link AdaptiveIndexingThrottle}.
+     * @return A Promise that will be resolved with the SuggestIndexResponse or rejected with an error.
+     */
+    public Deferred<SuggestIndexResponse>.Promise indexFromQueryLog(final QueryLogReader queryLogReader, final IndexingThrottle throttle) {
+        ensureOperations();
+        return contentOps.indexFromQueryLog(createContext(), queryLogReader, throttle);
+    }
+
     /**
      * Indexes documents from an array of maps.
      * @param documents The documents to index.
@@ -370,6 +392,18 @@ public class SuggestIndexer {
         return contentOps.indexFromDocument(createContext(), reader, docPerReq, waitController);
     }
 
+    /**
+     * Indexes documents from a DocumentReader asynchronously, with batch size and pauses controlled by a throttle.
+     * @param reader The supplier for DocumentReader.
+     * @param throttle The throttle, such as an {@link AdaptiveIndexingThrottle}.
+     * @return A Promise that will be resolved with the SuggestIndexResponse or rejected with an error.
+     */
+    public Deferred<SuggestIndexResponse>.Promise indexFromDocument(final Supplier<DocumentReader> reader,
+            final IndexingThrottle throttle) {
+        ensureOperations();
+        return contentOps.indexFromDocument(createContext(), reader, throttle);
+    }
+
     /**
      * Indexes a search word.
      * @param searchWord The search word.
@@ -544,4 +578,16 @@ public class SuggestIndexer {
         return this;
     }
 
+    /**
+     * Sets the suggest writer for query logs and search words, such as a {@link org.codelibs.fess.suggest.index.writer.BufferedSuggestWriter}.
+     * Deletes are also sent through this writer. If null, {@link #suggestWriter} is used.
+     * @param queryWriter The suggest writer.
+     * @return This SuggestIndexer instance.
+     */
+    public SuggestIndexer setQueryWriter(final SuggestWriter queryWriter) {
+        this.queryWriter = queryWriter;
+        operationsStale = true;
+        return this;
+    }
+
 }
@@ -15,8 +15,10 @@
  */
 package org.codelibs.fess.suggest.index.contents;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.codelibs.fess.suggest.analysis.SuggestAnalyzer;
 import org.codelibs.fess.suggest.converter.ReadingConverter;
@@ -77,4 +79,77 @@ public interface ContentsParser {
     List<SuggestItem> parseDocument(Map<String, Object> document, String[] fields, String[] tagFieldNames, String roleFieldName,
             String langFieldName, ReadingConverter readingConverter, ReadingConverter contentsReadingConverter, Normalizer normalizer,
             SuggestAnalyzer analyzer);
+
+    /**
+     * Parses documents and extracts suggest items based on the provided fields and converters.
+     * Implementations may analyze the documents together to reduce analyze requests.
+     *
+     * @param documents The documents to parse, each represented as a map of field names to values.
+     * @param fields The fields to extract from the documents.
+     * @param tagFieldNames The names of the fields that contain tags.
+     * @param roleFieldName The name of the field that contains role information.
+     * @param langFieldName The name of the field that contains language information.
+     * @param readingConverter The converter to use for reading fields.
+     * @param contentsReadingConverter The converter to use for reading content fields.
+     * @param normalizer The normalizer to use for normalizing field values.
+     * @param analyzer The analyzer to use for analyzing field values.
+     * @return A list of suggest items extracted from the documents, in the order of the documents.
+     */
+    default List<SuggestItem> parseDocuments(final List<Map<String, Object>> documents, final String[] fields, final String[] tagFieldNames,
+            final String roleFieldName, final String langFieldName, final ReadingConverter readingConverter,
+            final ReadingConverter contentsReadingConverter, final Normalizer normalizer, final SuggestAnalyzer analyzer) {
+        final List<SuggestItem> items = new ArrayList<>();
+        for (final Map<String, Object> document : documents) {
+            items.addAll(parseDocument(document, fields, tagFieldNames, roleFieldName, langFieldName, readingConverter,
+                    contentsReadingConverter, normalizer, analyzer));
+        }
+        return items;
+    }
+
+    /**
+     * Parses a document and passes the extracted suggest items to a sink as they are created,
+     * so that the items of a large document do not have to be held at once.
+     *
+     * @param document The document to parse, represented as a map of field names to values.
+     * @param fields The fields to extract from the document.
+     * @param tagFieldNames The names of the fields that contain tags.
+     * @param roleFieldName The name of the field that contains role information.
+     * @param langFieldName The name of the field that contains language information.
+     * @param readingConverter The converter to use for reading fields.
+     * @param contentsReadingConverter The converter to use for reading content fields.
+     * @param normalizer The normalizer to use for normalizing field values.
+     * @param analyzer The analyzer to use for analyzing field values.
+     * @param sink The consumer receiving the suggest items.
+     */
+    default void parseDocument(final Map<String, Object> document, final String[] fields, final String[] tagFieldNames,
+            final String roleFieldName, final String langFieldName, final ReadingConverter readingConverter,
+            final ReadingConverter contentsReadingConverter, final Normalizer normalizer, final SuggestAnalyzer analyzer,
+            final Consumer<SuggestItem> sink) {
+        parseDocument(document, fields, tagFieldNames, roleFieldName, langFieldName, readingConverter, contentsReadingConverter, normalizer,
+                analyzer).forEach(sink);
+    }
+
+    /**
+     * Parses documents and passes the extracted suggest items to a sink as they are created.
+     *
+     * @param documents The documents to parse, each represented as a map of field names to values.
+     * @param fields The fields to extract from the documents.
+     * @param tagFieldNames The names of the fields that contain tags.
+     * @param roleFieldName The name of the field that contains role information.
+     * @param langFieldName The name of the field that contains language information.
+     * @param readingConverter The converter to use for reading fields.
+     * @param contentsReadingConverter The converter to use for reading content fields.
+     * @param normalizer The normalizer to use for normalizing field values.
+     * @param analyzer The analyzer to use for analyzing field values.
+     * @param sink The consumer receiving the suggest items.
+     */
+    default void parseDocuments(final List<Map<String, Object>> documents, final String[] fields, final String[] tagFieldNames,
+            final String roleFieldName, final String langFieldName, final ReadingConverter readingConverter,
+            final ReadingConverter contentsReadingConverter, final Normalizer normalizer, final SuggestAnalyzer analyzer,
+            final Consumer<SuggestItem> sink) {
+        for (final Map<String, Object> document : documents) {
+            parseDocument(document, fields, tagFieldNames, roleFieldName, langFieldName, readingConverter, contentsReadingConverter,
+                    normalizer, analyzer, sink);
+        }
+    }
 }
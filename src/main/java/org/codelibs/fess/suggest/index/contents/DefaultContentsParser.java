@@ -18,8 +18,10 @@ package org.codelibs.fess.suggest.index.contents;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -68,11 +70,20 @@ public class DefaultContentsParser implements ContentsParser {
 
     private final int maxAnalyzedContentLength;
 
+    private final int maxBatchAnalyzedContentLength;
+
     /**
      * Constructor.
+     * <p>
+     * The texts of one batched analyze request are limited to {@code fess.suggest.max.batch.analyzed.content.length}
+     * characters (default 3000). The tokens of a request count against {@code index.analyze.max_token_count}
+     * (default 10000), and n-gram analyzers emit up to about three tokens per character, so the limit should stay below
+     * a third of that setting. A batch that exceeds it fails and is analyzed again one text at a time.
+     * </p>
      */
     public DefaultContentsParser() {
         maxAnalyzedContentLength = Integer.getInteger("fess.suggest.max.analyzed.content.length", 1000);
+        maxBatchAnalyzedContentLength = Integer.getInteger("fess.suggest.max.batch.analyzed.content.length", 3000);
     }
 
     @Override
@@ -154,7 +165,21 @@ public class DefaultContentsParser implements ContentsParser {
     public List<SuggestItem> parseDocument(final Map<String, Object> document, final String[] fields, final String[] tagFieldNames,
             final String roleFieldName, final String langFieldName, final ReadingConverter readingConverter,
             final ReadingConverter contentsReadingConverter, final Normalizer normalizer, final SuggestAnalyzer analyzer) {
-        List<SuggestItem> items = null;
+        final List<SuggestItem> items = new ArrayList<>();
+        parseDocument(document, fields, tagFieldNames, roleFieldName, langFieldName, readingConverter, contentsReadingConverter, normalizer,
+                analyzer, items::add);
+        return items;
+    }
+
+    /**
+     * Parses a document chunk by chunk.
+     * Each chunk of a field is analyzed and turned into items before the next one, so only the tokens of one chunk are held.
+     */
+    @Override
+    public void parseDocument(final Map<String, Object> document, final String[] fields, final String[] tagFieldNames,
+            final String roleFieldName, final String langFieldName, final ReadingConverter readingConverter,
+            final ReadingConverter contentsReadingConverter, final Normalizer normalizer, final SuggestAnalyzer analyzer,
+            final Consumer<SuggestItem> sink) {
         final String[] tags = extractTags(tagFieldNames, tagFieldName -> getFieldValues(document, tagFieldName));
         final String[] roles = getFieldValues(document, roleFieldName);
 
@@ -163,51 +188,168 @@ public class DefaultContentsParser implements ContentsParser {
             if (textObj == null) {
                 continue;
             }
-            final String text = textObj.toString();
             final String lang = document.get(langFieldName) == null ? null : document.get(langFieldName).toString();
 
-            final List<AnalyzeToken> tokens = analyzeText(analyzer, field, text, lang);
-            if (tokens == null) {
-                continue;
+            final List<String> chunks = splitText(textObj.toString());
+            for (int i = 0; i < chunks.size(); i++) {
+                final boolean isLast = i == chunks.size() - 1;
+                final List<AnalyzeToken> tokens = new ArrayList<>();
+                processBuffer(analyzer, field, lang, false, tokens, chunks.get(i), isLast);
+                if (tokens.isEmpty()) {
+                    continue;
+                }
+                final List<AnalyzeToken> readingTokens = new ArrayList<>();
+                processBuffer(analyzer, field, lang, true, readingTokens, chunks.get(i), isLast);
+                addSuggestItems(sink, field, lang, tokens, readingTokens, tags, roles, readingConverter, contentsReadingConverter);
             }
-            List<AnalyzeToken> readingTokens = analyzeTextByReading(analyzer, field, text, lang);
-            if (readingTokens.size() != tokens.size()) {
-                readingTokens = null;
+        }
+    }
+
+    @Override
+    public List<SuggestItem> parseDocuments(final List<Map<String, Object>> documents, final String[] fields, final String[] tagFieldNames,
+            final String roleFieldName, final String langFieldName, final ReadingConverter readingConverter,
+            final ReadingConverter contentsReadingConverter, final Normalizer normalizer, final SuggestAnalyzer analyzer) {
+        final List<SuggestItem> items = new ArrayList<>();
+        parseDocuments(documents, fields, tagFieldNames, roleFieldName, langFieldName, readingConverter, contentsReadingConverter,
+                normalizer, analyzer, items::add);
+        return items;
+    }
+
+    /**
+     * Parses documents with batched analysis.
+     * Documents are taken in windows of about {@code maxBatchAnalyzedContentLength} characters. The fields of a window are
+     * grouped by field and language, and the texts of each group are sent to the analyzer together, so a batch of documents
+     * needs a few analyze requests per group instead of several per document. The items of a window are passed to the sink
+     * once the whole window is parsed; if that fails, the documents of the window are parsed one by one.
+     */
+    @Override
+    public void parseDocuments(final List<Map<String, Object>> documents, final String[] fields, final String[] tagFieldNames,
+            final String roleFieldName, final String langFieldName, final ReadingConverter readingConverter,
+            final ReadingConverter contentsReadingConverter, final Normalizer normalizer, final SuggestAnalyzer analyzer,
+            final Consumer<SuggestItem> sink) {
+        int start = 0;
+        while (start < documents.size()) {
+            final List<FieldText> fieldTexts = new ArrayList<>();
+            final Map<String, List<FieldText>> groups = new LinkedHashMap<>();
+            int end = start;
+            int length = 0;
+            while (end < documents.size() && (end == start || length < maxBatchAnalyzedContentLength)) {
+                final Map<String, Object> document = documents.get(end);
+                for (final String field : fields) {
+                    final Object textObj = document.get(field);
+                    if (textObj == null) {
+                        continue;
+                    }
+                    final String lang = document.get(langFieldName) == null ? null : document.get(langFieldName).toString();
+                    final String text = textObj.toString();
+                    final FieldText fieldText = new FieldText(end, field, lang, splitText(text));
+                    fieldTexts.add(fieldText);
+                    groups.computeIfAbsent(field + '\n' + lang, k -> new ArrayList<>()).add(fieldText);
+                    length += text.length();
+                }
+                end++;
             }
 
+            final List<SuggestItem> windowItems = new ArrayList<>();
             try {
-                for (int i = 0; i < tokens.size(); i++) {
-                    final AnalyzeToken token = tokens.get(i);
-                    final String word = token.getTerm();
-                    if (StringUtil.isBlank(word)) {
-                        continue;
+                for (final List<FieldText> group : groups.values()) {
+                    analyzeFieldTexts(analyzer, group, false);
+                    analyzeFieldTexts(analyzer, group, true);
+                }
+
+                int docIndex = -1;
+                String[] tags = null;
+                String[] roles = null;
+                for (final FieldText fieldText : fieldTexts) {
+                    if (fieldText.docIndex != docIndex) {
+                        docIndex = fieldText.docIndex;
+                        final Map<String, Object> document = documents.get(docIndex);
+                        tags = extractTags(tagFieldNames, tagFieldName -> getFieldValues(document, tagFieldName));
+                        roles = getFieldValues(document, roleFieldName);
                     }
-                    final String[] words = { word };
-                    final String[][] readings = new String[words.length][];
-                    final List<String> l;
-                    if (readingTokens == null) {
-                        l = readingConverter.convert(word, field, lang);
-                    } else {
-                        final String reading = readingTokens.get(i).getTerm();
-                        l = contentsReadingConverter.convert(reading, field, lang);
+                    for (int i = 0; i < fieldText.chunks.size(); i++) {
+                        addSuggestItems(windowItems::add, fieldText.field, fieldText.lang, fieldText.tokens.get(i),
+                                fieldText.readingTokens.get(i), tags, roles, readingConverter, contentsReadingConverter);
                     }
-                    l.add(word);
-                    readings[0] = l.toArray(String[]::new);
+                }
+            } catch (OpenSearchStatusException | IllegalStateException e) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Failed to parse documents in batch, parsing them one by one: documents={}", end - start, e);
+                }
+                windowItems.clear();
+                for (int i = start; i < end; i++) {
+                    parseDocumentSafely(documents.get(i), fields, tagFieldNames, roleFieldName, langFieldName, readingConverter,
+                            contentsReadingConverter, normalizer, analyzer, windowItems::add);
+                }
+            }
+            windowItems.forEach(sink);
+            start = end;
+        }
+    }
 
-                    if (items == null) {
-                        items = new ArrayList<>(text.length() * fields.length / field.length());
-                    }
+    private void parseDocumentSafely(final Map<String, Object> document, final String[] fields, final String[] tagFieldNames,
+            final String roleFieldName, final String langFieldName, final ReadingConverter readingConverter,
+            final ReadingConverter contentsReadingConverter, final Normalizer normalizer, final SuggestAnalyzer analyzer,
+            final Consumer<SuggestItem> sink) {
+        final List<SuggestItem> items = new ArrayList<>();
+        try {
+            parseDocument(document, fields, tagFieldNames, roleFieldName, langFieldName, readingConverter, contentsReadingConverter,
+                    normalizer, analyzer, items::add);
+        } catch (OpenSearchStatusException | IllegalStateException e) {
+            final String msg = e.getMessage();
+            if (StringUtil.isNotEmpty(msg) && msg.contains("index.analyze.max_token_count")) {
+                logger.warn("Failed to parse document (token count exceeded): message={}", msg);
+                return;
+            }
+            throw e;
+        }
+        items.forEach(sink);
+    }
 
-                    final String[] langs = lang == null ? new String[] {} : new String[] { lang };
-                    items.add(new SuggestItem(words, readings, new String[] { field }, 1L, 0, -1, tags, roles, langs,
-                            SuggestItem.Kind.DOCUMENT));
+    /**
+     * Creates suggest items from the analyzed tokens of a field and passes them to the sink.
+     * @param sink Sink receiving the items
+     * @param field Field
+     * @param lang Language
+     * @param tokens Tokens
+     * @param readingTokens Reading tokens, ignored unless they are aligned with the tokens
+     * @param tags Tags
+     * @param roles Roles
+     * @param readingConverter Reading converter used without reading tokens
+     * @param contentsReadingConverter Reading converter used for reading tokens
+     */
+    protected void addSuggestItems(final Consumer<SuggestItem> sink, final String field, final String lang, final List<AnalyzeToken> tokens,
+            final List<AnalyzeToken> readingTokens, final String[] tags, final String[] roles, final ReadingConverter readingConverter,
+            final ReadingConverter contentsReadingConverter) {
+        final boolean hasReading = readingTokens != null && readingTokens.size() == tokens.size();
+
+        // shared by all items of this field
+        final String[] fieldArray = { field };
+        final String[] langs = lang == null ? new String[] {} : new String[] { lang };
+        try {
+            for (int i = 0; i < tokens.size(); i++) {
+                final AnalyzeToken token = tokens.get(i);
+                final String word = token.getTerm();
+                if (StringUtil.isBlank(word)) {
+                    continue;
+                }
+                final String[] words = { word };
+                final String[][] readings = new String[words.length][];
+                final List<String> l;
+                if (!hasReading) {
+                    l = readingConverter.convert(word, field, lang);
+                } else {
+                    final String reading = readingTokens.get(i).getTerm();
+                    l = contentsReadingConverter.convert(reading, field, lang);
                 }
-            } catch (final IOException e) {
-                throw new SuggesterException("Failed to create SuggestItem from the document.", e);
+                l.add(word);
+                readings[0] = l.toArray(String[]::new);
+
+                sink.accept(new SuggestItem(words, readings, fieldArray, 1L, 0, -1, tags, roles, langs, SuggestItem.Kind.DOCUMENT));
             }
+        } catch (final IOException e) {
+            throw new SuggesterException("Failed to create SuggestItem from the document.", e);
         }
-
-        return items == null ? new ArrayList<>() : items;
     }
 
     private String[] extractTags(final String[] tagFieldNames, final Function<String, String[]> tagExtractor) {
@@ -261,20 +403,103 @@ public class DefaultContentsParser implements ContentsParser {
     private List<AnalyzeToken> analyzeTextInternal(final SuggestAnalyzer analyzer, final String field, final String text, final String lang,
             final boolean useReading) {
         final List<AnalyzeToken> tokens = new ArrayList<>();
-        final StringBuilder buf = new StringBuilder(maxAnalyzedContentLength);
-        final String analyzeType = useReading ? "reading " : "";
+        final List<String> chunks = splitText(text);
+        for (int i = 0; i < chunks.size(); i++) {
+            processBuffer(analyzer, field, lang, useReading, tokens, chunks.get(i), i == chunks.size() - 1);
+        }
+        return tokens;
+    }
 
+    /**
+     * Splits text on whitespace into chunks of about {@code maxAnalyzedContentLength} characters.
+     * @param text Text
+     * @return Chunks
+     */
+    protected List<String> splitText(final String text) {
+        final List<String> chunks = new ArrayList<>();
+        final StringBuilder buf = new StringBuilder(maxAnalyzedContentLength);
         for (final String t : text.split("\\s")) {
             buf.append(t).append(' ');
             if (buf.length() > maxAnalyzedContentLength) {
-                processBuffer(analyzer, field, lang, useReading, tokens, buf, analyzeType, false);
+                chunks.add(buf.toString().trim());
                 buf.setLength(0);
             }
         }
         if (buf.length() > 0) {
-            processBuffer(analyzer, field, lang, useReading, tokens, buf, analyzeType, true);
+            chunks.add(buf.toString().trim());
+        }
+        return chunks;
+    }
+
+    /**
+     * Analyzes the texts of one field and language, sending the chunks of several texts in each request.
+     * The tokens of each chunk are stored in {@link FieldText#tokens} or {@link FieldText#readingTokens}.
+     * @param analyzer Analyzer
+     * @param fieldTexts Texts sharing a field and language
+     * @param useReading Whether to use reading analysis
+     */
+    protected void analyzeFieldTexts(final SuggestAnalyzer analyzer, final List<FieldText> fieldTexts, final boolean useReading) {
+        final String field = fieldTexts.get(0).field;
+        final String lang = fieldTexts.get(0).lang;
+        final List<String> chunks = new ArrayList<>();
+        final List<List<AnalyzeToken>> owners = new ArrayList<>();
+        int length = 0;
+        for (final FieldText fieldText : fieldTexts) {
+            final List<List<AnalyzeToken>> chunkTokens = new ArrayList<>(fieldText.chunks.size());
+            if (useReading) {
+                fieldText.readingTokens = chunkTokens;
+            } else {
+                fieldText.tokens = chunkTokens;
+            }
+            for (final String chunk : fieldText.chunks) {
+                final List<AnalyzeToken> tokens = new ArrayList<>();
+                chunkTokens.add(tokens);
+                if (!chunks.isEmpty() && length + chunk.length() > maxBatchAnalyzedContentLength) {
+                    processBatch(analyzer, field, lang, useReading, chunks, owners);
+                    chunks.clear();
+                    owners.clear();
+                    length = 0;
+                }
+                chunks.add(chunk);
+                owners.add(tokens);
+                length += chunk.length();
+            }
+        }
+        if (!chunks.isEmpty()) {
+            processBatch(analyzer, field, lang, useReading, chunks, owners);
+        }
+    }
+
+    /**
+     * Analyzes chunks in one request and adds the tokens of each chunk to its owner.
+     * If the request fails, the chunks are analyzed one by one.
+     * @param analyzer Analyzer
+     * @param field Field
+     * @param lang Language
+     * @param useReading Whether to use reading analysis
+     * @param chunks Chunks
+     * @param owners Token list of each chunk
+     */
+    private void processBatch(final SuggestAnalyzer analyzer, final String field, final String lang, final boolean useReading,
+            final List<String> chunks, final List<List<AnalyzeToken>> owners) {
+        try {
+            final List<List<AnalyzeToken>> results =
+                    useReading ? analyzer.analyzeAndReadingTexts(chunks, field, lang) : analyzer.analyzeTexts(chunks, field, lang);
+            for (int i = 0; i < chunks.size(); i++) {
+                final List<AnalyzeToken> result = results.get(i);
+                if (result != null) {
+                    owners.get(i).addAll(result);
+                }
+            }
+        } catch (OpenSearchStatusException | IllegalStateException e) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Failed to analyze {}texts in batch, retrying one by one: field={}, lang={}, textCount={}",
+                        useReading ? "reading " : "", field, lang, chunks.size(), e);
+            }
+            for (int i = 0; i < chunks.size(); i++) {
+                processBuffer(analyzer, field, lang, useReading, owners.get(i), chunks.get(i), i == chunks.size() - 1);
+            }
         }
-        return tokens;
     }
 
     /**
@@ -284,15 +509,14 @@ public class DefaultContentsParser implements ContentsParser {
      * @param lang Language
      * @param useReading Whether to use reading analysis
      * @param tokens Token list to add to
-     * @param buf Buffer containing text
-     * @param analyzeType Type of analysis (for logging)
+     * @param text Text to analyze
      * @param isLast Whether this is the last buffer
      */
     private void processBuffer(final SuggestAnalyzer analyzer, final String field, final String lang, final boolean useReading,
-            final List<AnalyzeToken> tokens, final StringBuilder buf, final String analyzeType, final boolean isLast) {
+            final List<AnalyzeToken> tokens, final String text, final boolean isLast) {
         try {
-            final List<AnalyzeToken> result = useReading ? analyzer.analyzeAndReading(buf.toString().trim(), field, lang)
-                    : analyzer.analyze(buf.toString().trim(), field, lang);
+            final List<AnalyzeToken> result =
+                    useReading ? analyzer.analyzeAndReading(text, field, lang) : analyzer.analyze(text, field, lang);
             if (result != null) {
                 tokens.addAll(result);
             }
@@ -300,11 +524,11 @@ public class DefaultContentsParser implements ContentsParser {
             final String lastPrefix = isLast ? "last " : "";
             final String typeDesc = useReading ? "reading " : "";
             if (logger.isDebugEnabled()) {
-                logger.warn("Failed to analyze {}{}text: field={}, lang={}, textSize={}", lastPrefix, typeDesc, field, lang, buf.length(),
+                logger.warn("Failed to analyze {}{}text: field={}, lang={}, textSize={}", lastPrefix, typeDesc, field, lang, text.length(),
                         e);
             } else {
                 logger.warn("Failed to analyze {}{}text: field={}, lang={}, textSize={}, error={}", lastPrefix, typeDesc, field, lang,
-                        buf.length(), e.getMessage());
+                        text.length(), e.getMessage());
             }
         }
     }
@@ -356,4 +580,36 @@ public class DefaultContentsParser implements ContentsParser {
         return true;
 
     }
+
+    /**
+     * Text of a document field and its analyzed tokens.
+     */
+    protected static class FieldText {
+        /** Index of the document in the batch. */
+        protected final int docIndex;
+        /** Field. */
+        protected final String field;
+        /** Language. */
+        protected final String lang;
+        /** Chunks of the text. */
+        protected final List<String> chunks;
+        /** Analyzed tokens of each chunk. */
+        protected List<List<AnalyzeToken>> tokens;
+        /** Analyzed reading tokens of each chunk. */
+        protected List<List<AnalyzeToken>> readingTokens;
+
+        /**
+         * Constructor.
+         * @param docIndex Index of the document in the batch
+         * @param field Field
+         * @param lang Language
+         * @param chunks Chunks of the text
+         */
+        protected FieldText(final int docIndex, final String field, final String lang, final List<String> chunks) {
+            this.docIndex = docIndex;
+            this.field = field;
+            this.lang = lang;
+            this.chunks = chunks;
+        }
+    }
 }
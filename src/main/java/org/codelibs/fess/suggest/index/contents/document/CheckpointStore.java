@@ -0,0 +1,50 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.fess.suggest.index.contents.document;
+
+/**
+ * Stores the read position of a {@link DocumentReader} so that an interrupted
+ * ingestion can resume where it stopped.
+ * The position is the sort values of the last processed document, as used by {@code search_after}.
+ */
+public interface CheckpointStore {
+    /**
+     * Loads the stored position.
+     *
+     * @return the sort values of the last processed document, or null if no checkpoint exists.
+     */
+    Object[] load();
+
+    /**
+     * Loads the number of documents returned up to the stored position.
+     *
+     * @return the document count, or 0 if no checkpoint exists.
+     */
+    long loadDocCount();
+
+    /**
+     * Stores the position.
+     *
+     * @param sortValues the sort values of the last processed document.
+     * @param docCount the number of documents returned up to and including that document.
+     */
+    void save(Object[] sortValues, long docCount);
+
+    /**
+     * Removes the stored position.
+     */
+    void clear();
+}
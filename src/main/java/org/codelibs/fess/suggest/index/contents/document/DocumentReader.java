@@ -34,6 +34,22 @@ public interface DocumentReader extends Closeable {
      */
     Map<String, Object> read();
 
+    /**
+     * Marks all documents returned by {@link #read()} so far as processed.
+     * Readers that support resuming store their position here; others ignore the call.
+     */
+    default void checkpoint() {
+        // nothing
+    }
+
+    /**
+     * Marks the reading as complete after the last document has been processed.
+     * Readers that support resuming remove their stored position here; others ignore the call.
+     */
+    default void complete() {
+        // nothing
+    }
+
     @Override
     void close();
 }
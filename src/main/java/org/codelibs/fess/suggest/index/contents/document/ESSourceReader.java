@@ -16,15 +16,19 @@
 package org.codelibs.fess.suggest.index.contents.document;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.codelibs.core.lang.StringUtil;
 import org.codelibs.fess.suggest.exception.SuggesterException;
 import org.codelibs.fess.suggest.settings.SuggestSettings;
 import org.codelibs.fess.suggest.util.SuggestUtil;
@@ -67,6 +71,7 @@ import org.opensearch.transport.client.Client;
  * reader.setScrollSize(1000); // Set the scroll size
  * reader.setLimitOfDocumentSize(1024 * 1024); // Limit document size to 1MB
  * reader.setQuery(QueryBuilders.termQuery("field", "value")); // Set a query
+ * reader.setSourceFiltering(true); // Fetch only the fields used for suggestions
  *
  * Map<String, Object> document;
  * while ((document = reader.read()) != null) {
@@ -96,7 +101,7 @@ public class ESSourceReader implements DocumentReader {
     protected final String[] supportedFields;
 
     /** Scroll size. */
-    protected int scrollSize = 1;
+    protected int scrollSize = 100;
     /** Maximum retry count. */
     protected int maxRetryCount = 5;
     /** Limit of document size. */
@@ -109,14 +114,22 @@ public class ESSourceReader implements DocumentReader {
     protected long limitNumber = -1;
     /** Sort list. */
     protected List<SortBuilder<?>> sortList = new ArrayList<>();
+    /** Flag to fetch only the fields used for suggestions. */
+    protected boolean sourceFiltering = false;
+    /** Additional fields to fetch when source filtering is enabled. */
+    protected List<String> additionalSourceFields = new ArrayList<>();
+    /** Numeric field holding the document size, used to filter large documents on the server. */
+    protected String documentSizeField = null;
+    /** Fields to fetch, resolved on the first request. */
+    protected String[] sourceIncludes = null;
 
     /** Scroll ID. */
     protected String scrollId = null;
 
     /** Document count. */
     protected final AtomicLong docCount = new AtomicLong(0);
-    /** Total document number. */
-    protected final long totalDocNum;
+    /** Total document number, counted on first use so that the query and size filter are applied. */
+    protected long totalDocNum = -1;
 
     /**
      * Constructor for ESSourceReader.
@@ -129,7 +142,6 @@ public class ESSourceReader implements DocumentReader {
         this.settings = settings;
         this.indexName = indexName;
         supportedFields = settings.array().get(SuggestSettings.DefaultKeys.SUPPORTED_FIELDS);
-        totalDocNum = getTotal();
     }
 
     @Override
@@ -182,6 +194,31 @@ public class ESSourceReader implements DocumentReader {
         sortList.add(sortBuilder);
     }
 
+    /**
+     * Enables fetching only the supported, tag, role and language fields instead of the full source.
+     * @param sourceFiltering True to enable source filtering.
+     */
+    public void setSourceFiltering(final boolean sourceFiltering) {
+        this.sourceFiltering = sourceFiltering;
+    }
+
+    /**
+     * Adds a field to fetch when source filtering is enabled.
+     * @param field The field name.
+     */
+    public void addSourceField(final String field) {
+        additionalSourceFields.add(field);
+    }
+
+    /**
+     * Sets a numeric field holding the document size, such as {@code content_length}.
+     * Documents whose value exceeds {@code limitOfDocumentSize} are then excluded by the query.
+     * @param documentSizeField The field name.
+     */
+    public void setDocumentSizeField(final String documentSizeField) {
+        this.documentSizeField = documentSizeField;
+    }
+
     /**
      * Sets the limit document number percentage.
      * @param limitPercentage The limit percentage as a string (e.g., "50%").
@@ -220,7 +257,7 @@ public class ESSourceReader implements DocumentReader {
      * Adds documents to the queue by fetching them from OpenSearch.
      */
     protected void addDocumentToQueue() {
-        if (docCount.get() > getLimitDocNum(totalDocNum, limitPercentage, limitNumber)) {
+        if (docCount.get() > getLimitDocNum(getTotalDocNum(), limitPercentage, limitNumber)) {
             isFinished.set(true);
             return;
         }
@@ -231,15 +268,7 @@ public class ESSourceReader implements DocumentReader {
             try {
                 final SearchResponse response;
                 if (scrollId == null) {
-                    final SearchRequestBuilder builder = client.prepareSearch()
-                            .setIndices(indexName)
-                            .setScroll(settings.getScrollTimeout())
-                            .setQuery(queryBuilder)
-                            .setSize(scrollSize);
-                    for (final SortBuilder<?> sortBuilder : sortList) {
-                        builder.addSort(sortBuilder);
-                    }
-                    response = builder.execute().actionGet(settings.getSearchTimeout());
+                    response = createSearchRequestBuilder().execute().actionGet(settings.getSearchTimeout());
                 } else {
                     response = client.prepareSearchScroll(scrollId)
                             .setScroll(settings.getScrollTimeout())
@@ -258,19 +287,7 @@ public class ESSourceReader implements DocumentReader {
 
                 for (final SearchHit hit : hits) {
                     final Map<String, Object> source = hit.getSourceAsMap();
-                    if (limitOfDocumentSize > 0) {
-                        long size = 0;
-                        for (final String field : supportedFields) {
-                            final Object value = source.get(field);
-                            if (value != null) {
-                                size += value.toString().length();
-                            }
-                        }
-
-                        if (size <= limitOfDocumentSize) {
-                            queue.add(source);
-                        }
-                    } else {
+                    if (isAcceptableSource(source)) {
                         queue.add(source);
                     }
                 }
@@ -289,6 +306,90 @@ public class ESSourceReader implements DocumentReader {
         }
     }
 
+    /**
+     * Creates the initial scroll search request for this reader.
+     * @return The search request builder.
+     */
+    protected SearchRequestBuilder createSearchRequestBuilder() {
+        final SearchRequestBuilder builder = client.prepareSearch()
+                .setIndices(indexName)
+                .setScroll(settings.getScrollTimeout())
+                .setQuery(createQuery())
+                .setSize(scrollSize);
+        final String[] includes = getSourceIncludes();
+        if (includes != null) {
+            builder.setFetchSource(includes, null);
+        }
+        for (final SortBuilder<?> sortBuilder : sortList) {
+            builder.addSort(sortBuilder);
+        }
+        return builder;
+    }
+
+    /**
+     * Creates the query, adding the document size filter if {@code documentSizeField} is set.
+     * @return The query builder.
+     */
+    protected QueryBuilder createQuery() {
+        if (documentSizeField == null || limitOfDocumentSize <= 0) {
+            return queryBuilder;
+        }
+        return QueryBuilders.boolQuery().must(queryBuilder).filter(QueryBuilders.rangeQuery(documentSizeField).lte(limitOfDocumentSize));
+    }
+
+    /**
+     * Returns the fields to fetch.
+     * @return The field names, or null to fetch the full source.
+     */
+    protected String[] getSourceIncludes() {
+        if (!sourceFiltering) {
+            return null;
+        }
+        if (sourceIncludes == null) {
+            sourceIncludes = createSourceIncludes();
+        }
+        return sourceIncludes;
+    }
+
+    private String[] createSourceIncludes() {
+        final Set<String> fields = new LinkedHashSet<>();
+        Collections.addAll(fields, supportedFields);
+        for (final String tagFieldName : settings.getAsString(SuggestSettings.DefaultKeys.TAG_FIELD_NAME, StringUtil.EMPTY).split(",")) {
+            if (StringUtil.isNotBlank(tagFieldName)) {
+                fields.add(tagFieldName.trim());
+            }
+        }
+        final String roleFieldName = settings.getAsString(SuggestSettings.DefaultKeys.ROLE_FIELD_NAME, StringUtil.EMPTY);
+        if (StringUtil.isNotBlank(roleFieldName)) {
+            fields.add(roleFieldName);
+        }
+        final String langFieldName = settings.getAsString(SuggestSettings.DefaultKeys.LANG_FIELD_NAME, StringUtil.EMPTY);
+        if (StringUtil.isNotBlank(langFieldName)) {
+            fields.add(langFieldName);
+        }
+        fields.addAll(additionalSourceFields);
+        return fields.toArray(new String[fields.size()]);
+    }
+
+    /**
+     * Checks if the source fits within {@code limitOfDocumentSize}.
+     * @param source The document source.
+     * @return True if the document should be read.
+     */
+    protected boolean isAcceptableSource(final Map<String, Object> source) {
+        if (limitOfDocumentSize <= 0) {
+            return true;
+        }
+        long size = 0;
+        for (final String field : supportedFields) {
+            final Object value = source.get(field);
+            if (value != null) {
+                size += value.toString().length();
+            }
+        }
+        return size <= limitOfDocumentSize;
+    }
+
     /**
      * Calculates the limit document number based on total, percentage, and number.
      * @param total The total number of documents.
@@ -305,13 +406,24 @@ public class ESSourceReader implements DocumentReader {
     }
 
     /**
-     * Gets the total number of documents.
+     * Gets the total number of documents, counting them on the first call.
+     * @return The total number of documents.
+     */
+    protected synchronized long getTotalDocNum() {
+        if (totalDocNum < 0) {
+            totalDocNum = getTotal();
+        }
+        return totalDocNum;
+    }
+
+    /**
+     * Gets the total number of documents matching the query, including the document size filter.
      * @return The total number of documents.
      */
     protected long getTotal() {
         final SearchResponse response = client.prepareSearch()
                 .setIndices(indexName)
-                .setQuery(queryBuilder)
+                .setQuery(createQuery())
                 .setSize(0)
                 .setTrackTotalHits(true)
                 .execute()
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.fess.suggest.index.contents.document;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import org.codelibs.fess.suggest.exception.SuggesterException;
+
+/**
+ * {@link CheckpointStore} that keeps the position in a local file.
+ * The file is replaced atomically on each save, so a crash leaves either the previous
+ * or the new position.
+ */
+public class FileCheckpointStore implements CheckpointStore {
+
+    /** The checkpoint file. */
+    protected final Path path;
+
+    /**
+     * Constructor for FileCheckpointStore.
+     * @param path The checkpoint file.
+     */
+    public FileCheckpointStore(final Path path) {
+        this.path = path;
+    }
+
+    @Override
+    public Object[] load() {
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try (ObjectInputStream in = new ObjectInputStream(Files.newInputStream(path))) {
+            return (Object[]) in.readObject();
+        } catch (final IOException | ClassNotFoundException e) {
+            throw new SuggesterException("Failed to load checkpoint: " + path, e);
+        }
+    }
+
+    @Override
+    public long loadDocCount() {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        try (ObjectInputStream in = new ObjectInputStream(Files.newInputStream(path))) {
+            in.readObject();
+            return in.readLong();
+        } catch (final IOException | ClassNotFoundException e) {
+            throw new SuggesterException("Failed to load checkpoint: " + path, e);
+        }
+    }
+
+    @Override
+    public void save(final Object[] sortValues, final long docCount) {
+        final Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            try (ObjectOutputStream out = new ObjectOutputStream(Files.newOutputStream(tempPath))) {
+                out.writeObject(sortValues);
+                out.writeLong(docCount);
+            }
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException e) {
+            throw new SuggesterException("Failed to save checkpoint: " + path, e);
+        }
+    }
+
+    @Override
+    public void clear() {
+        try {
+            Files.deleteIfExists(path);
+        } catch (final IOException e) {
+            throw new SuggesterException("Failed to clear checkpoint: " + path, e);
+        }
+    }
+}
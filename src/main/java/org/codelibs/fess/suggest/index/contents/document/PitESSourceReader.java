@@ -0,0 +1,278 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.fess.suggest.index.contents.document;
+
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.codelibs.fess.suggest.exception.SuggesterException;
+import org.codelibs.fess.suggest.settings.SuggestSettings;
+import org.opensearch.action.search.CreatePitAction;
+import org.opensearch.action.search.CreatePitRequest;
+import org.opensearch.action.search.DeletePitAction;
+import org.opensearch.action.search.DeletePitRequest;
+import org.opensearch.action.search.SearchRequestBuilder;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.builder.PointInTimeBuilder;
+import org.opensearch.search.sort.SortBuilder;
+import org.opensearch.search.sort.SortBuilders;
+import org.opensearch.transport.client.Client;
+
+/**
+ * <p>
+ * {@link PitESSourceReader} reads documents with a point in time and {@code search_after}.
+ * Unlike a scroll, a failed request is retried from the last fetched position, and with a
+ * {@link CheckpointStore} the position survives a restart of the process.
+ * </p>
+ *
+ * <p>
+ * Documents are sorted by the configured sorts followed by {@code tiebreakerField}, which must be
+ * unique per document. It defaults to {@code _shard_doc}, the point in time tiebreaker, which needs no
+ * fielddata but is only valid inside the point in time that produced it. With {@code _shard_doc}, a failed
+ * request after the first page is retried on the same point in time instead of a new one, and a
+ * {@link CheckpointStore} is rejected; a keyword field with a unique value per document must be set to
+ * use a checkpoint store.
+ * {@link #checkpoint()} stores the sort values of the last document returned by
+ * {@link #read()} and the number of documents returned so far; a new reader with the same store
+ * continues after that document and applies the document limits to the total count.
+ * The checkpoint is removed by {@link #complete()} once the reader has reached the end and the
+ * caller has processed every document, so a failure while processing the last documents can still resume.
+ * </p>
+ *
+ * <p>
+ * <b>Usage:</b>
+ * </p>
+ * <pre>
+ * {@code
+ * PitESSourceReader reader = new PitESSourceReader(client, settings, indexName);
+ * reader.setTiebreakerField("doc_id");
+ * reader.setCheckpointStore(new FileCheckpointStore(Paths.get("suggest.checkpoint")));
+ * }
+ * </pre>
+ */
+public class PitESSourceReader extends ESSourceReader {
+    private static final Logger logger = LogManager.getLogger(PitESSourceReader.class);
+
+    /** The point in time tiebreaker, whose values are only valid inside one point in time. */
+    public static final String SHARD_DOC = "_shard_doc";
+
+    /** Store for the read position. */
+    protected CheckpointStore checkpointStore;
+    /** Unique field used as the last sort key. */
+    protected String tiebreakerField = SHARD_DOC;
+
+    /** Point in time ID. */
+    protected String pitId;
+    /** Sort values to search after. */
+    protected Object[] searchAfter;
+    /** Sort values of the last returned document. */
+    protected Object[] lastSortValues;
+    /** Current page. */
+    protected SearchHit[] hits = new SearchHit[0];
+    /** Position in the current page. */
+    protected int hitPosition = 0;
+    /** Flag indicating if the checkpoint has been loaded. */
+    protected boolean started = false;
+    /** Flag indicating if all documents have been read. */
+    protected boolean exhausted = false;
+
+    /**
+     * Constructor for PitESSourceReader.
+     * @param client The OpenSearch client.
+     * @param settings The SuggestSettings instance.
+     * @param indexName The name of the index to read from.
+     */
+    public PitESSourceReader(final Client client, final SuggestSettings settings, final String indexName) {
+        super(client, settings, indexName);
+    }
+
+    @Override
+    public synchronized Map<String, Object> read() {
+        if (!started) {
+            started = true;
+            if (checkpointStore != null) {
+                checkTiebreakerField();
+                searchAfter = checkpointStore.load();
+                if (searchAfter != null) {
+                    docCount.set(checkpointStore.loadDocCount());
+                    if (logger.isInfoEnabled()) {
+                        logger.info("Resuming from checkpoint: index={}, searchAfter={}, docCount={}", indexName, searchAfter,
+                                docCount.get());
+                    }
+                }
+            }
+        }
+
+        final long limitDocNum = getLimitDocNum(getTotalDocNum(), limitPercentage, limitNumber);
+        while (!isFinished.get()) {
+            while (hitPosition < hits.length) {
+                final SearchHit hit = hits[hitPosition];
+                final Map<String, Object> source = hit.getSourceAsMap();
+                final boolean acceptable = isAcceptableSource(source);
+                if (acceptable && docCount.get() >= limitDocNum) {
+                    isFinished.set(true);
+                    return null;
+                }
+                hitPosition++;
+                lastSortValues = hit.getSortValues();
+                if (acceptable) {
+                    docCount.incrementAndGet();
+                    return source;
+                }
+            }
+            fetchNextPage();
+        }
+        return null;
+    }
+
+    @Override
+    public synchronized void checkpoint() {
+        if (checkpointStore != null && lastSortValues != null) {
+            checkTiebreakerField();
+            checkpointStore.save(lastSortValues, docCount.get());
+        }
+    }
+
+    /**
+     * Removes the checkpoint if all documents have been read.
+     * A reader stopped by the document limit keeps its checkpoint.
+     */
+    @Override
+    public synchronized void complete() {
+        if (exhausted && checkpointStore != null) {
+            checkpointStore.clear();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        super.close();
+        deletePit();
+    }
+
+    /**
+     * Sets the checkpoint store.
+     * @param checkpointStore The checkpoint store.
+     */
+    public void setCheckpointStore(final CheckpointStore checkpointStore) {
+        this.checkpointStore = checkpointStore;
+    }
+
+    /**
+     * Sets the unique field used as the last sort key.
+     * @param tiebreakerField The field name.
+     */
+    public void setTiebreakerField(final String tiebreakerField) {
+        this.tiebreakerField = tiebreakerField;
+    }
+
+    /**
+     * Fetches the next page after {@code searchAfter}, retrying up to {@code maxRetryCount} times.
+     * A new point in time is opened when a request fails, so retries continue from the same position.
+     * With {@code _shard_doc} as the tiebreaker, the sort values are bound to the current point in time,
+     * so after the first page it is kept and retried as is.
+     */
+    protected void fetchNextPage() {
+        RuntimeException exception = null;
+        for (int i = 0; i < maxRetryCount; i++) {
+            try {
+                if (pitId == null) {
+                    pitId = createPit();
+                }
+                final SearchResponse response = createPitSearchRequestBuilder().execute().actionGet(settings.getSearchTimeout());
+                if (response.pointInTimeId() != null) {
+                    pitId = response.pointInTimeId();
+                }
+                hits = response.getHits().getHits();
+                hitPosition = 0;
+                if (hits.length == 0) {
+                    exhausted = true;
+                    isFinished.set(true);
+                    deletePit();
+                } else {
+                    searchAfter = hits[hits.length - 1].getSortValues();
+                }
+                return;
+            } catch (final Exception e) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Failed to search: index={}, retry={}", indexName, i, e);
+                }
+                exception = new SuggesterException(e);
+                if (searchAfter == null || !SHARD_DOC.equals(tiebreakerField)) {
+                    deletePit();
+                }
+            }
+        }
+        throw exception;
+    }
+
+    /**
+     * Creates the search request for the next page.
+     * @return The search request builder.
+     */
+    protected SearchRequestBuilder createPitSearchRequestBuilder() {
+        final SearchRequestBuilder builder = client.prepareSearch()
+                .setQuery(createQuery())
+                .setSize(scrollSize)
+                .setPointInTime(new PointInTimeBuilder(pitId).setKeepAlive(getKeepAlive()));
+        final String[] includes = getSourceIncludes();
+        if (includes != null) {
+            builder.setFetchSource(includes, null);
+        }
+        for (final SortBuilder<?> sortBuilder : sortList) {
+            builder.addSort(sortBuilder);
+        }
+        builder.addSort(SortBuilders.fieldSort(tiebreakerField));
+        if (searchAfter != null) {
+            builder.searchAfter(searchAfter);
+        }
+        return builder;
+    }
+
+    /**
+     * Opens a point in time on the index.
+     * @return The point in time ID.
+     */
+    protected String createPit() {
+        final CreatePitRequest request = new CreatePitRequest(getKeepAlive(), false, indexName);
+        return client.execute(CreatePitAction.INSTANCE, request).actionGet(settings.getSearchTimeout()).getId();
+    }
+
+    /**
+     * Releases the point in time if it is open.
+     */
+    protected void deletePit() {
+        if (pitId != null) {
+            client.execute(DeletePitAction.INSTANCE, new DeletePitRequest(pitId), ActionListener.wrap(res -> {}, e -> {}));
+            pitId = null;
+        }
+    }
+
+    private void checkTiebreakerField() {
+        if (SHARD_DOC.equals(tiebreakerField)) {
+            throw new SuggesterException("A unique document field must be set as the tiebreaker to use a checkpoint store: index="
+                    + indexName + ", tiebreakerField=" + tiebreakerField);
+        }
+    }
+
+    private TimeValue getKeepAlive() {
+        return TimeValue.parseTimeValue(settings.getScrollTimeout(), "keep_alive");
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.fess.suggest.index.contents.document;
+
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.codelibs.fess.suggest.exception.SuggesterException;
+import org.codelibs.fess.suggest.settings.SuggestSettings;
+import org.codelibs.fess.suggest.util.SuggestUtil;
+import org.opensearch.action.search.SearchRequestBuilder;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.slice.SliceBuilder;
+import org.opensearch.transport.client.Client;
+
+/**
+ * <p>
+ * {@link SlicedESSourceReader} reads documents with a sliced scroll.
+ * Each slice is scrolled by its own thread and the documents are handed over
+ * through a bounded queue, so {@link #read()} keeps the {@link DocumentReader} contract
+ * while the index is read concurrently.
+ * </p>
+ *
+ * <p>
+ * Documents are returned in no particular order. Sort settings are applied within each slice only.
+ * </p>
+ *
+ * <p>
+ * <b>Usage:</b>
+ * </p>
+ * <pre>
+ * {@code
+ * SlicedESSourceReader reader = new SlicedESSourceReader(client, settings, indexName);
+ * reader.setSliceNum(4);
+ * reader.setScrollSize(500);
+ *
+ * Map<String, Object> document;
+ * while ((document = reader.read()) != null) {
+ *     // Process the document
+ * }
+ * reader.close();
+ * }
+ * </pre>
+ */
+public class SlicedESSourceReader extends ESSourceReader {
+    private static final Logger logger = LogManager.getLogger(SlicedESSourceReader.class);
+
+    /** Number of slices. */
+    protected int sliceNum = Runtime.getRuntime().availableProcessors();
+    /** Capacity of the document queue. */
+    protected int queueCapacity = 1000;
+    /** Poll interval in milliseconds. */
+    protected long pollInterval = 100L;
+
+    /** Bounded queue of documents filled by slice readers. */
+    protected BlockingQueue<Map<String, Object>> sliceQueue;
+    /** Executor running slice readers. */
+    protected ExecutorService executor;
+    /** Number of running slice readers. */
+    protected final AtomicInteger runningSlices = new AtomicInteger(0);
+    /** First failure from slice readers. */
+    protected final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    /**
+     * Constructor for SlicedESSourceReader.
+     * @param client The OpenSearch client.
+     * @param settings The SuggestSettings instance.
+     * @param indexName The name of the index to read from.
+     */
+    public SlicedESSourceReader(final Client client, final SuggestSettings settings, final String indexName) {
+        super(client, settings, indexName);
+    }
+
+    @Override
+    public Map<String, Object> read() {
+        startSlices();
+
+        final long limitDocNum = getLimitDocNum(getTotalDocNum(), limitPercentage, limitNumber);
+        try {
+            while (!isFinished.get()) {
+                final Map<String, Object> source = sliceQueue.poll(pollInterval, TimeUnit.MILLISECONDS);
+                if (source != null) {
+                    if (docCount.incrementAndGet() > limitDocNum) {
+                        close();
+                        return null;
+                    }
+                    return source;
+                }
+                final Throwable t = failure.get();
+                if (t != null) {
+                    close();
+                    throw new SuggesterException("Failed to read documents from " + indexName, t);
+                }
+                if (runningSlices.get() == 0 && sliceQueue.isEmpty()) {
+                    isFinished.set(true);
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+        }
+        return null;
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        if (sliceQueue != null) {
+            sliceQueue.clear();
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Sets the number of slices read concurrently.
+     * @param sliceNum The number of slices.
+     */
+    public void setSliceNum(final int sliceNum) {
+        this.sliceNum = sliceNum;
+    }
+
+    /**
+     * Sets the capacity of the document queue.
+     * @param queueCapacity The queue capacity.
+     */
+    public void setQueueCapacity(final int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Starts slice readers if they are not running.
+     */
+    protected synchronized void startSlices() {
+        if (executor != null) {
+            return;
+        }
+
+        final int num = sliceNum > 0 ? sliceNum : 1;
+        if (logger.isInfoEnabled()) {
+            logger.info("Starting sliced scroll: index={}, slices={}, scrollSize={}, queueCapacity={}", indexName, num, scrollSize,
+                    queueCapacity);
+        }
+        sliceQueue = new LinkedBlockingQueue<>(queueCapacity);
+        final AtomicInteger threadNum = new AtomicInteger(0);
+        executor = Executors.newFixedThreadPool(num, r -> {
+            final Thread thread = new Thread(r, "SlicedESSourceReader-" + threadNum.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        runningSlices.set(num);
+        for (int i = 0; i < num; i++) {
+            final SliceBuilder slice = num > 1 ? new SliceBuilder(i, num) : null;
+            executor.execute(() -> {
+                try {
+                    readSlice(slice);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (final Throwable t) {
+                    failure.compareAndSet(null, t);
+                } finally {
+                    runningSlices.decrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+    }
+
+    /**
+     * Scrolls one slice and puts acceptable documents into the queue.
+     * @param slice The slice to read, or null to read the whole index.
+     * @throws InterruptedException If the reader is interrupted.
+     */
+    protected void readSlice(final SliceBuilder slice) throws InterruptedException {
+        final SearchRequestBuilder builder = createSearchRequestBuilder();
+        if (slice != null) {
+            builder.slice(slice);
+        }
+        SearchResponse response = builder.execute().actionGet(settings.getSearchTimeout());
+        String sliceScrollId = response.getScrollId();
+        try {
+            while (sliceScrollId != null && !isFinished.get()) {
+                final SearchHit[] hits = response.getHits().getHits();
+                if (hits.length == 0) {
+                    break;
+                }
+                for (final SearchHit hit : hits) {
+                    final Map<String, Object> source = hit.getSourceAsMap();
+                    if (isAcceptableSource(source) && !putToQueue(source)) {
+                        return;
+                    }
+                }
+                response = scrollNext(sliceScrollId);
+                if (!sliceScrollId.equals(response.getScrollId())) {
+                    SuggestUtil.deleteScrollContext(client, sliceScrollId);
+                }
+                sliceScrollId = response.getScrollId();
+            }
+        } finally {
+            SuggestUtil.deleteScrollContext(client, sliceScrollId);
+        }
+    }
+
+    /**
+     * Fetches the next page of a scroll, retrying up to {@code maxRetryCount} times.
+     * @param sliceScrollId The scroll ID.
+     * @return The search response.
+     */
+    protected SearchResponse scrollNext(final String sliceScrollId) {
+        RuntimeException exception = null;
+        for (int i = 0; i < maxRetryCount; i++) {
+            try {
+                return client.prepareSearchScroll(sliceScrollId)
+                        .setScroll(settings.getScrollTimeout())
+                        .execute()
+                        .actionGet(settings.getSearchTimeout());
+            } catch (final RuntimeException e) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Failed to scroll: index={}, retry={}", indexName, i, e);
+                }
+                exception = e;
+            }
+        }
+        throw exception;
+    }
+
+    /**
+     * Puts a document into the queue, waiting while the queue is full.
+     * @param source The document source.
+     * @return False if the reader was closed while waiting.
+     * @throws InterruptedException If the reader is interrupted.
+     */
+    protected boolean putToQueue(final Map<String, Object> source) throws InterruptedException {
+        while (!isFinished.get()) {
+            if (sliceQueue.offer(source, pollInterval, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
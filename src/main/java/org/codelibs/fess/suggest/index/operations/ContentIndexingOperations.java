@@ -21,6 +21,8 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
@@ -37,6 +39,7 @@ import org.codelibs.fess.suggest.index.contents.ContentsParser;
 import org.codelibs.fess.suggest.index.contents.document.DocumentReader;
 import org.codelibs.fess.suggest.index.contents.querylog.QueryLog;
 import org.codelibs.fess.suggest.index.contents.querylog.QueryLogReader;
+import org.codelibs.fess.suggest.index.throttle.IndexingThrottle;
 import org.codelibs.fess.suggest.normalizer.Normalizer;
 import org.codelibs.fess.suggest.settings.SuggestSettings;
 import org.opensearch.OpenSearchStatusException;
@@ -56,6 +59,7 @@ public class ContentIndexingOperations {
     private final SuggestSettings settings;
     private final ExecutorService threadPool;
     private final IndexingOperations indexingOps;
+    private final IndexingOperations queryIndexingOps;
     private final ContentsParser contentsParser;
     private final SuggestAnalyzer analyzer;
     private final ReadingConverter readingConverter;
@@ -81,10 +85,34 @@ public class ContentIndexingOperations {
             final IndexingOperations indexingOps, final ContentsParser contentsParser, final SuggestAnalyzer analyzer,
             final ReadingConverter readingConverter, final ReadingConverter contentsReadingConverter, final Normalizer normalizer,
             final boolean parallel) {
+        this(client, settings, threadPool, indexingOps, indexingOps, contentsParser, analyzer, readingConverter, contentsReadingConverter,
+                normalizer, parallel);
+    }
+
+    /**
+     * Constructor with separate indexing operations for query logs and search words.
+     *
+     * @param client The OpenSearch client
+     * @param settings The suggest settings
+     * @param threadPool The executor service for async operations
+     * @param indexingOps The indexing operations for writing items
+     * @param queryIndexingOps The indexing operations for writing query log and search word items
+     * @param contentsParser The contents parser for parsing documents
+     * @param analyzer The suggest analyzer
+     * @param readingConverter The reading converter
+     * @param contentsReadingConverter The contents reading converter
+     * @param normalizer The normalizer
+     * @param parallel Whether to use parallel processing
+     */
+    public ContentIndexingOperations(final Client client, final SuggestSettings settings, final ExecutorService threadPool,
+            final IndexingOperations indexingOps, final IndexingOperations queryIndexingOps, final ContentsParser contentsParser,
+            final SuggestAnalyzer analyzer, final ReadingConverter readingConverter, final ReadingConverter contentsReadingConverter,
+            final Normalizer normalizer, final boolean parallel) {
         this.client = client;
         this.settings = settings;
         this.threadPool = threadPool;
         this.indexingOps = indexingOps;
+        this.queryIndexingOps = queryIndexingOps;
         this.contentsParser = contentsParser;
         this.analyzer = analyzer;
         this.readingConverter = readingConverter;
@@ -144,7 +172,7 @@ public class ContentIndexingOperations {
                                     readingConverter, normalizer)
                             .stream()).toArray(SuggestItem[]::new);
             final long parseTime = System.currentTimeMillis();
-            final SuggestIndexResponse response = indexingOps.index(ctx.getIndex(), array, ctx.getBadWords());
+            final SuggestIndexResponse response = queryIndexingOps.index(ctx.getIndex(), array, ctx.getBadWords());
             final long indexTime = System.currentTimeMillis();
 
             if (logger.isInfoEnabled()) {
@@ -184,6 +212,19 @@ public class ContentIndexingOperations {
      */
     public Deferred<SuggestIndexResponse>.Promise indexFromQueryLog(final ContentIndexingContext ctx, final QueryLogReader queryLogReader,
             final int docPerReq, final long requestInterval) {
+        return indexFromQueryLog(ctx, queryLogReader, IndexingThrottle.fixed(docPerReq, requestInterval));
+    }
+
+    /**
+     * Indexes documents from a query log reader asynchronously, with batch size and pauses controlled by a throttle.
+     *
+     * @param ctx The content indexing context
+     * @param queryLogReader The query log reader
+     * @param throttle The throttle controlling batch size and pauses between batches
+     * @return A Promise that will be resolved with the SuggestIndexResponse
+     */
+    public Deferred<SuggestIndexResponse>.Promise indexFromQueryLog(final ContentIndexingContext ctx, final QueryLogReader queryLogReader,
+            final IndexingThrottle throttle) {
         final Deferred<SuggestIndexResponse> deferred = new Deferred<>();
         threadPool.execute(() -> {
             final long start = System.currentTimeMillis();
@@ -191,7 +232,7 @@ public class ContentIndexingOperations {
             int numberOfInputDocs = 0;
             final List<Throwable> errors = new ArrayList<>();
 
-            final List<QueryLog> queryLogs = new ArrayList<>(docPerReq);
+            final List<QueryLog> queryLogs = new ArrayList<>();
             try {
                 QueryLog queryLog = queryLogReader.read();
                 while (queryLog != null) {
@@ -200,14 +241,16 @@ public class ContentIndexingOperations {
                     }
                     queryLogs.add(queryLog);
                     queryLog = queryLogReader.read();
-                    if ((queryLog == null && !queryLogs.isEmpty()) || queryLogs.size() >= docPerReq) {
-                        final SuggestIndexResponse res = indexFromQueryLog(ctx, queryLogs.toArray(new QueryLog[queryLogs.size()]));
+                    if ((queryLog == null && !queryLogs.isEmpty()) || queryLogs.size() >= throttle.getBatchSize()) {
+                        final QueryLog[] batch = queryLogs.toArray(new QueryLog[queryLogs.size()]);
+                        final SuggestIndexResponse res =
+                                indexWithThrottle(throttle, batch.length, () -> indexFromQueryLog(ctx, batch));
                         errors.addAll(res.getErrors());
                         numberOfSuggestDocs += res.getNumberOfSuggestDocs();
                         numberOfInputDocs += res.getNumberOfInputDocs();
                         queryLogs.clear();
 
-                        Thread.sleep(requestInterval);
+                        throttle.await();
                     }
                 }
                 deferred.resolve(
@@ -243,6 +286,8 @@ public class ContentIndexingOperations {
 
     /**
      * Indexes documents from an array of maps.
+     * Items are merged in a bounded buffer and written whenever it fills up, so memory does not grow with the number
+     * or size of the documents.
      *
      * @param ctx The content indexing context
      * @param documents The documents to index
@@ -252,33 +297,34 @@ public class ContentIndexingOperations {
         final String index = ctx.getIndex();
         final long start = System.currentTimeMillis();
         try {
-            Stream<Map<String, Object>> stream = Stream.of(documents);
+            final List<Throwable> errors = new ArrayList<>();
+            final AtomicLong indexTime = new AtomicLong();
+            final SuggestItemBuffer buffer =
+                    new SuggestItemBuffer(settings.getAsInt(SuggestSettings.DefaultKeys.DOCUMENT_ITEM_BUFFER_SIZE, 10000), items -> {
+                        final long indexStart = System.currentTimeMillis();
+                        errors.addAll(indexingOps.index(index, items, ctx.getBadWords()).getErrors());
+                        indexTime.addAndGet(System.currentTimeMillis() - indexStart);
+                        if (logger.isDebugEnabled()) {
+                            for (final SuggestItem item : items) {
+                                logger.debug("[documents] {}", item.toJsonString());
+                            }
+                        }
+                    });
             if (parallel) {
-                stream = stream.parallel();
+                parseDocuments(ctx, documents, buffer);
+            } else {
+                contentsParser.parseDocuments(Arrays.asList(documents), ctx.getSupportedFields(), ctx.getTagFieldNames(),
+                        ctx.getRoleFieldName(), ctx.getLangFieldName(), readingConverter, contentsReadingConverter, normalizer, analyzer,
+                        buffer);
             }
-            final SuggestItem[] items = stream.flatMap(document -> {
-                try {
-                    return contentsParser
-                            .parseDocument(document, ctx.getSupportedFields(), ctx.getTagFieldNames(), ctx.getRoleFieldName(),
-                                    ctx.getLangFieldName(), readingConverter, contentsReadingConverter, normalizer, analyzer)
-                            .stream();
-                } catch (OpenSearchStatusException | IllegalStateException e) {
-                    final String msg = e.getMessage();
-                    if (StringUtil.isNotEmpty(msg) && msg.contains("index.analyze.max_token_count")) {
-                        logger.warn("Failed to parse document (token count exceeded): index={}, message={}", index, msg);
-                        return Stream.empty();
-                    }
-                    throw e;
-                }
-            }).toArray(SuggestItem[]::new);
-            final long parseTime = System.currentTimeMillis();
-            final SuggestIndexResponse response = indexingOps.index(index, items, ctx.getBadWords());
-            final long indexTime = System.currentTimeMillis();
+            buffer.flush();
+            final long took = System.currentTimeMillis() - start;
+            final int itemCount = (int) buffer.getAcceptedCount();
 
             if (logger.isInfoEnabled()) {
-                printProcessingInfo("documents", documents.length, items, parseTime - start, indexTime - parseTime);
+                printProcessingInfo("documents", documents.length, itemCount, took - indexTime.get(), indexTime.get());
             }
-            return new SuggestIndexResponse(items.length, documents.length, response.getErrors(), indexTime - start);
+            return new SuggestIndexResponse(itemCount, documents.length, errors, took);
         } catch (final Exception e) {
             if (logger.isDebugEnabled()) {
                 logger.debug("Failed to index from documents: index={}, documentCount={}", index, documents.length, e);
@@ -287,6 +333,29 @@ public class ContentIndexingOperations {
         }
     }
 
+    /**
+     * Parses documents one by one in parallel and passes the items to a sink.
+     *
+     * @param ctx The content indexing context
+     * @param documents The documents to parse
+     * @param sink The sink receiving the items
+     */
+    private void parseDocuments(final ContentIndexingContext ctx, final Map<String, Object>[] documents, final Consumer<SuggestItem> sink) {
+        Stream.of(documents).parallel().forEach(document -> {
+            try {
+                contentsParser.parseDocument(document, ctx.getSupportedFields(), ctx.getTagFieldNames(), ctx.getRoleFieldName(),
+                        ctx.getLangFieldName(), readingConverter, contentsReadingConverter, normalizer, analyzer, sink);
+            } catch (OpenSearchStatusException | IllegalStateException e) {
+                final String msg = e.getMessage();
+                if (StringUtil.isNotEmpty(msg) && msg.contains("index.analyze.max_token_count")) {
+                    logger.warn("Failed to parse document (token count exceeded): index={}, message={}", ctx.getIndex(), msg);
+                    return;
+                }
+                throw e;
+            }
+        });
+    }
+
     /**
      * Indexes documents from an array of maps.
      *
@@ -316,9 +385,22 @@ public class ContentIndexingOperations {
      */
     public Deferred<SuggestIndexResponse>.Promise indexFromDocument(final ContentIndexingContext ctx, final Supplier<DocumentReader> reader,
             final int docPerReq, final Runnable waitController) {
+        return indexFromDocument(ctx, reader, IndexingThrottle.fixed(docPerReq, waitController));
+    }
+
+    /**
+     * Indexes documents from a DocumentReader asynchronously, with batch size and pauses controlled by a throttle.
+     *
+     * @param ctx The content indexing context
+     * @param reader The supplier for DocumentReader
+     * @param throttle The throttle controlling batch size and pauses between batches
+     * @return A Promise that will be resolved with the SuggestIndexResponse
+     */
+    public Deferred<SuggestIndexResponse>.Promise indexFromDocument(final ContentIndexingContext ctx, final Supplier<DocumentReader> reader,
+            final IndexingThrottle throttle) {
         final String index = ctx.getIndex();
         if (logger.isInfoEnabled()) {
-            logger.info("Starting indexing from DocumentReader: index={}, docsPerRequest={}", index, docPerReq);
+            logger.info("Starting indexing from DocumentReader: index={}, docsPerRequest={}", index, throttle.getBatchSize());
         }
         final Deferred<SuggestIndexResponse> deferred = new Deferred<>();
         threadPool.execute(() -> {
@@ -327,27 +409,36 @@ public class ContentIndexingOperations {
             int numberOfInputDocs = 0;
 
             final List<Throwable> errors = new ArrayList<>();
-            final List<Map<String, Object>> docs = new ArrayList<>(docPerReq);
+            final List<Map<String, Object>> docs = new ArrayList<>();
             try (final DocumentReader documentReader = reader.get()) {
-                Map<String, Object> doc = documentReader.read();
-                while (doc != null) {
+                boolean interrupted = false;
+                Map<String, Object> doc;
+                while ((doc = documentReader.read()) != null) {
                     if (Thread.currentThread().isInterrupted()) {
+                        interrupted = true;
                         break;
                     }
                     docs.add(doc);
-                    doc = documentReader.read();
-                    if (doc == null || docs.size() >= docPerReq) {
-                        @SuppressWarnings("unchecked")
-                        final SuggestIndexResponse res = indexFromDocument(ctx, docs.toArray(new Map[docs.size()]));
+                    if (docs.size() >= throttle.getBatchSize()) {
+                        final SuggestIndexResponse res =
+                                indexWithThrottle(throttle, docs.size(), () -> indexDocumentBatch(ctx, documentReader, docs));
                         errors.addAll(res.getErrors());
                         numberOfSuggestDocs += res.getNumberOfSuggestDocs();
                         numberOfInputDocs += res.getNumberOfInputDocs();
-                        client.admin().indices().prepareRefresh(index).execute().actionGet(settings.getIndicesTimeout());
-                        docs.clear();
 
-                        waitController.run();
+                        throttle.await();
                     }
                 }
+                if (!interrupted && !docs.isEmpty()) {
+                    final SuggestIndexResponse res =
+                            indexWithThrottle(throttle, docs.size(), () -> indexDocumentBatch(ctx, documentReader, docs));
+                    errors.addAll(res.getErrors());
+                    numberOfSuggestDocs += res.getNumberOfSuggestDocs();
+                    numberOfInputDocs += res.getNumberOfInputDocs();
+                }
+                if (!interrupted) {
+                    documentReader.complete();
+                }
 
                 deferred.resolve(
                         new SuggestIndexResponse(numberOfSuggestDocs, numberOfInputDocs, errors, System.currentTimeMillis() - start));
@@ -358,6 +449,36 @@ public class ContentIndexingOperations {
         return deferred.promise();
     }
 
+    /**
+     * Runs a batch and reports the result, or the failure, to the throttle.
+     * A failed batch is not run again: rejected writes are retried by the writer only,
+     * and the throttle adjusts the rate of the following batches.
+     */
+    private SuggestIndexResponse indexWithThrottle(final IndexingThrottle throttle, final int size,
+            final Supplier<SuggestIndexResponse> batch) {
+        try {
+            final SuggestIndexResponse res = batch.get();
+            throttle.onBatch(size, res.getTook(), res.getErrors());
+            return res;
+        } catch (final RuntimeException e) {
+            throttle.onFailure(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Indexes a batch of documents read from a reader, refreshes the index and checkpoints the reader.
+     */
+    private SuggestIndexResponse indexDocumentBatch(final ContentIndexingContext ctx, final DocumentReader documentReader,
+            final List<Map<String, Object>> docs) {
+        @SuppressWarnings("unchecked")
+        final SuggestIndexResponse res = indexFromDocument(ctx, docs.toArray(new Map[docs.size()]));
+        client.admin().indices().prepareRefresh(ctx.getIndex()).execute().actionGet(settings.getIndicesTimeout());
+        documentReader.checkpoint();
+        docs.clear();
+        return res;
+    }
+
     /**
      * Indexes documents from a DocumentReader asynchronously.
      *
@@ -417,7 +538,7 @@ public class ContentIndexingOperations {
                 return new SuggestIndexResponse(0, 1, null, System.currentTimeMillis() - start);
             }
             final long parseTime = System.currentTimeMillis();
-            final SuggestIndexResponse response = indexingOps.index(index, item, badWords);
+            final SuggestIndexResponse response = queryIndexingOps.index(index, item, badWords);
             final long indexTime = System.currentTimeMillis();
             if (logger.isInfoEnabled()) {
                 printProcessingInfo("queries", 1, new SuggestItem[] { item }, parseTime - start, indexTime - parseTime);
@@ -436,9 +557,33 @@ public class ContentIndexingOperations {
 
     /**
      * Prints processing information for logging.
+     *
+     * @param type The type of the processed inputs
+     * @param size The number of inputs
+     * @param items The created items
+     * @param parseTime The parse time in milliseconds
+     * @param indexTime The index time in milliseconds
      */
     private void printProcessingInfo(final String type, final int size, final SuggestItem[] items, final long parseTime,
             final long indexTime) {
+        printProcessingInfo(type, size, items.length, parseTime, indexTime);
+        if (logger.isDebugEnabled()) {
+            for (final SuggestItem item : items) {
+                logger.debug("[{}] {}", type, item.toJsonString());
+            }
+        }
+    }
+
+    /**
+     * Prints processing information for logging.
+     *
+     * @param type The type of the processed inputs
+     * @param size The number of inputs
+     * @param itemCount The number of created items
+     * @param parseTime The parse time in milliseconds
+     * @param indexTime The index time in milliseconds
+     */
+    private void printProcessingInfo(final String type, final int size, final int itemCount, final long parseTime, final long indexTime) {
         final double cpuLoad;
         if (ManagementFactory.getOperatingSystemMXBean() instanceof final com.sun.management.OperatingSystemMXBean operatingSystemMXBean) {
             cpuLoad = operatingSystemMXBean.getProcessCpuLoad();
@@ -449,14 +594,8 @@ public class ContentIndexingOperations {
         final long freeMemory = Runtime.getRuntime().freeMemory();
         final String msg = String.format(
                 "%d words from %d %s: {\"time\":{\"parse\":%d,\"index\":%d},\"cpu\":%f,\"mem\":{\"heap\":\"%dmb\",\"used\":\"%dmb\"}}",
-                items.length, size, type, parseTime, indexTime, cpuLoad, maxMemory / (1024 * 1024),
-                (maxMemory - freeMemory) / (1024 * 1024));
+                itemCount, size, type, parseTime, indexTime, cpuLoad, maxMemory / (1024 * 1024), (maxMemory - freeMemory) / (1024 * 1024));
         logger.info(msg);
-        if (logger.isDebugEnabled()) {
-            for (final SuggestItem item : items) {
-                logger.debug("[{}] {}", type, item.toJsonString());
-            }
-        }
     }
 
     /**
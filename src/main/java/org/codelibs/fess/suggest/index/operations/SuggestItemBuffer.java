@@ -0,0 +1,112 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.fess.suggest.index.operations;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.codelibs.fess.suggest.entity.SuggestItem;
+
+/**
+ * Bounded buffer that merges suggest items with the same ID and hands them to a flusher
+ * once the number of distinct items reaches the capacity.
+ *
+ * <p>Documents repeat the same words many times, so merging on arrival keeps the buffer much smaller
+ * than the stream of items, and the capacity keeps it bounded regardless of the number and size of documents.
+ * Items can be accepted from several threads.</p>
+ *
+ * <p>A full buffer is swapped for an empty one under the buffer lock and written outside it, so other threads
+ * keep accepting items while a write is in progress. Writes are serialized by a separate lock because the
+ * flusher merges items with their stored documents, and two concurrent writes of the same ID would lose an update.</p>
+ */
+public class SuggestItemBuffer implements Consumer<SuggestItem> {
+
+    /** Maximum number of distinct items held before flushing. */
+    protected final int capacity;
+
+    /** Consumer receiving the merged items on flush. */
+    protected final Consumer<SuggestItem[]> flusher;
+
+    /** Lock serializing calls to the flusher. */
+    protected final Object flushLock = new Object();
+
+    /** Merged items by ID. */
+    protected Map<String, SuggestItem> items = new LinkedHashMap<>();
+
+    /** Number of items accepted before merging. */
+    protected long acceptedCount;
+
+    /**
+     * Constructor.
+     *
+     * @param capacity Maximum number of distinct items held before flushing
+     * @param flusher Consumer receiving the merged items
+     */
+    public SuggestItemBuffer(final int capacity, final Consumer<SuggestItem[]> flusher) {
+        this.capacity = capacity > 0 ? capacity : 1;
+        this.flusher = flusher;
+    }
+
+    @Override
+    public void accept(final SuggestItem item) {
+        final SuggestItem[] merged;
+        synchronized (this) {
+            acceptedCount++;
+            items.merge(item.getId(), item, SuggestItem::merge);
+            if (items.size() < capacity) {
+                return;
+            }
+            merged = drain();
+        }
+        write(merged);
+    }
+
+    /**
+     * Hands the buffered items to the flusher and clears the buffer.
+     */
+    public void flush() {
+        final SuggestItem[] merged;
+        synchronized (this) {
+            if (items.isEmpty()) {
+                return;
+            }
+            merged = drain();
+        }
+        write(merged);
+    }
+
+    /**
+     * Returns the number of items accepted before merging.
+     *
+     * @return The accepted item count
+     */
+    public synchronized long getAcceptedCount() {
+        return acceptedCount;
+    }
+
+    private SuggestItem[] drain() {
+        final SuggestItem[] merged = items.values().toArray(new SuggestItem[items.size()]);
+        items = new LinkedHashMap<>();
+        return merged;
+    }
+
+    private void write(final SuggestItem[] merged) {
+        synchronized (flushLock) {
+            flusher.accept(merged);
+        }
+    }
+}
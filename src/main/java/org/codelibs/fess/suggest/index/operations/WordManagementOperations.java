@@ -16,7 +16,10 @@
 package org.codelibs.fess.suggest.index.operations;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -133,6 +136,8 @@ public class WordManagementOperations {
 
     /**
      * Restores elevate words.
+     * Each distinct word and reading is normalized once, only elevate words whose normalized form differs
+     * from the stored one are written back to the settings, and all suggest items are indexed in one batch.
      *
      * @param index The index name
      * @return The SuggestIndexResponse
@@ -142,17 +147,38 @@ public class WordManagementOperations {
             logger.info("Restoring elevate words: index={}", index);
         }
         final long start = System.currentTimeMillis();
-        int numberOfSuggestDocs = 0;
-        int numberOfInputDocs = 0;
 
         final ElevateWord[] elevateWords = settings.elevateWord().get();
-        final List<Throwable> errors = new ArrayList<>(elevateWords.length);
+        final Map<String, String> normalizedCache = new HashMap<>();
+        final Function<String, String> normalize = text -> normalizedCache.computeIfAbsent(text, t -> normalizer.normalize(t, ""));
+        final List<ElevateWord> changed = new ArrayList<>();
+        final List<SuggestItem> items = new ArrayList<>(elevateWords.length);
         for (final ElevateWord elevateWord : elevateWords) {
-            final SuggestIndexResponse res = addElevateWord(index, elevateWord, true);
-            numberOfSuggestDocs += res.getNumberOfSuggestDocs();
-            numberOfInputDocs += res.getNumberOfInputDocs();
-            errors.addAll(res.getErrors());
+            if (elevateWord == null) {
+                continue;
+            }
+            final String normalizedWord = normalize.apply(elevateWord.getElevateWord());
+            final List<String> normalizedReadings = elevateWord.getReadings().stream().map(normalize).collect(Collectors.toList());
+            final ElevateWord normalized = new ElevateWord(normalizedWord, elevateWord.getBoost(), normalizedReadings,
+                    elevateWord.getFields(), elevateWord.getTags(), elevateWord.getRoles());
+            if (!normalizedWord.equals(elevateWord.getElevateWord()) || !normalizedReadings.equals(elevateWord.getReadings())) {
+                changed.add(normalized);
+            }
+            items.add(normalized.toSuggestItem());
         }
-        return new SuggestIndexResponse(numberOfSuggestDocs, numberOfInputDocs, errors, System.currentTimeMillis() - start);
+
+        if (!changed.isEmpty()) {
+            settings.elevateWord().addAll(changed);
+        }
+        if (items.isEmpty()) {
+            return new SuggestIndexResponse(0, 0, null, System.currentTimeMillis() - start);
+        }
+        final SuggestIndexResponse response = indexingOps.index(index, items.toArray(new SuggestItem[items.size()]), badWordsSupplier.get());
+        if (logger.isInfoEnabled()) {
+            logger.info("Restored elevate words: index={}, words={}, updatedSettings={}, took={}ms", index, items.size(), changed.size(),
+                    System.currentTimeMillis() - start);
+        }
+        return new SuggestIndexResponse(response.getNumberOfSuggestDocs(), response.getNumberOfInputDocs(), response.getErrors(),
+                System.currentTimeMillis() - start);
     }
 }
@@ -0,0 +1,286 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.fess.suggest.index.throttle;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.codelibs.fess.suggest.settings.SuggestSettings;
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.action.admin.cluster.node.stats.NodeStats;
+import org.opensearch.action.admin.cluster.node.stats.NodesStatsResponse;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.transport.client.Client;
+
+/**
+ * {@link IndexingThrottle} that adapts the batch size and the pause between batches to the cluster load.
+ *
+ * <p>The controller follows additive-increase/multiplicative-decrease:
+ * <ul>
+ * <li>A healthy batch grows the batch size by {@code increaseStep} and halves the delay.</li>
+ * <li>A batch whose per-document time exceeds {@code latencyFactor} times the observed baseline
+ * keeps the batch size and adds {@code delayStep} to the delay.</li>
+ * <li>Rejections (HTTP 429, rejected execution) and cluster CPU above {@code maxCpuPercent}
+ * halve the batch size and double the delay.</li>
+ * </ul>
+ * Cluster CPU is read from node stats at most once per {@code cpuCheckInterval} when a client is given.
+ * The throttle never resubmits a batch; rejected writes are retried by the writer, and the rejections
+ * it reports only slow the following batches down.
+ */
+public class AdaptiveIndexingThrottle implements IndexingThrottle {
+    private static final Logger logger = LogManager.getLogger(AdaptiveIndexingThrottle.class);
+
+    /** OpenSearch client for node stats, or null. */
+    protected final Client client;
+    /** Suggest settings for timeouts, or null. */
+    protected final SuggestSettings settings;
+
+    /** Minimum batch size. */
+    protected int minBatchSize = 10;
+    /** Maximum batch size. */
+    protected int maxBatchSize = 1000;
+    /** Batch size increase per healthy batch. */
+    protected int increaseStep = 10;
+    /** Maximum delay in milliseconds. */
+    protected long maxDelay = 60000L;
+    /** Delay increase in milliseconds for a slow batch. */
+    protected long delayStep = 100L;
+    /** Ratio of per-document time to baseline at which a batch counts as slow. */
+    protected double latencyFactor = 2.0;
+    /** CPU percent at which the cluster counts as busy. */
+    protected int maxCpuPercent = 80;
+    /** Interval in milliseconds between node stats requests. */
+    protected long cpuCheckInterval = 10000L;
+
+    /** Current batch size. */
+    protected int batchSize;
+    /** Current delay in milliseconds. */
+    protected long delay = 0L;
+    /** Baseline per-document time in milliseconds. */
+    protected double baselineLatency = -1;
+    /** Last observed cluster CPU percent. */
+    protected int cpuPercent = -1;
+    /** Time of the last node stats request. */
+    protected long lastCpuCheckTime = 0L;
+
+    /**
+     * Constructor without cluster CPU monitoring.
+     * @param initialBatchSize The initial batch size.
+     */
+    public AdaptiveIndexingThrottle(final int initialBatchSize) {
+        this(null, null, initialBatchSize);
+    }
+
+    /**
+     * Constructor with cluster CPU monitoring.
+     * @param client The OpenSearch client, or null to disable CPU monitoring.
+     * @param settings The suggest settings.
+     * @param initialBatchSize The initial batch size.
+     */
+    public AdaptiveIndexingThrottle(final Client client, final SuggestSettings settings, final int initialBatchSize) {
+        this.client = client;
+        this.settings = settings;
+        batchSize = initialBatchSize;
+    }
+
+    @Override
+    public synchronized int getBatchSize() {
+        return Math.max(minBatchSize, Math.min(maxBatchSize, batchSize));
+    }
+
+    @Override
+    public synchronized void onBatch(final int size, final long took, final List<Throwable> errors) {
+        if (errors != null && errors.stream().anyMatch(AdaptiveIndexingThrottle::isRejection)) {
+            decrease("rejected");
+            return;
+        }
+        if (isClusterBusy()) {
+            decrease("cpu=" + cpuPercent);
+            return;
+        }
+
+        final double latency = size > 0 ? (double) took / size : took;
+        if (baselineLatency < 0 || latency < baselineLatency) {
+            baselineLatency = latency;
+        } else {
+            // let the baseline follow slowly so a permanent change is not treated as overload forever
+            baselineLatency += (latency - baselineLatency) * 0.01;
+        }
+
+        if (latency > baselineLatency * latencyFactor) {
+            delay = Math.min(maxDelay, delay + delayStep);
+        } else {
+            batchSize = Math.min(maxBatchSize, getBatchSize() + increaseStep);
+            delay /= 2;
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Throttle updated: latency={}ms/doc, baseline={}ms/doc, batchSize={}, delay={}ms",
+                    String.format(Locale.ROOT, "%.2f", latency), String.format(Locale.ROOT, "%.2f", baselineLatency), batchSize, delay);
+        }
+    }
+
+    @Override
+    public synchronized void onFailure(final Throwable t) {
+        if (isRejection(t)) {
+            decrease("rejected");
+        }
+    }
+
+    @Override
+    public void await() throws InterruptedException {
+        final long current;
+        synchronized (this) {
+            current = delay;
+        }
+        if (current > 0) {
+            Thread.sleep(current);
+        }
+    }
+
+    /**
+     * Halves the batch size and doubles the delay.
+     * @param reason The reason for logging.
+     */
+    protected void decrease(final String reason) {
+        batchSize = Math.max(minBatchSize, getBatchSize() / 2);
+        delay = Math.min(maxDelay, Math.max(delayStep, delay * 2));
+        if (logger.isInfoEnabled()) {
+            logger.info("Backing off indexing: reason={}, batchSize={}, delay={}ms", reason, batchSize, delay);
+        }
+    }
+
+    /**
+     * Checks if any node is above {@code maxCpuPercent}, refreshing node stats when the check interval has passed.
+     * @return True if the cluster is busy.
+     */
+    protected boolean isClusterBusy() {
+        if (client == null || settings == null) {
+            return false;
+        }
+        final long now = System.currentTimeMillis();
+        if (now - lastCpuCheckTime >= cpuCheckInterval) {
+            lastCpuCheckTime = now;
+            try {
+                final NodesStatsResponse response =
+                        client.admin().cluster().prepareNodesStats().clear().setOs(true).execute().actionGet(settings.getClusterTimeout());
+                int max = -1;
+                for (final NodeStats nodeStats : response.getNodes()) {
+                    if (nodeStats.getOs() != null && nodeStats.getOs().getCpu() != null) {
+                        max = Math.max(max, nodeStats.getOs().getCpu().getPercent());
+                    }
+                }
+                cpuPercent = max;
+            } catch (final Exception e) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Failed to get node stats.", e);
+                }
+                cpuPercent = -1;
+            }
+        }
+        return cpuPercent >= maxCpuPercent;
+    }
+
+    /**
+     * Checks if the throwable, or any of its causes, is a rejection by the cluster.
+     * @param t The throwable.
+     * @return True for rejected execution, such as {@code OpenSearchRejectedExecutionException}, and HTTP 429.
+     */
+    public static boolean isRejection(final Throwable t) {
+        Throwable cause = t;
+        for (int i = 0; cause != null && i < 10; i++) {
+            if (cause instanceof RejectedExecutionException || ExceptionsHelper.status(cause) == RestStatus.TOO_MANY_REQUESTS) {
+                return true;
+            }
+            cause = cause.getCause();
+        }
+        return false;
+    }
+
+    /**
+     * Sets the minimum batch size.
+     * @param minBatchSize The minimum batch size.
+     */
+    public void setMinBatchSize(final int minBatchSize) {
+        this.minBatchSize = minBatchSize;
+    }
+
+    /**
+     * Sets the maximum batch size.
+     * @param maxBatchSize The maximum batch size.
+     */
+    public void setMaxBatchSize(final int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Sets the batch size increase per healthy batch.
+     * @param increaseStep The increase step.
+     */
+    public void setIncreaseStep(final int increaseStep) {
+        this.increaseStep = increaseStep;
+    }
+
+    /**
+     * Sets the maximum delay.
+     * @param maxDelay The maximum delay in milliseconds.
+     */
+    public void setMaxDelay(final long maxDelay) {
+        this.maxDelay = maxDelay;
+    }
+
+    /**
+     * Sets the delay increase for a slow batch.
+     * @param delayStep The delay step in milliseconds.
+     */
+    public void setDelayStep(final long delayStep) {
+        this.delayStep = delayStep;
+    }
+
+    /**
+     * Sets the ratio of per-document time to baseline at which a batch counts as slow.
+     * @param latencyFactor The latency factor.
+     */
+    public void setLatencyFactor(final double latencyFactor) {
+        this.latencyFactor = latencyFactor;
+    }
+
+    /**
+     * Sets the CPU percent at which the cluster counts as busy.
+     * @param maxCpuPercent The CPU percent.
+     */
+    public void setMaxCpuPercent(final int maxCpuPercent) {
+        this.maxCpuPercent = maxCpuPercent;
+    }
+
+    /**
+     * Sets the interval between node stats requests.
+     * @param cpuCheckInterval The interval in milliseconds.
+     */
+    public void setCpuCheckInterval(final long cpuCheckInterval) {
+        this.cpuCheckInterval = cpuCheckInterval;
+    }
+
+    /**
+     * Returns the current delay.
+     * @return The delay in milliseconds.
+     */
+    public synchronized long getDelay() {
+        return delay;
+    }
+}
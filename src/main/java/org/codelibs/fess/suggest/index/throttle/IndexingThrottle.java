@@ -0,0 +1,118 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.fess.suggest.index.throttle;
+
+import java.util.List;
+
+/**
+ * Controls the batch size and the pause between batches of a long-running indexing job,
+ * such as {@code indexFromQueryLog} or {@code indexFromDocument} with a reader.
+ */
+public interface IndexingThrottle {
+    /**
+     * Returns the number of input documents to put into the next batch.
+     *
+     * @return the batch size.
+     */
+    int getBatchSize();
+
+    /**
+     * Called after a batch has been indexed.
+     *
+     * @param size the number of input documents in the batch.
+     * @param took the time taken for the batch in milliseconds, including analysis and bulk writing.
+     * @param errors the errors reported for the batch.
+     */
+    void onBatch(int size, long took, List<Throwable> errors);
+
+    /**
+     * Called when a batch fails with an exception, before the job is aborted.
+     * The batch is not resubmitted: rejected writes are retried by the writer,
+     * so the throttle only adjusts the rate.
+     *
+     * @param t the exception.
+     */
+    void onFailure(Throwable t);
+
+    /**
+     * Waits before the next batch.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     */
+    void await() throws InterruptedException;
+
+    /**
+     * Creates a throttle with a fixed batch size that runs the given controller between batches.
+     *
+     * @param batchSize the batch size.
+     * @param waitController the runnable to run between batches.
+     * @return the throttle.
+     */
+    static IndexingThrottle fixed(final int batchSize, final Runnable waitController) {
+        return new IndexingThrottle() {
+            @Override
+            public int getBatchSize() {
+                return batchSize;
+            }
+
+            @Override
+            public void onBatch(final int size, final long took, final List<Throwable> errors) {
+                // nothing
+            }
+
+            @Override
+            public void onFailure(final Throwable t) {
+                // nothing
+            }
+
+            @Override
+            public void await() {
+                waitController.run();
+            }
+        };
+    }
+
+    /**
+     * Creates a throttle with a fixed batch size and a fixed interval between batches.
+     *
+     * @param batchSize the batch size.
+     * @param interval the interval in milliseconds.
+     * @return the throttle.
+     */
+    static IndexingThrottle fixed(final int batchSize, final long interval) {
+        return new IndexingThrottle() {
+            @Override
+            public int getBatchSize() {
+                return batchSize;
+            }
+
+            @Override
+            public void onBatch(final int size, final long took, final List<Throwable> errors) {
+                // nothing
+            }
+
+            @Override
+            public void onFailure(final Throwable t) {
+                // nothing
+            }
+
+            @Override
+            public void await() throws InterruptedException {
+                Thread.sleep(interval);
+            }
+        };
+    }
+}
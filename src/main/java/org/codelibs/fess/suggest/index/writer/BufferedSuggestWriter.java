@@ -0,0 +1,347 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.fess.suggest.index.writer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.codelibs.fess.suggest.entity.SuggestItem;
+import org.codelibs.fess.suggest.settings.SuggestSettings;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.transport.client.Client;
+
+/**
+ * BufferedSuggestWriter is a write-behind {@link SuggestWriter} that aggregates updates per suggest ID
+ * and writes them through a delegate writer in one merged bulk.
+ *
+ * <p>Items written with {@code update=true} are merged into an in-memory buffer and acknowledged immediately.
+ * The buffer is flushed every {@code flushInterval} milliseconds, when it holds {@code maxBufferSize} distinct IDs
+ * (in the calling thread, which bounds memory), before any delete, and on {@link #close()}.
+ * Items written with {@code update=false} bypass the buffer.</p>
+ *
+ * <p>A frequently repeated query therefore costs one update per flush window instead of one per call.</p>
+ *
+ * <p>Items that fail with a retryable error, such as a rejection, are put back into the buffer and retried by
+ * the next flush. Items that fail permanently, such as with a mapping error, and failures without item IDs
+ * are logged and dropped, so they are not written again forever.</p>
+ *
+ * <p>If a {@link SuggestWriteJournal} is given, buffered items are appended to it before they are acknowledged,
+ * and the journal is reset to the still-buffered items after each flush that did not throw.
+ * {@link #recover(Client, SuggestSettings)} replays the journal left by a crashed process into the buffer.
+ * The journal is not transactional with the index: after a crash between a write and the next journal reset,
+ * the written items are replayed and their frequencies are counted twice.</p>
+ */
+public class BufferedSuggestWriter implements SuggestWriter, Closeable {
+    private static final Logger logger = LogManager.getLogger(BufferedSuggestWriter.class);
+
+    /** The writer that performs the actual writes. */
+    protected final SuggestWriter delegate;
+    /** Maximum number of distinct IDs held before flushing. */
+    protected final int maxBufferSize;
+    /** Buffered items per index, keyed by suggest ID. */
+    protected final Map<String, Map<String, SuggestItem>> buffers = new ConcurrentHashMap<>();
+    /** Number of buffered IDs. */
+    protected final AtomicInteger bufferedCount = new AtomicInteger();
+    /** Scheduler for periodic flushes. */
+    protected final ScheduledExecutorService scheduler;
+    /** The journal of buffered items, or null. */
+    protected final SuggestWriteJournal journal;
+    /** Lock shared by writes and held exclusively while the buffer is taken or the journal is reset. */
+    protected final ReadWriteLock bufferLock = new ReentrantReadWriteLock();
+    /** Lock serializing flushes. */
+    protected final ReentrantLock flushLock = new ReentrantLock();
+
+    /** The client used for flushes. */
+    protected volatile Client client;
+    /** The settings used for flushes. */
+    protected volatile SuggestSettings settings;
+    /** Flag indicating if the writer is closed. */
+    protected volatile boolean closed = false;
+
+    /**
+     * Constructs a new {@link BufferedSuggestWriter}.
+     * @param delegate The writer that performs the actual writes.
+     * @param flushInterval The flush interval in milliseconds.
+     * @param maxBufferSize The maximum number of distinct IDs held before flushing.
+     */
+    public BufferedSuggestWriter(final SuggestWriter delegate, final long flushInterval, final int maxBufferSize) {
+        this(delegate, flushInterval, maxBufferSize, null);
+    }
+
+    /**
+     * Constructs a new {@link BufferedSuggestWriter} with a journal.
+     * @param delegate The writer that performs the actual writes.
+     * @param flushInterval The flush interval in milliseconds.
+     * @param maxBufferSize The maximum number of distinct IDs held before flushing.
+     * @param journal The journal of buffered items, or null.
+     */
+    public BufferedSuggestWriter(final SuggestWriter delegate, final long flushInterval, final int maxBufferSize,
+            final SuggestWriteJournal journal) {
+        this.delegate = delegate;
+        this.journal = journal;
+        this.maxBufferSize = maxBufferSize;
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread thread = new Thread(r, "BufferedSuggestWriter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (final Exception e) {
+                logger.warn("Failed to flush buffered suggest items.", e);
+            }
+        }, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public SuggestWriterResult write(final Client client, final SuggestSettings settings, final String index, final SuggestItem[] items,
+            final boolean update) {
+        if (!update || closed) {
+            flush(index);
+            return delegate.write(client, settings, index, items, update);
+        }
+
+        this.client = client;
+        this.settings = settings;
+        bufferLock.readLock().lock();
+        try {
+            if (journal != null) {
+                journal.append(index, items);
+            }
+            for (final SuggestItem item : items) {
+                addToBuffer(index, item);
+            }
+        } finally {
+            bufferLock.readLock().unlock();
+        }
+
+        if (bufferedCount.get() >= maxBufferSize) {
+            return flush();
+        }
+        return new SuggestWriterResult();
+    }
+
+    @Override
+    public SuggestWriterResult delete(final Client client, final SuggestSettings settings, final String index, final String id) {
+        flush(index);
+        return delegate.delete(client, settings, index, id);
+    }
+
+    @Override
+    public SuggestWriterResult deleteByQuery(final Client client, final SuggestSettings settings, final String index,
+            final QueryBuilder queryBuilder) {
+        flush(index);
+        return delegate.deleteByQuery(client, settings, index, queryBuilder);
+    }
+
+    /**
+     * Replays the journal into the buffer. The replayed items are written by the next flush, so this method
+     * does not access the index and can be called before the index exists.
+     * @param client The client used for flushes.
+     * @param settings The settings used for flushes.
+     * @return The number of replayed items.
+     */
+    public int recover(final Client client, final SuggestSettings settings) {
+        this.client = client;
+        this.settings = settings;
+        if (journal == null) {
+            return 0;
+        }
+        bufferLock.writeLock().lock();
+        try {
+            return journal.replay(this::addToBuffer);
+        } finally {
+            bufferLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Writes all buffered items.
+     * @return The result of the writes.
+     */
+    public SuggestWriterResult flush() {
+        final SuggestWriterResult result = new SuggestWriterResult();
+        flushLock.lock();
+        try {
+            for (final String index : buffers.keySet()) {
+                flush(index).getFailures().forEach(result::addFailure);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+        return result;
+    }
+
+    /**
+     * Merges an item into the buffer of an index.
+     * @param index The index name.
+     * @param item The item.
+     */
+    protected void addToBuffer(final String index, final SuggestItem item) {
+        buffers.computeIfAbsent(index, k -> new ConcurrentHashMap<>()).merge(item.getId(), item, (oldItem, newItem) -> {
+            bufferedCount.decrementAndGet();
+            return SuggestItem.merge(oldItem, newItem);
+        });
+        bufferedCount.incrementAndGet();
+    }
+
+    /**
+     * Writes the buffered items of an index.
+     * @param index The index name.
+     * @return The result of the write.
+     */
+    protected SuggestWriterResult flush(final String index) {
+        final Map<String, SuggestItem> buffer = buffers.get(index);
+        if (buffer == null || buffer.isEmpty()) {
+            return new SuggestWriterResult();
+        }
+
+        flushLock.lock();
+        try {
+            final List<SuggestItem> items = new ArrayList<>(buffer.size());
+            bufferLock.writeLock().lock();
+            try {
+                for (final String id : buffer.keySet()) {
+                    final SuggestItem item = buffer.remove(id);
+                    if (item != null) {
+                        items.add(item);
+                        bufferedCount.decrementAndGet();
+                    }
+                }
+            } finally {
+                bufferLock.writeLock().unlock();
+            }
+            if (items.isEmpty()) {
+                return new SuggestWriterResult();
+            }
+
+            if (logger.isDebugEnabled()) {
+                logger.debug("Flushing buffered suggest items: index={}, items={}", index, items.size());
+            }
+            final SuggestWriterResult result;
+            try {
+                result = delegate.write(client, settings, index, items.toArray(new SuggestItem[items.size()]), true);
+            } catch (final RuntimeException e) {
+                // nothing has been written, so all items are kept for the next flush
+                requeue(index, items);
+                throw e;
+            }
+            if (result.hasFailure()) {
+                final Set<String> retryableIds = new HashSet<>(result.getRetryableIds());
+                final List<SuggestItem> retryItems = items.stream().filter(item -> retryableIds.contains(item.getId())).toList();
+                logger.warn("Failed to write {} of {} buffered suggest items: index={}, requeued={}, dropped={}",
+                        result.getFailures().size(), items.size(), index, retryItems.size(),
+                        result.getFailures().size() - retryItems.size());
+                if (logger.isDebugEnabled()) {
+                    result.getFailures().forEach(t -> logger.debug("Failed to write a buffered suggest item: index={}", index, t));
+                }
+                requeue(index, retryItems);
+            }
+            // the journal keeps only the requeued items, so permanent failures are not replayed
+            resetJournal();
+            return result;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Puts items that were not written back into the buffer of an index.
+     * They are already in the journal, so they are not appended again.
+     * @param index The index name.
+     * @param items The items.
+     */
+    protected void requeue(final String index, final List<SuggestItem> items) {
+        bufferLock.readLock().lock();
+        try {
+            for (final SuggestItem item : items) {
+                addToBuffer(index, item);
+            }
+        } finally {
+            bufferLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Truncates the journal and appends the items that are still buffered,
+     * so that the journal holds exactly the unwritten items.
+     */
+    protected void resetJournal() {
+        if (journal == null) {
+            return;
+        }
+        bufferLock.writeLock().lock();
+        try {
+            journal.truncate();
+            buffers.forEach((index, buffer) -> {
+                if (!buffer.isEmpty()) {
+                    journal.append(index, buffer.values().toArray(new SuggestItem[0]));
+                }
+            });
+        } finally {
+            bufferLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of buffered IDs.
+     * @return The number of buffered IDs.
+     */
+    public int getBufferedCount() {
+        return bufferedCount.get();
+    }
+
+    /**
+     * Stops periodic flushes and writes all buffered items.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (final IOException e) {
+                logger.warn("Failed to close journal.", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.fess.suggest.index.writer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.codelibs.fess.suggest.exception.SuggestIndexException;
+import org.codelibs.fess.suggest.settings.SuggestSettings;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.common.xcontent.json.JsonXContent;
+import org.opensearch.core.xcontent.DeprecationHandler;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.transport.client.Client;
+
+/**
+ * SuggestBulkFileLoader loads files written by {@link SuggestBulkFileWriter} into OpenSearch.
+ *
+ * <p>The file is read line by line and cut into chunks of {@code bulkSize} actions,
+ * which are sent as bulk requests by up to {@code parallelism} threads.
+ * Gzip-compressed files are detected automatically. The reader blocks while all threads are busy,
+ * so memory use is bounded by {@code parallelism + 1} chunks, and only the futures of running requests are kept.
+ * The action name of each action line is parsed to know whether a source line follows.</p>
+ *
+ * <p>Chunks may be applied out of order when {@code parallelism} is greater than 1.
+ * Files with several actions for the same ID, such as an index followed by a delete,
+ * should be loaded with a parallelism of 1.</p>
+ *
+ * <p><b>Usage:</b></p>
+ * <pre>
+ * {@code
+ * SuggestBulkFileLoader loader = new SuggestBulkFileLoader(client, settings);
+ * loader.setParallelism(4);
+ * SuggestWriterResult result = loader.load(Paths.get("suggest.ndjson.gz"));
+ * }
+ * </pre>
+ */
+public class SuggestBulkFileLoader {
+    private static final Logger logger = LogManager.getLogger(SuggestBulkFileLoader.class);
+
+    /** The OpenSearch client. */
+    protected final Client client;
+    /** The suggest settings. */
+    protected final SuggestSettings settings;
+    /** Number of actions per bulk request. */
+    protected int bulkSize = 1000;
+    /** Number of concurrent bulk requests. */
+    protected int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Constructs a new {@link SuggestBulkFileLoader}.
+     * @param client The OpenSearch client.
+     * @param settings The suggest settings.
+     */
+    public SuggestBulkFileLoader(final Client client, final SuggestSettings settings) {
+        this.client = client;
+        this.settings = settings;
+    }
+
+    /**
+     * Sets the number of actions per bulk request.
+     * @param bulkSize The number of actions.
+     */
+    public void setBulkSize(final int bulkSize) {
+        this.bulkSize = bulkSize;
+    }
+
+    /**
+     * Sets the number of concurrent bulk requests.
+     * @param parallelism The number of concurrent requests.
+     */
+    public void setParallelism(final int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Loads a bulk file.
+     * @param path The bulk file path.
+     * @return The result, containing a failure for each failed item.
+     */
+    public SuggestWriterResult load(final Path path) {
+        final long start = System.currentTimeMillis();
+        final SuggestWriterResult result = new SuggestWriterResult();
+        final AtomicLong actionCount = new AtomicLong();
+        final int threads = parallelism > 0 ? parallelism : 1;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final Semaphore semaphore = new Semaphore(threads);
+        final List<Future<?>> futures = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(openStream(path), StandardCharsets.UTF_8))) {
+            ByteArrayOutputStream chunk = new ByteArrayOutputStream(bulkSize * 256);
+            int chunkActions = 0;
+            boolean expectSource = false;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                chunk.write(line.getBytes(StandardCharsets.UTF_8));
+                chunk.write('\n');
+                if (expectSource) {
+                    expectSource = false;
+                } else {
+                    chunkActions++;
+                    expectSource = !"delete".equals(parseAction(line));
+                }
+
+                if (!expectSource && chunkActions >= bulkSize) {
+                    removeDone(futures);
+                    futures.add(submit(executor, semaphore, chunk.toByteArray(), result));
+                    actionCount.addAndGet(chunkActions);
+                    chunk = new ByteArrayOutputStream(bulkSize * 256);
+                    chunkActions = 0;
+                }
+            }
+            if (chunkActions > 0) {
+                futures.add(submit(executor, semaphore, chunk.toByteArray(), result));
+                actionCount.addAndGet(chunkActions);
+            }
+
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } catch (final IOException | ExecutionException e) {
+            throw new SuggestIndexException("Failed to load bulk file: " + path, e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SuggestIndexException("Interrupted while loading bulk file: " + path, e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        if (logger.isInfoEnabled()) {
+            logger.info("Loaded bulk file: path={}, actions={}, failures={}, took={}ms", path, actionCount.get(),
+                    result.getFailures().size(), System.currentTimeMillis() - start);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the action name of an action line, such as {@code index} or {@code delete}.
+     * @param line The action line.
+     * @return The action name.
+     * @throws IOException If the line is not a bulk action.
+     */
+    protected String parseAction(final String line) throws IOException {
+        try (XContentParser parser =
+                JsonXContent.jsonXContent.createParser(NamedXContentRegistry.EMPTY, DeprecationHandler.THROW_UNSUPPORTED_OPERATION, line)) {
+            if (parser.nextToken() != XContentParser.Token.START_OBJECT || parser.nextToken() != XContentParser.Token.FIELD_NAME) {
+                throw new IOException("Invalid bulk action line: " + line);
+            }
+            return parser.currentName();
+        }
+    }
+
+    /**
+     * Removes the futures of finished requests, so that only running requests are kept.
+     * @param futures The futures.
+     * @throws InterruptedException If interrupted.
+     * @throws ExecutionException If a request failed unexpectedly.
+     */
+    private void removeDone(final List<Future<?>> futures) throws InterruptedException, ExecutionException {
+        final Iterator<Future<?>> it = futures.iterator();
+        while (it.hasNext()) {
+            final Future<?> future = it.next();
+            if (future.isDone()) {
+                future.get();
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Sends a chunk as a bulk request, waiting while all threads are busy.
+     * @param executor The executor.
+     * @param semaphore The semaphore bounding in-flight requests.
+     * @param data The bulk request body.
+     * @param result The result to add failures to.
+     * @return The future of the request.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    protected Future<?> submit(final ExecutorService executor, final Semaphore semaphore, final byte[] data,
+            final SuggestWriterResult result) throws InterruptedException {
+        semaphore.acquire();
+        try {
+            return executor.submit(() -> {
+                try {
+                    final BulkResponse response = client.prepareBulk()
+                            .add(data, 0, data.length, XContentType.JSON)
+                            .execute()
+                            .actionGet(settings.getBulkTimeout());
+                    if (response.hasFailures()) {
+                        synchronized (result) {
+                            for (final BulkItemResponse item : response.getItems()) {
+                                if (item.isFailed()) {
+                                    final String id = item.getId();
+                                    result.addFailure(id,
+                                            new SuggestIndexException("Bulk failure. id=" + id + ", " + item.getFailureMessage()));
+                                }
+                            }
+                        }
+                    }
+                } catch (final Exception e) {
+                    synchronized (result) {
+                        result.addFailure(e);
+                    }
+                } finally {
+                    semaphore.release();
+                }
+            });
+        } catch (final RuntimeException e) {
+            semaphore.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens a bulk file, decompressing it if it is gzip-compressed.
+     * @param path The bulk file path.
+     * @return The input stream.
+     * @throws IOException If an I/O error occurs.
+     */
+    protected InputStream openStream(final Path path) throws IOException {
+        final BufferedInputStream in = new BufferedInputStream(Files.newInputStream(path), 64 * 1024);
+        in.mark(2);
+        final int b1 = in.read();
+        final int b2 = in.read();
+        in.reset();
+        if (b1 == 0x1f && b2 == 0x8b) {
+            return new GZIPInputStream(in, 64 * 1024);
+        }
+        return in;
+    }
+}
@@ -15,37 +15,109 @@
  */
 package org.codelibs.fess.suggest.index.writer;
 
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.codelibs.fess.suggest.entity.SuggestItem;
+import org.codelibs.fess.suggest.entity.SuggestItemSerializer;
+import org.codelibs.fess.suggest.exception.SuggestIndexException;
 import org.codelibs.fess.suggest.settings.SuggestSettings;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.core.xcontent.XContentBuilder;
 import org.opensearch.index.query.QueryBuilder;
 import org.opensearch.transport.client.Client;
 
 /**
- * SuggestBulkFileWriter is an implementation of the SuggestWriter interface.
- * This class is responsible for writing and deleting suggest items in bulk.
+ * SuggestBulkFileWriter is an implementation of the SuggestWriter interface
+ * that streams suggest items to a file in the OpenSearch bulk (NDJSON) format.
+ *
+ * <p>Each item is written as an {@code index} action line followed by its source line,
+ * and each delete as a {@code delete} action line. Lines are serialized into a reusable buffer
+ * and written to a buffered, optionally gzip-compressed, stream. The file can be loaded into
+ * a cluster with {@link SuggestBulkFileLoader}.</p>
  *
- * <p>Currently, the methods in this class throw UnsupportedOperationException
- * as they are not yet implemented.</p>
+ * <p>Existing documents are not read, so the last line for an ID wins when the file is loaded.
+ * Items are therefore merged by ID across all {@link #write} calls and held in memory, one item per
+ * distinct ID, until {@link #close()} writes them, so each ID has a single line with the summed frequencies.
+ * A delete is written immediately and discards the pending item of its ID; items written after the delete
+ * are written on close, after the delete line.
+ * {@link #deleteByQuery} is unsupported because the bulk format has no equivalent.</p>
  *
  * @see SuggestWriter
+ * @see SuggestBulkFileLoader
  */
-public class SuggestBulkFileWriter implements SuggestWriter {
+public class SuggestBulkFileWriter implements SuggestWriter, Closeable {
+    private static final Logger logger = LogManager.getLogger(SuggestBulkFileWriter.class);
+
+    /** The output file path. */
+    protected final Path path;
+    /** The output stream. */
+    protected final OutputStream out;
+    /** Reusable buffer for a serialized line. */
+    protected final ByteArrayOutputStream lineBuffer = new ByteArrayOutputStream(1024);
+    /** Number of written actions. */
+    protected long actionCount = 0;
+    /** Merged items per index and ID, written on close. */
+    protected final Map<String, Map<String, SuggestItem>> pendingItems = new LinkedHashMap<>();
+
+    /**
+     * Constructs a new {@link SuggestBulkFileWriter} writing an uncompressed file.
+     * @param path The output file path.
+     */
+    public SuggestBulkFileWriter(final Path path) {
+        this(path, false);
+    }
+
     /**
      * Constructs a new {@link SuggestBulkFileWriter}.
+     * @param path The output file path.
+     * @param compress True to gzip the file.
      */
-    public SuggestBulkFileWriter() {
-        // nothing
+    public SuggestBulkFileWriter(final Path path, final boolean compress) {
+        this.path = path;
+        try {
+            final OutputStream fileOut = Files.newOutputStream(path);
+            out = compress ? new GZIPOutputStream(fileOut, 64 * 1024) : new BufferedOutputStream(fileOut, 64 * 1024);
+        } catch (final IOException e) {
+            throw new SuggestIndexException("Failed to open bulk file: " + path, e);
+        }
     }
 
     @Override
-    public SuggestWriterResult write(final Client client, final SuggestSettings settings, final String index, final SuggestItem[] items,
-            final boolean update) {
-        throw new UnsupportedOperationException("not yet.");
+    public synchronized SuggestWriterResult write(final Client client, final SuggestSettings settings, final String index,
+            final SuggestItem[] items, final boolean update) {
+        final Map<String, SuggestItem> pending = pendingItems.computeIfAbsent(index, k -> new LinkedHashMap<>());
+        for (final SuggestItem item : items) {
+            pending.merge(item.getId(), item, SuggestItem::merge);
+        }
+        return new SuggestWriterResult();
     }
 
     @Override
-    public SuggestWriterResult delete(final Client client, final SuggestSettings settings, final String index, final String id) {
-        throw new UnsupportedOperationException("not yet.");
+    public synchronized SuggestWriterResult delete(final Client client, final SuggestSettings settings, final String index,
+            final String id) {
+        final SuggestWriterResult result = new SuggestWriterResult();
+        try {
+            final Map<String, SuggestItem> pending = pendingItems.get(index);
+            if (pending != null) {
+                pending.remove(id);
+            }
+            writeAction("delete", index, id);
+            actionCount++;
+        } catch (final IOException e) {
+            result.addFailure(new SuggestIndexException("Failed to write bulk file: " + path, e));
+        }
+        return result;
     }
 
     @Override
@@ -53,4 +125,79 @@ public class SuggestBulkFileWriter implements SuggestWriter {
             final QueryBuilder queryBuilder) {
         throw new UnsupportedOperationException("deleteByQuery is unsupported.");
     }
+
+    /**
+     * Returns the number of actions in the file once it is closed, including the pending items.
+     * @return The number of actions.
+     */
+    public synchronized long getActionCount() {
+        long count = actionCount;
+        for (final Map<String, SuggestItem> pending : pendingItems.values()) {
+            count += pending.size();
+        }
+        return count;
+    }
+
+    /**
+     * Flushes buffered lines to the file. Pending items are not written until {@link #close()}.
+     */
+    public synchronized void flush() {
+        try {
+            out.flush();
+        } catch (final IOException e) {
+            throw new SuggestIndexException("Failed to flush bulk file: " + path, e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            for (final Map.Entry<String, Map<String, SuggestItem>> entry : pendingItems.entrySet()) {
+                for (final SuggestItem item : entry.getValue().values()) {
+                    writeAction("index", entry.getKey(), item.getId());
+                    writeSource(item);
+                    actionCount++;
+                }
+            }
+            pendingItems.clear();
+        } finally {
+            out.close();
+        }
+        if (logger.isInfoEnabled()) {
+            logger.info("Closed bulk file: path={}, actions={}", path, actionCount);
+        }
+    }
+
+    /**
+     * Writes an action line.
+     * @param action The action name.
+     * @param index The index name.
+     * @param id The document ID.
+     * @throws IOException If an I/O error occurs.
+     */
+    protected void writeAction(final String action, final String index, final String id) throws IOException {
+        lineBuffer.reset();
+        try (XContentBuilder builder = XContentFactory.jsonBuilder(lineBuffer)) {
+            builder.startObject().startObject(action).field("_index", index).field("_id", id).endObject().endObject();
+        }
+        writeLine();
+    }
+
+    /**
+     * Writes a source line.
+     * @param item The suggest item.
+     * @throws IOException If an I/O error occurs.
+     */
+    protected void writeSource(final SuggestItem item) throws IOException {
+        lineBuffer.reset();
+        try (XContentBuilder builder = XContentFactory.jsonBuilder(lineBuffer)) {
+            SuggestItemSerializer.toXContent(item, builder);
+        }
+        writeLine();
+    }
+
+    private void writeLine() throws IOException {
+        lineBuffer.writeTo(out);
+        out.write('\n');
+    }
 }
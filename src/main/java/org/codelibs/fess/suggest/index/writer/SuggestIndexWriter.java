@@ -15,25 +15,69 @@
  */
 package org.codelibs.fess.suggest.index.writer;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.codelibs.fess.suggest.entity.SuggestItem;
+import org.codelibs.fess.suggest.entity.SuggestItemSerializer;
 import org.codelibs.fess.suggest.exception.SuggestIndexException;
 import org.codelibs.fess.suggest.settings.SuggestSettings;
 import org.codelibs.fess.suggest.util.SuggestUtil;
+import org.opensearch.ExceptionsHelper;
 import org.opensearch.action.bulk.BulkItemResponse;
 import org.opensearch.action.bulk.BulkRequestBuilder;
 import org.opensearch.action.bulk.BulkResponse;
 import org.opensearch.action.get.GetResponse;
+import org.opensearch.action.get.MultiGetItemResponse;
+import org.opensearch.action.get.MultiGetRequestBuilder;
 import org.opensearch.action.index.IndexAction;
 import org.opensearch.action.index.IndexRequest;
 import org.opensearch.action.index.IndexRequestBuilder;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.core.xcontent.XContentBuilder;
 import org.opensearch.index.query.QueryBuilder;
 import org.opensearch.transport.client.Client;
 
 /**
  * SuggestIndexWriter is an implementation of the SuggestWriter interface that provides methods to write, delete,
  * and delete by query suggest items in an OpenSearch index.
+ *
+ * <p>Items rejected in a bulk response with a retryable status are resubmitted alone with exponential
+ * backoff and jitter, up to {@code maxRetryCount} times. A bulk request rejected as a whole is resubmitted
+ * in the same way. Counters for retries are exposed by getters.</p>
+ *
+ * <p>{@link #write} throws only when nothing has been written. Once an attempt has been applied, later
+ * request failures are reported in the result, so a caller can resubmit the items of a thrown write
+ * without counting frequencies twice. Failures of single items carry the item ID in the result.</p>
  */
 public class SuggestIndexWriter implements SuggestWriter {
+    private static final Logger logger = LogManager.getLogger(SuggestIndexWriter.class);
+
+    /** Maximum number of times failed items of a bulk are resubmitted. */
+    protected int maxRetryCount = 3;
+    /** Initial backoff in milliseconds before resubmitting failed items. */
+    protected long initialBackoff = 100L;
+    /** Maximum backoff in milliseconds. */
+    protected long maxBackoff = 5000L;
+
+    /** Number of bulk resubmissions. */
+    protected final AtomicLong retryCount = new AtomicLong();
+    /** Number of items resubmitted. */
+    protected final AtomicLong retriedItemCount = new AtomicLong();
+    /** Number of resubmitted items that succeeded. */
+    protected final AtomicLong recoveredItemCount = new AtomicLong();
+    /** Number of items that finally failed. */
+    protected final AtomicLong failedItemCount = new AtomicLong();
+
     /**
      * Constructs a new {@link SuggestIndexWriter}.
      */
@@ -44,39 +88,260 @@ public class SuggestIndexWriter implements SuggestWriter {
     @Override
     public SuggestWriterResult write(final Client client, final SuggestSettings settings, final String index, final SuggestItem[] items,
             final boolean update) {
-        final BulkRequestBuilder bulkRequestBuilder = client.prepareBulk();
-
         final SuggestItem[] mergedItems = mergeItems(items);
         if (mergedItems.length == 0) {
             return new SuggestWriterResult();
         }
 
-        for (final SuggestItem item : mergedItems) {
-            final GetResponse getResponse = client.prepareGet().setIndex(index).setId(item.getId()).get(settings.getIndexTimeout());
-            if (update && getResponse.isExists()) {
-                final IndexRequestBuilder indexRequestBuilder = new IndexRequestBuilder(client, IndexAction.INSTANCE, index);
-                indexRequestBuilder.setId(item.getId())
-                        .setOpType(IndexRequest.OpType.INDEX)
-                        .setSource(item.getUpdatedSource(getResponse.getSourceAsMap()));
-                bulkRequestBuilder.add(indexRequestBuilder);
-            } else {
+        final SuggestWriterResult result = new SuggestWriterResult();
+        SuggestItem[] pendingItems = mergedItems;
+        boolean written = false;
+        for (int attempt = 0;; attempt++) {
+            final BulkResponse response;
+            try {
+                response = executeBulk(client, settings, index, pendingItems, update);
+            } catch (final RuntimeException e) {
+                if (attempt < maxRetryCount && isRetryable(e)) {
+                    if (!backoff(index, pendingItems, attempt, result)) {
+                        break;
+                    }
+                    continue;
+                }
+                if (!written) {
+                    // nothing has been written, so the caller may resubmit the items
+                    throw e;
+                }
+                // earlier attempts have been written, so the remaining items are reported instead of thrown
+                failedItemCount.addAndGet(pendingItems.length);
+                for (final SuggestItem item : pendingItems) {
+                    result.addFailure(item.getId(), new SuggestIndexException("Bulk failure. request failed, id=" + item.getId(), e),
+                            isRetryable(e));
+                }
+                break;
+            }
+            final List<SuggestItem> retryItems = new ArrayList<>();
+            int failedCount = 0;
+            if (response.hasFailures()) {
+                for (final BulkItemResponse bulkItemResponse : response.getItems()) {
+                    if (!bulkItemResponse.isFailed()) {
+                        continue;
+                    }
+                    failedCount++;
+                    final boolean retryable = isRetryable(bulkItemResponse.getFailure());
+                    final SuggestItem item = pendingItems[bulkItemResponse.getItemId()];
+                    if (retryable && attempt < maxRetryCount) {
+                        retryItems.add(item);
+                    } else {
+                        failedItemCount.incrementAndGet();
+                        result.addFailure(item.getId(),
+                                new SuggestIndexException("Bulk failure. " + (retryable ? "retries exhausted" : "permanent") + ", status="
+                                        + bulkItemResponse.getFailure().getStatus() + ", " + bulkItemResponse.getFailureMessage(),
+                                        bulkItemResponse.getFailure().getCause()),
+                                retryable);
+                    }
+                }
+            }
+            if (failedCount < pendingItems.length) {
+                written = true;
+            }
+            if (attempt > 0) {
+                recoveredItemCount.addAndGet(pendingItems.length - failedCount);
+            }
+            if (retryItems.isEmpty()) {
+                break;
+            }
+
+            pendingItems = retryItems.toArray(new SuggestItem[retryItems.size()]);
+            if (!backoff(index, pendingItems, attempt, result)) {
+                break;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Waits before resubmitting items and updates the retry counters.
+     * @param index The index name.
+     * @param retryItems The items to resubmit.
+     * @param attempt The zero-based attempt that failed.
+     * @param result The result to add failures to if the wait is interrupted.
+     * @return False if interrupted, in which case the items are reported as failures.
+     */
+    private boolean backoff(final String index, final SuggestItem[] retryItems, final int attempt, final SuggestWriterResult result) {
+        final long backoff = getBackoff(attempt);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Resubmitting failed bulk items: index={}, items={}, attempt={}, backoff={}ms", index, retryItems.length,
+                    attempt + 1, backoff);
+        }
+        retryCount.incrementAndGet();
+        retriedItemCount.addAndGet(retryItems.length);
+        try {
+            Thread.sleep(backoff);
+            return true;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failedItemCount.addAndGet(retryItems.length);
+            for (final SuggestItem item : retryItems) {
+                result.addFailure(item.getId(), new SuggestIndexException("Bulk failure. interrupted, id=" + item.getId()), true);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Sends one bulk request for the given items, merging each item with its stored document when updating.
+     * Sources are serialized directly into XContent by {@link SuggestItemSerializer}, without intermediate maps.
+     * When updating, existing documents are fetched with one multi-get for the whole batch.
+     * @param client The OpenSearch client.
+     * @param settings The suggest settings.
+     * @param index The index name.
+     * @param items The items to write.
+     * @param update Whether to merge with existing documents.
+     * @return The bulk response.
+     */
+    protected BulkResponse executeBulk(final Client client, final SuggestSettings settings, final String index, final SuggestItem[] items,
+            final boolean update) {
+        final Map<String, Map<String, Object>> existingSources = update ? getExistingSources(client, settings, index, items) : Map.of();
+        final BulkRequestBuilder bulkRequestBuilder = client.prepareBulk();
+        for (final SuggestItem item : items) {
+            try {
+                final XContentBuilder source;
+                final Map<String, Object> existingSource = existingSources.get(item.getId());
+                if (existingSource != null) {
+                    source = SuggestItemSerializer.toUpdatedXContent(item, existingSource, XContentFactory.jsonBuilder());
+                } else {
+                    source = SuggestItemSerializer.toXContent(item, XContentFactory.jsonBuilder());
+                }
                 final IndexRequestBuilder indexRequestBuilder = new IndexRequestBuilder(client, IndexAction.INSTANCE, index);
-                indexRequestBuilder.setId(item.getId()).setOpType(IndexRequest.OpType.INDEX).setSource(item.getSource());
+                indexRequestBuilder.setId(item.getId()).setOpType(IndexRequest.OpType.INDEX).setSource(source);
                 bulkRequestBuilder.add(indexRequestBuilder);
+            } catch (final IOException e) {
+                throw new SuggestIndexException("Failed to serialize suggest item: id=" + item.getId(), e);
             }
         }
+        return bulkRequestBuilder.execute().actionGet(settings.getBulkTimeout());
+    }
 
-        final BulkResponse response = bulkRequestBuilder.execute().actionGet(settings.getBulkTimeout());
-        final SuggestWriterResult result = new SuggestWriterResult();
-        if (response.hasFailures()) {
-            for (final BulkItemResponse bulkItemResponses : response.getItems()) {
-                if (bulkItemResponses.isFailed()) {
-                    result.addFailure(new SuggestIndexException("Bulk failure. " + bulkItemResponses.getFailureMessage()));
-                }
+    /**
+     * Fetches the current sources of the items with a single multi-get request.
+     * @param client The OpenSearch client.
+     * @param settings The suggest settings.
+     * @param index The index name.
+     * @param items The items to look up.
+     * @return The existing sources by document ID.
+     */
+    protected Map<String, Map<String, Object>> getExistingSources(final Client client, final SuggestSettings settings, final String index,
+            final SuggestItem[] items) {
+        final MultiGetRequestBuilder multiGetRequestBuilder = client.prepareMultiGet();
+        for (final SuggestItem item : items) {
+            multiGetRequestBuilder.add(index, item.getId());
+        }
+        final Map<String, Map<String, Object>> sources = new HashMap<>();
+        for (final MultiGetItemResponse itemResponse : multiGetRequestBuilder.execute().actionGet(settings.getIndexTimeout())) {
+            if (itemResponse.isFailed()) {
+                throw new SuggestIndexException("Failed to get suggest item: id=" + itemResponse.getId(),
+                        itemResponse.getFailure().getFailure());
+            }
+            final GetResponse getResponse = itemResponse.getResponse();
+            if (getResponse.isExists()) {
+                sources.put(getResponse.getId(), getResponse.getSourceAsMap());
             }
         }
+        return sources;
+    }
 
-        return result;
+    /**
+     * Checks if a failed bulk item may succeed when resubmitted.
+     * Rejections (429), version conflicts (409) and unavailable shards (503) are retryable; other failures are permanent.
+     * @param failure The bulk item failure.
+     * @return True if the item should be resubmitted.
+     */
+    protected boolean isRetryable(final BulkItemResponse.Failure failure) {
+        final int status = failure.getStatus().getStatus();
+        return status == 429 || status == 409 || status == 503;
+    }
+
+    /**
+     * Checks if a failed bulk request may succeed when resubmitted.
+     * Only rejections (429, rejected execution) are retryable: the cluster refuses them before any item is executed,
+     * whereas other request failures such as timeouts may have been partially applied.
+     * @param e The exception thrown by the bulk request.
+     * @return True if the request should be resubmitted.
+     */
+    protected boolean isRetryable(final Exception e) {
+        final Throwable cause = ExceptionsHelper.unwrapCause(e);
+        return cause instanceof RejectedExecutionException || ExceptionsHelper.status(cause) == RestStatus.TOO_MANY_REQUESTS;
+    }
+
+    /**
+     * Returns the backoff for a retry: exponential growth from {@code initialBackoff} capped at {@code maxBackoff},
+     * with random jitter in the upper half.
+     * @param attempt The zero-based retry attempt.
+     * @return The backoff in milliseconds.
+     */
+    protected long getBackoff(final int attempt) {
+        final long backoff = Math.min(maxBackoff, initialBackoff << Math.min(attempt, 20));
+        if (backoff <= 1) {
+            return backoff;
+        }
+        return backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+    }
+
+    /**
+     * Sets the maximum number of times failed items of a bulk are resubmitted.
+     * @param maxRetryCount The maximum retry count. 0 disables retries.
+     */
+    public void setMaxRetryCount(final int maxRetryCount) {
+        this.maxRetryCount = maxRetryCount;
+    }
+
+    /**
+     * Sets the initial backoff.
+     * @param initialBackoff The initial backoff in milliseconds.
+     */
+    public void setInitialBackoff(final long initialBackoff) {
+        this.initialBackoff = initialBackoff;
+    }
+
+    /**
+     * Sets the maximum backoff.
+     * @param maxBackoff The maximum backoff in milliseconds.
+     */
+    public void setMaxBackoff(final long maxBackoff) {
+        this.maxBackoff = maxBackoff;
+    }
+
+    /**
+     * Returns the number of bulk resubmissions.
+     * @return The retry count.
+     */
+    public long getRetryCount() {
+        return retryCount.get();
+    }
+
+    /**
+     * Returns the number of items resubmitted.
+     * @return The retried item count.
+     */
+    public long getRetriedItemCount() {
+        return retriedItemCount.get();
+    }
+
+    /**
+     * Returns the number of resubmitted items that succeeded.
+     * @return The recovered item count.
+     */
+    public long getRecoveredItemCount() {
+        return recoveredItemCount.get();
+    }
+
+    /**
+     * Returns the number of items that failed permanently or after all retries.
+     * @return The failed item count.
+     */
+    public long getFailedItemCount() {
+        return failedItemCount.get();
     }
 
     @Override
@@ -0,0 +1,402 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.fess.suggest.index.writer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.BiConsumer;
+import java.util.zip.CRC32;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.codelibs.fess.suggest.entity.SuggestItem;
+import org.codelibs.fess.suggest.exception.SuggestIndexException;
+
+/**
+ * SuggestWriteJournal is an append-only, memory-mapped journal of buffered suggest items.
+ *
+ * <p>{@link BufferedSuggestWriter} appends items to the journal before acknowledging them,
+ * replays the journal on startup and truncates it after a successful flush.
+ * Appends are copied into a mapped file, so they survive a JVM crash without an fsync per item;
+ * {@link #force()} is called on truncation to persist the journal against an OS crash.</p>
+ *
+ * <p>File layout: a header of magic number, version and generation, followed by records of
+ * length, CRC32, generation and payload. Truncation increments the generation, so records left over
+ * from a previous generation are never replayed. Replay stops at the first zero length,
+ * CRC mismatch or generation mismatch, which also drops a record torn by a crash.</p>
+ */
+public class SuggestWriteJournal implements Closeable {
+    private static final Logger logger = LogManager.getLogger(SuggestWriteJournal.class);
+
+    /** Magic number of the journal file. */
+    protected static final int MAGIC = 0x53474a4e;
+    /** Format version of the journal file. */
+    protected static final int VERSION = 2;
+    /** Size of the file header. */
+    protected static final int HEADER_SIZE = 16;
+    /** Size of the record header. */
+    protected static final int RECORD_HEADER_SIZE = 16;
+
+    /** The journal file path. */
+    protected final Path path;
+    /** The file channel. */
+    protected final FileChannel channel;
+    /** The mapped region of the file. */
+    protected MappedByteBuffer buffer;
+    /** The current generation. */
+    protected long generation;
+    /** Reusable buffer for serializing records. */
+    protected final ByteArrayOutputStream recordBuffer = new ByteArrayOutputStream(1024);
+    /** Reusable checksum. */
+    protected final CRC32 crc = new CRC32();
+
+    /**
+     * Opens a journal with an initial mapped size of 16MB.
+     * @param path The journal file path.
+     */
+    public SuggestWriteJournal(final Path path) {
+        this(path, 16 * 1024 * 1024);
+    }
+
+    /**
+     * Opens a journal, creating the file if it does not exist.
+     * @param path The journal file path.
+     * @param initialSize The initial mapped size in bytes. The mapping grows as needed.
+     */
+    public SuggestWriteJournal(final Path path, final int initialSize) {
+        this.path = path;
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(channel.size(), Math.max(initialSize, HEADER_SIZE)));
+            if (buffer.getInt(0) == MAGIC) {
+                if (buffer.getInt(4) != VERSION) {
+                    throw new SuggestIndexException("Unsupported journal version: " + buffer.getInt(4) + ", path=" + path);
+                }
+                generation = buffer.getLong(8);
+            } else {
+                generation = 0;
+                writeHeader();
+            }
+            buffer.position(findEnd());
+        } catch (final IOException e) {
+            throw new SuggestIndexException("Failed to open journal: " + path, e);
+        }
+    }
+
+    /**
+     * Appends items to the journal.
+     * @param index The index name.
+     * @param items The items.
+     */
+    public synchronized void append(final String index, final SuggestItem[] items) {
+        try {
+            for (final SuggestItem item : items) {
+                recordBuffer.reset();
+                final DataOutputStream out = new DataOutputStream(recordBuffer);
+                writeString(out, index);
+                writeItem(out, item);
+                out.flush();
+                final byte[] payload = recordBuffer.toByteArray();
+                crc.reset();
+                crc.update(payload);
+                ensureCapacity(RECORD_HEADER_SIZE + payload.length + 4);
+                buffer.putInt(payload.length);
+                buffer.putInt((int) crc.getValue());
+                buffer.putLong(generation);
+                buffer.put(payload);
+            }
+            // end marker, overwritten by the next append
+            buffer.putInt(buffer.position(), 0);
+        } catch (final IOException e) {
+            throw new SuggestIndexException("Failed to append to journal: " + path, e);
+        }
+    }
+
+    /**
+     * Replays the records of the current generation.
+     * @param consumer The consumer of index names and items.
+     * @return The number of replayed items.
+     */
+    public synchronized int replay(final BiConsumer<String, SuggestItem> consumer) {
+        int count = 0;
+        int pos = HEADER_SIZE;
+        while (true) {
+            final Record record = readRecord(pos);
+            if (record == null) {
+                break;
+            }
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(record.payload))) {
+                consumer.accept(readString(in), readItem(in));
+            } catch (final IOException e) {
+                throw new SuggestIndexException("Failed to read journal: " + path, e);
+            }
+            count++;
+            pos = record.next;
+        }
+        if (logger.isInfoEnabled() && count > 0) {
+            logger.info("Replayed suggest write journal: path={}, items={}", path, count);
+        }
+        return count;
+    }
+
+    /**
+     * Discards all records by starting a new generation.
+     */
+    public synchronized void truncate() {
+        generation++;
+        writeHeader();
+        buffer.putInt(HEADER_SIZE, 0);
+        buffer.position(HEADER_SIZE);
+        force();
+    }
+
+    /**
+     * Forces the mapped content to the storage device.
+     */
+    public synchronized void force() {
+        buffer.force();
+    }
+
+    /**
+     * Returns the number of bytes used by records.
+     * @return The size in bytes.
+     */
+    public synchronized int size() {
+        return buffer.position() - HEADER_SIZE;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    /**
+     * Writes the file header.
+     */
+    protected void writeHeader() {
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putLong(8, generation);
+    }
+
+    /**
+     * Finds the end of the valid records.
+     * @return The position after the last valid record.
+     */
+    protected int findEnd() {
+        int pos = HEADER_SIZE;
+        Record record;
+        while ((record = readRecord(pos)) != null) {
+            pos = record.next;
+        }
+        return pos;
+    }
+
+    /**
+     * Reads a record at the given position.
+     * @param pos The position.
+     * @return The record, or null if there is no valid record of the current generation.
+     */
+    protected Record readRecord(final int pos) {
+        if (pos + RECORD_HEADER_SIZE > buffer.capacity()) {
+            return null;
+        }
+        final int length = buffer.getInt(pos);
+        if (length <= 0 || pos + RECORD_HEADER_SIZE + length > buffer.capacity() || buffer.getLong(pos + 8) != generation) {
+            return null;
+        }
+        final byte[] payload = new byte[length];
+        buffer.get(pos + RECORD_HEADER_SIZE, payload);
+        crc.reset();
+        crc.update(payload);
+        if ((int) crc.getValue() != buffer.getInt(pos + 4)) {
+            logger.warn("Ignored a corrupted journal record: path={}, position={}", path, pos);
+            return null;
+        }
+        return new Record(payload, pos + RECORD_HEADER_SIZE + length);
+    }
+
+    /**
+     * Remaps the file with a larger size if the remaining space is insufficient.
+     * @param required The required number of bytes.
+     * @throws IOException If the file cannot be mapped.
+     */
+    protected void ensureCapacity(final int required) throws IOException {
+        if (buffer.remaining() >= required) {
+            return;
+        }
+        final int position = buffer.position();
+        long size = buffer.capacity();
+        while (size - position < required) {
+            size *= 2;
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new SuggestIndexException("Journal is too large: " + path);
+        }
+        buffer.force();
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        buffer.position(position);
+    }
+
+    /**
+     * Writes an item in the journal format.
+     * @param out The output.
+     * @param item The item.
+     * @throws IOException If an I/O error occurs.
+     */
+    protected void writeItem(final DataOutputStream out, final SuggestItem item) throws IOException {
+        writeString(out, item.getText());
+        final String[][] readings = item.getReadings();
+        out.writeInt(readings.length);
+        for (final String[] reading : readings) {
+            writeStrings(out, reading);
+        }
+        writeStrings(out, item.getFields());
+        writeStrings(out, item.getTags());
+        writeStrings(out, item.getRoles());
+        writeStrings(out, item.getLanguages());
+        final SuggestItem.Kind[] kinds = item.getKinds();
+        if (kinds == null || kinds.length == 0 || kinds.length > Byte.MAX_VALUE) {
+            throw new IOException("Invalid kinds: id=" + item.getId());
+        }
+        out.writeByte(kinds.length);
+        for (final SuggestItem.Kind kind : kinds) {
+            out.writeByte(kind.ordinal());
+        }
+        out.writeLong(item.getDocFreq());
+        out.writeLong(item.getQueryFreq());
+        out.writeFloat(item.getUserBoost());
+        out.writeLong(item.getTimestampMillis());
+    }
+
+    /**
+     * Reads an item in the journal format.
+     * @param in The input.
+     * @return The item.
+     * @throws IOException If an I/O error occurs.
+     */
+    protected SuggestItem readItem(final DataInputStream in) throws IOException {
+        final String text = readString(in);
+        final String[][] readings = new String[in.readInt()][];
+        for (int i = 0; i < readings.length; i++) {
+            readings[i] = readStrings(in);
+        }
+        final String[] fields = readStrings(in);
+        final String[] tags = readStrings(in);
+        final String[] roles = readStrings(in);
+        final String[] languages = readStrings(in);
+        final int kindCount = in.readByte();
+        if (kindCount <= 0) {
+            throw new IOException("Invalid number of kinds: " + kindCount);
+        }
+        final SuggestItem.Kind[] kinds = new SuggestItem.Kind[kindCount];
+        final SuggestItem.Kind[] values = SuggestItem.Kind.values();
+        for (int i = 0; i < kinds.length; i++) {
+            final int ordinal = in.readByte();
+            if (ordinal < 0 || ordinal >= values.length) {
+                throw new IOException("Invalid kind: " + ordinal);
+            }
+            kinds[i] = values[ordinal];
+        }
+        final long docFreq = in.readLong();
+        final long queryFreq = in.readLong();
+        final float userBoost = in.readFloat();
+        final long timestamp = in.readLong();
+
+        final SuggestItem item =
+                new SuggestItem(new String[] { text }, readings, fields, docFreq, queryFreq, userBoost, tags, roles, languages, kinds[0]);
+        item.setKinds(kinds);
+        item.setTimestampMillis(timestamp);
+        return item;
+    }
+
+    private static void writeStrings(final DataOutputStream out, final String[] values) throws IOException {
+        if (values == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(values.length);
+        for (final String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    private static String[] readStrings(final DataInputStream in) throws IOException {
+        final int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        final String[] values = new String[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = readString(in);
+        }
+        return values;
+    }
+
+    /**
+     * Writes a string as a length-prefixed UTF-8 byte array, which unlike
+     * {@link DataOutputStream#writeUTF(String)} is not limited to 64KB.
+     */
+    private static void writeString(final DataOutputStream out, final String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(final DataInputStream in) throws IOException {
+        final int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A record read from the journal.
+     */
+    protected static class Record {
+        /** The record payload. */
+        protected final byte[] payload;
+        /** The position of the next record. */
+        protected final int next;
+
+        /**
+         * Constructs a new {@link Record}.
+         * @param payload The record payload.
+         * @param next The position of the next record.
+         */
+        protected Record(final byte[] payload, final int next) {
+            this.payload = payload;
+            this.next = next;
+        }
+    }
+}
@@ -36,6 +36,16 @@ public class SuggestWriterResult {
      */
     protected List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
 
+    /**
+     * A list of the IDs of items that failed to be written, for failures that belong to a single item.
+     */
+    protected List<String> failedIds = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * A list of the IDs of failed items that may succeed when written again, such as rejected items.
+     */
+    protected List<String> retryableIds = Collections.synchronizedList(new ArrayList<>());
+
     /**
      * Adds a Throwable to the list of failures.
      *
@@ -45,6 +55,32 @@ public class SuggestWriterResult {
         failures.add(t);
     }
 
+    /**
+     * Adds a Throwable to the list of failures for the item with the given ID.
+     * The failure is treated as permanent, so writing the item again is not expected to succeed.
+     *
+     * @param id the ID of the item that failed to be written
+     * @param t the Throwable to add
+     */
+    public void addFailure(final String id, final Throwable t) {
+        addFailure(id, t, false);
+    }
+
+    /**
+     * Adds a Throwable to the list of failures for the item with the given ID.
+     *
+     * @param id the ID of the item that failed to be written
+     * @param t the Throwable to add
+     * @param retryable true if writing the item again may succeed
+     */
+    public void addFailure(final String id, final Throwable t, final boolean retryable) {
+        failedIds.add(id);
+        if (retryable) {
+            retryableIds.add(id);
+        }
+        failures.add(t);
+    }
+
     /**
      * Checks if there are any failures recorded.
      *
@@ -63,4 +99,22 @@ public class SuggestWriterResult {
         return failures;
     }
 
+    /**
+     * Returns the IDs of the items that failed to be written.
+     *
+     * @return a List of item IDs
+     */
+    public List<String> getFailedIds() {
+        return failedIds;
+    }
+
+    /**
+     * Returns the IDs of the failed items that may succeed when written again.
+     *
+     * @return a List of item IDs
+     */
+    public List<String> getRetryableIds() {
+        return retryableIds;
+    }
+
 }
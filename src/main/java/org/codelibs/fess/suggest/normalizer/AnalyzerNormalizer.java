@@ -15,17 +15,27 @@
  */
 package org.codelibs.fess.suggest.normalizer;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.codelibs.fess.suggest.settings.AnalyzerSettings;
 import org.codelibs.fess.suggest.settings.SuggestSettings;
+import org.codelibs.fess.suggest.util.TextScript;
 import org.opensearch.action.admin.indices.analyze.AnalyzeAction;
 import org.opensearch.action.admin.indices.analyze.AnalyzeAction.AnalyzeToken;
+import org.opensearch.common.action.ActionFuture;
+import org.opensearch.common.settings.Settings;
 import org.opensearch.transport.client.Client;
 
 /**
  * AnalyzerNormalizer is a class that implements the Normalizer interface.
  * It uses an OpenSearch client and settings to normalize text based on specified languages.
+ * When several languages are given, each language normalizes the output of the previous one; the analyze requests
+ * are sent concurrently for the original text and are only followed up in sequence once a language changes the text.
+ * Latin and Kana text is normalized without a request when the normalize analyzer only lowercases it.
  */
 public class AnalyzerNormalizer implements Normalizer {
     /**
@@ -43,6 +53,21 @@ public class AnalyzerNormalizer implements Normalizer {
      */
     private final SuggestSettings settings;
 
+    /**
+     * The normalizer used when no language is given.
+     */
+    protected final LangAnalyzerNormalizer defaultLangNormalizer = new LangAnalyzerNormalizer(null);
+
+    /**
+     * Reusable normalizers by language.
+     */
+    protected final Map<String, LangAnalyzerNormalizer> langNormalizers = new ConcurrentHashMap<>();
+
+    /**
+     * Whether an analyzer can be skipped for a script, keyed by analyzer name and script.
+     */
+    protected final Map<String, Boolean> localNormalizeAnalyzers = new ConcurrentHashMap<>();
+
     /**
      * Constructs an AnalyzerNormalizer with the specified client and settings.
      *
@@ -57,17 +82,105 @@ public class AnalyzerNormalizer implements Normalizer {
 
     @Override
     public String normalize(final String text, final String field, final String... langs) {
-        final Normalizer normalizer;
         if (langs == null || langs.length == 0) {
-            normalizer = new LangAnalyzerNormalizer(null);
-        } else {
-            final NormalizerChain chain = new NormalizerChain();
-            for (final String lang : langs) {
-                chain.add(new LangAnalyzerNormalizer(lang));
+            return defaultLangNormalizer.normalize(text, field);
+        }
+        if (text == null) {
+            return null;
+        }
+        if (langs.length == 1) {
+            return getLangNormalizer(langs[0]).normalize(text, field);
+        }
+
+        // Each language normalizes the output of the previous one. All requests are sent for the original text up front;
+        // a response is used while the text is still unchanged, and once a language changes it the rest run in sequence.
+        final TextScript script = TextScript.of(text);
+        final String[] localNormalized = new String[langs.length];
+        final List<ActionFuture<AnalyzeAction.Response>> futures = new ArrayList<>(langs.length);
+        for (int i = 0; i < langs.length; i++) {
+            final LangAnalyzerNormalizer normalizer = getLangNormalizer(langs[i]);
+            localNormalized[i] = normalizer.normalizeLocally(text, field, script);
+            futures.add(localNormalized[i] == null ? normalizer.analyze(text, field) : null);
+        }
+        String normalized = text;
+        for (int i = 0; i < langs.length; i++) {
+            final LangAnalyzerNormalizer normalizer = getLangNormalizer(langs[i]);
+            if (normalized.equals(text)) {
+                normalized = localNormalized[i] != null ? localNormalized[i]
+                        : normalizer.toNormalized(text, futures.get(i).actionGet(settings.getIndicesTimeout()));
+            } else {
+                normalized = normalizer.normalize(normalized, field);
             }
-            normalizer = chain;
+            if (normalized == null) {
+                return null;
+            }
+        }
+        return normalized;
+    }
+
+    /**
+     * Returns the reusable normalizer for a language.
+     *
+     * @param lang the language
+     * @return the language-specific normalizer
+     */
+    protected LangAnalyzerNormalizer getLangNormalizer(final String lang) {
+        if (lang == null) {
+            return defaultLangNormalizer;
         }
-        return normalizer.normalize(text, field);
+        return langNormalizers.computeIfAbsent(lang, LangAnalyzerNormalizer::new);
+    }
+
+    /**
+     * Checks whether an analyzer leaves text of a script as it is apart from lowercasing.
+     * This holds for Latin and Kana text when the analyzer is a custom analyzer with a keyword tokenizer,
+     * no token filter other than lowercase, and only mapping char filters that do not map any character of the script.
+     * Latin text additionally needs the lowercase filter, so that its result is the lowercased text.
+     *
+     * @param analyzerName the normalize analyzer name
+     * @param script       the script of the text
+     * @return true if the text can be normalized locally
+     */
+    protected boolean isLocalNormalize(final String analyzerName, final TextScript script) {
+        if (script == TextScript.OTHER) {
+            return false;
+        }
+        return localNormalizeAnalyzers.computeIfAbsent(analyzerName + "/" + script, k -> {
+            final Settings definition = analyzerSettings.getAnalyzerDefinition(analyzerName);
+            if (!"custom".equals(definition.get("type")) || !"keyword".equals(definition.get("tokenizer"))) {
+                return false;
+            }
+            final List<String> filters = definition.getAsList("filter");
+            if (!filters.stream().allMatch("lowercase"::equals) || script == TextScript.LATIN && filters.isEmpty()) {
+                return false;
+            }
+            for (final String charFilter : definition.getAsList("char_filter")) {
+                if (!isPassingCharFilter(analyzerSettings.getCharFilterDefinition(charFilter), script)) {
+                    return false;
+                }
+            }
+            return true;
+        });
+    }
+
+    private boolean isPassingCharFilter(final Settings definition, final TextScript script) {
+        if (!"mapping".equals(definition.get("type")) || definition.get("mappings_path") != null) {
+            return false;
+        }
+        for (final String mapping : definition.getAsList("mappings")) {
+            final int pos = mapping.indexOf("=>");
+            if (pos == -1) {
+                return false;
+            }
+            final String key = mapping.substring(0, pos);
+            for (int i = 0; i < key.length(); i++) {
+                final char c = key.charAt(i);
+                if (c == '\\' || script.accepts(c)) {
+                    return false;
+                }
+            }
+        }
+        return true;
     }
 
     /**
@@ -101,13 +214,52 @@ public class AnalyzerNormalizer implements Normalizer {
             if (text == null) {
                 return null;
             }
-            final AnalyzeAction.Response termResponse = client.admin()
+            final String localNormalized = normalizeLocally(text, field, TextScript.of(text));
+            if (localNormalized != null) {
+                return localNormalized;
+            }
+            return toNormalized(text, analyze(text, field).actionGet(settings.getIndicesTimeout()));
+        }
+
+        /**
+         * Normalizes the given text without the analyzer if the analyzer cannot change it beyond lowercasing.
+         *
+         * @param text   the text to normalize
+         * @param field  the field to use for normalization
+         * @param script the script of the text
+         * @return the normalized text, or null if the analyzer is needed
+         */
+        protected String normalizeLocally(final String text, final String field, final TextScript script) {
+            final String analyzerName = analyzerSettings.getNormalizeAnalyzerName(field, lang);
+            if (!isLocalNormalize(analyzerName, script)) {
+                return null;
+            }
+            return script == TextScript.LATIN ? text.toLowerCase(Locale.ROOT) : text;
+        }
+
+        /**
+         * Sends the analyze request without waiting for the response.
+         *
+         * @param text  the text to normalize
+         * @param field the field to use for normalization
+         * @return the pending response
+         */
+        protected ActionFuture<AnalyzeAction.Response> analyze(final String text, final String field) {
+            return client.admin()
                     .indices()
                     .prepareAnalyze(analyzerSettings.getAnalyzerSettingsIndexName(), text)
                     .setAnalyzer(analyzerSettings.getNormalizeAnalyzerName(field, lang))
-                    .execute()
-                    .actionGet(settings.getIndicesTimeout());
+                    .execute();
+        }
 
+        /**
+         * Extracts the normalized text from an analyze response.
+         *
+         * @param text         the original text
+         * @param termResponse the analyze response
+         * @return the normalized text
+         */
+        protected String toNormalized(final String text, final AnalyzeAction.Response termResponse) {
             final List<AnalyzeToken> termTokenList = termResponse.getTokens();
             if (termTokenList.isEmpty()) {
                 return text;
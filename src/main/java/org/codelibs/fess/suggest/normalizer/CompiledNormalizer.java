@@ -0,0 +1,217 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.fess.suggest.normalizer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CompiledNormalizer runs a list of normalizers like {@link NormalizerChain}, but fuses consecutive
+ * character-level normalizers into a single table-driven pass.
+ *
+ * <p>The following normalizers are fused:</p>
+ * <ul>
+ *   <li>{@link HankakuKanaToZenkakuKana}</li>
+ *   <li>{@link FullWidthToHalfWidthAlphabetNormalizer}</li>
+ *   <li>{@link ICUNormalizer} with the {@code Any-Lower} transliterator</li>
+ * </ul>
+ *
+ * <p>These transforms act on disjoint characters, so the fused pass gives the same result as running them
+ * one after another in any order. Lowercasing is done inline for ASCII, full-width Latin letters and uncased
+ * CJK characters; whitespace-delimited segments containing other characters are passed to the ICU transliterator.
+ * Other normalizers run unchanged between the fused passes. If nothing changes, the input instance is returned.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * NormalizerChain chain = new NormalizerChain();
+ * chain.add(new HankakuKanaToZenkakuKana());
+ * chain.add(new FullWidthToHalfWidthAlphabetNormalizer());
+ * chain.add(new ICUNormalizer("Any-Lower"));
+ * Normalizer normalizer = chain.compile();
+ * </pre>
+ */
+public class CompiledNormalizer implements Normalizer {
+    /** The normalizers run in order; fused stages replace runs of supported normalizers. */
+    protected final Normalizer[] stages;
+
+    /**
+     * Constructor for CompiledNormalizer.
+     * @param normalizers The normalizers to run in order.
+     * @throws IllegalArgumentException if a normalizer is null
+     */
+    public CompiledNormalizer(final List<Normalizer> normalizers) {
+        final List<Normalizer> list = new ArrayList<>();
+        FusedStage fused = null;
+        for (final Normalizer normalizer : normalizers) {
+            if (normalizer == null) {
+                throw new IllegalArgumentException("normalizer must not be null");
+            }
+            if (FusedStage.isSupported(normalizer)) {
+                if (fused == null) {
+                    fused = new FusedStage();
+                    list.add(fused);
+                }
+                fused.add(normalizer);
+            } else {
+                fused = null;
+                list.add(normalizer);
+            }
+        }
+        stages = list.toArray(new Normalizer[list.size()]);
+    }
+
+    @Override
+    public String normalize(final String text, final String field, final String... langs) {
+        if (text == null) {
+            return null;
+        }
+        String tmp = text;
+        for (final Normalizer stage : stages) {
+            tmp = stage.normalize(tmp, field, langs);
+            if (tmp == null) {
+                return null;
+            }
+        }
+        return tmp;
+    }
+
+    /**
+     * A single pass applying the supported character-level transforms.
+     */
+    protected static class FusedStage implements Normalizer {
+        /** Whether half-width Katakana is converted to full-width. */
+        protected boolean hankakuKana;
+        /** Whether full-width alphanumerics are converted to half-width. */
+        protected boolean fullWidthAlphabet;
+        /** The Any-Lower normalizer, or null if text is not lowercased. */
+        protected ICUNormalizer lowerNormalizer;
+
+        /**
+         * Checks whether a normalizer can be fused.
+         * @param normalizer The normalizer.
+         * @return True if the normalizer can be fused.
+         */
+        protected static boolean isSupported(final Normalizer normalizer) {
+            if (normalizer instanceof ICUNormalizer) {
+                return "Any-Lower".equalsIgnoreCase(((ICUNormalizer) normalizer).getTransliteratorId());
+            }
+            return normalizer instanceof HankakuKanaToZenkakuKana || normalizer instanceof FullWidthToHalfWidthAlphabetNormalizer;
+        }
+
+        /**
+         * Adds a supported normalizer to this stage.
+         * @param normalizer The normalizer.
+         */
+        protected void add(final Normalizer normalizer) {
+            if (normalizer instanceof HankakuKanaToZenkakuKana) {
+                hankakuKana = true;
+            } else if (normalizer instanceof FullWidthToHalfWidthAlphabetNormalizer) {
+                fullWidthAlphabet = true;
+            } else if (lowerNormalizer == null) {
+                lowerNormalizer = (ICUNormalizer) normalizer;
+            }
+        }
+
+        @Override
+        public String normalize(final String text, final String field, final String... langs) {
+            if (text == null) {
+                return null;
+            }
+            final int length = text.length();
+            StringBuilder buf = null;
+            int segmentStart = 0;
+            boolean segmentNeedsIcu = false;
+            for (int i = 0; i < length;) {
+                final char c = text.charAt(i);
+                char out = c;
+                int consumed = 1;
+                if (hankakuKana && HankakuKanaToZenkakuKana.isHankakuKatakana(c)) {
+                    final char merged = i + 1 < length ? HankakuKanaToZenkakuKana.mergeChar(c, text.charAt(i + 1)) : c;
+                    if (merged != c) {
+                        out = merged;
+                        consumed = 2;
+                    } else {
+                        out = HankakuKanaToZenkakuKana.hankakuKatakanaToZenkakuKatakana(c);
+                    }
+                } else if (fullWidthAlphabet && out >= '０' && out <= 'ｚ') {
+                    if (out >= 'ａ' && out <= 'ｚ') {
+                        out = (char) (out - 'ａ' + 'a');
+                    } else if (out >= 'Ａ' && out <= 'Ｚ') {
+                        out = (char) (out - 'Ａ' + 'A');
+                    } else if (out >= '０' && out <= '９') {
+                        out = (char) (out - '０' + '0');
+                    }
+                }
+                boolean needsIcu = false;
+                if (lowerNormalizer != null) {
+                    if (out >= 'A' && out <= 'Z' || out >= 'Ａ' && out <= 'Ｚ') {
+                        out += 0x20;
+                    } else if (!isUncased(out)) {
+                        needsIcu = true;
+                    }
+                }
+
+                if (buf == null && (out != c || consumed != 1 || needsIcu)) {
+                    buf = new StringBuilder(length + 16);
+                    buf.append(text, 0, i);
+                }
+                if (buf != null) {
+                    if (isSegmentBoundary(out) && segmentNeedsIcu) {
+                        lowerSegment(buf, segmentStart, field, langs);
+                        segmentNeedsIcu = false;
+                    }
+                    buf.append(out);
+                }
+                segmentNeedsIcu |= needsIcu;
+                i += consumed;
+                if (isSegmentBoundary(out)) {
+                    segmentStart = buf == null ? i : buf.length();
+                }
+            }
+            if (buf == null) {
+                return text;
+            }
+            if (segmentNeedsIcu) {
+                lowerSegment(buf, segmentStart, field, langs);
+            }
+            return text.contentEquals(buf) ? text : buf.toString();
+        }
+
+        private void lowerSegment(final StringBuilder buf, final int start, final String field, final String... langs) {
+            final int end = buf.length();
+            buf.replace(start, end, lowerNormalizer.normalize(buf.substring(start, end), field, langs));
+        }
+
+        private static boolean isSegmentBoundary(final char c) {
+            return c == ' ' || c == '\t' || c == '\n' || c == '\r';
+        }
+
+        /**
+         * Checks whether a character is known to have no lowercase mapping.
+         * @param c The character.
+         * @return True if lowercasing does not change the character.
+         */
+        private static boolean isUncased(final char c) {
+            return c < 0x80 // ASCII other than A-Z
+                    || c >= '　' && c <= 'ヿ' // CJK symbols, Hiragana and Katakana
+                    || c >= '㐀' && c <= '䶿' // CJK Unified Ideographs Extension A
+                    || c >= '一' && c <= '鿿' // CJK Unified Ideographs
+                    || c >= '가' && c <= '힣' // Hangul syllables
+                    || c >= '豈' && c <= '﫿' // CJK Compatibility Ideographs
+                    || c >= '！' && c <= '＠' || c >= '［' && c <= 'ﾟ'; // Half/full-width forms other than Ａ-Ｚ
+        }
+    }
+}
@@ -95,7 +95,21 @@ public class HankakuKanaToZenkakuKana implements Normalizer {
         return sb.toString();
     }
 
-    private static char hankakuKatakanaToZenkakuKatakana(final char c) {
+    /**
+     * Checks whether a character is half-width Katakana, including punctuation and sound marks.
+     * @param c The character.
+     * @return True if the character is converted by this normalizer.
+     */
+    static boolean isHankakuKatakana(final char c) {
+        return c >= HANKAKU_KATAKANA_FIRST_CHAR && c <= HANKAKU_KATAKANA_LAST_CHAR;
+    }
+
+    /**
+     * Converts a half-width Katakana character to full-width.
+     * @param c The character.
+     * @return The converted character, or the character itself if it is not half-width Katakana.
+     */
+    static char hankakuKatakanaToZenkakuKatakana(final char c) {
         if (c >= HANKAKU_KATAKANA_FIRST_CHAR && c <= HANKAKU_KATAKANA_LAST_CHAR) {
             return ZENKAKU_KATAKANA[c - HANKAKU_KATAKANA_FIRST_CHAR];
         }
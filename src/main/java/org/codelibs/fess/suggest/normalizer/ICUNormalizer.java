@@ -53,6 +53,14 @@ public class ICUNormalizer implements Normalizer {
         }
     }
 
+    /**
+     * Returns the ID of the transliterator.
+     * @return The transliterator ID.
+     */
+    public String getTransliteratorId() {
+        return transliterator.getID();
+    }
+
     @Override
     public String normalize(final String text, final String field, final String... langs) {
         if (text == null) {
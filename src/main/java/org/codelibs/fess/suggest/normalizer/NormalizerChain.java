@@ -34,6 +34,7 @@ import java.util.List;
  * <ul>
  *   <li>{@link #normalize(String, String, String...)} - Applies all added normalizers to the input text.</li>
  *   <li>{@link #add(Normalizer)} - Adds a new normalizer to the chain.</li>
+ *   <li>{@link #compile()} - Creates a {@link CompiledNormalizer} from the chain.</li>
  * </ul>
  *
  * <p>Fields:</p>
@@ -77,4 +78,14 @@ public class NormalizerChain implements Normalizer {
         }
         normalizers.add(normalizer);
     }
+
+    /**
+     * Creates a normalizer that runs this chain with supported character-level normalizers fused into single passes.
+     * Normalizers added to this chain afterwards are not reflected.
+     * @return The compiled normalizer.
+     * @see CompiledNormalizer
+     */
+    public Normalizer compile() {
+        return new CompiledNormalizer(normalizers);
+    }
 }
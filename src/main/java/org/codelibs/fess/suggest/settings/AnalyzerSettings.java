@@ -18,6 +18,7 @@ package org.codelibs.fess.suggest.settings;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -104,6 +105,8 @@ public class AnalyzerSettings {
     protected static Map<String, Set<String>> analyzerMap = new ConcurrentHashMap<>();
     /** Field analyzer mapping map. */
     protected static Map<String, Map<String, FieldAnalyzerMapping>> fieldAnalyzerMappingMap = new ConcurrentHashMap<>();
+    /** Analysis settings map. */
+    protected static Map<String, Settings> analysisSettingsMap = new ConcurrentHashMap<>();
 
     /** Supported languages. */
     protected static final String[] SUPPORTED_LANGUAGES = { "ar", "bg", "bn", "ca", "cs", "da", "de", "el", "en", "es", "et", "fa", "fi",
@@ -136,6 +139,7 @@ public class AnalyzerSettings {
             }
             analyzerMap.put(analyzerSettingsIndexName, getAnalyzerNames());
             fieldAnalyzerMappingMap.put(analyzerSettingsIndexName, getFieldAnalyzerMapping());
+            analysisSettingsMap.put(analyzerSettingsIndexName, getAnalysisSettings());
         } catch (final IOException e) {
             throw new SuggestSettingsException("Failed to create mappings.");
         }
@@ -225,6 +229,38 @@ public class AnalyzerSettings {
         return getAnalyzerName(field, lang, m -> m.contentsReadingAnalyzer, CONTENTS_READING_ANALYZER);
     }
 
+    /**
+     * Returns the definition of an analyzer in the analyzer settings index.
+     * @param analyzerName The analyzer name.
+     * @return The analyzer definition, or empty settings if the analyzer is not defined in the index.
+     */
+    public Settings getAnalyzerDefinition(final String analyzerName) {
+        return getAnalysisDefinition("analyzer", analyzerName);
+    }
+
+    /**
+     * Returns the definition of a char filter in the analyzer settings index.
+     * @param charFilterName The char filter name.
+     * @return The char filter definition, or empty settings if the char filter is not defined in the index.
+     */
+    public Settings getCharFilterDefinition(final String charFilterName) {
+        return getAnalysisDefinition("char_filter", charFilterName);
+    }
+
+    /**
+     * Returns the definition of an analysis component.
+     * @param type The component type, such as analyzer or char_filter.
+     * @param name The component name.
+     * @return The definition, or empty settings if it is not defined.
+     */
+    private Settings getAnalysisDefinition(final String type, final String name) {
+        final Settings analysisSettings = analysisSettingsMap.get(analyzerSettingsIndexName);
+        if (analysisSettings == null || StringUtil.isBlank(name)) {
+            return Settings.EMPTY;
+        }
+        return analysisSettings.getAsSettings(type + "." + name);
+    }
+
     /**
      * Updates the analyzer settings.
      * @param settings The settings to update.
@@ -395,6 +431,94 @@ public class AnalyzerSettings {
                 return analyze(text, field, lang);
             }
         }
+
+        /**
+         * Analyzes the given texts in a single request.
+         * @param texts The texts to analyze.
+         * @param field The field name.
+         * @param lang The language.
+         * @return The analyzed tokens of each text.
+         */
+        @Override
+        public List<List<AnalyzeToken>> analyzeTexts(final List<String> texts, final String field, final String lang) {
+            return executeAnalyze(texts, getContentsAnalyzerName(field, lang));
+        }
+
+        /**
+         * Analyzes the given texts and their readings in a single request.
+         * @param texts The texts to analyze.
+         * @param field The field name.
+         * @param lang The language.
+         * @return The analyzed tokens of each text, or null for each text if the contents reading analyzer name is blank.
+         */
+        @Override
+        public List<List<AnalyzeToken>> analyzeAndReadingTexts(final List<String> texts, final String field, final String lang) {
+            try {
+                final String contentsReadingAnalyzerName = getContentsReadingAnalyzerName(field, lang);
+                if (StringUtil.isBlank(contentsReadingAnalyzerName)) {
+                    return new ArrayList<>(Collections.nCopies(texts.size(), null));
+                }
+                return executeAnalyze(texts, contentsReadingAnalyzerName);
+            } catch (final IllegalArgumentException e) {
+                return analyzeTexts(texts, field, lang);
+            }
+        }
+
+        /**
+         * Sends the texts in one analyze request and splits the tokens by text.
+         * The analyze API puts an offset gap of one between texts, so each text starts one past the end of the previous one.
+         * Positions continue across texts with the analyzer's position increment gap, so they are rebased onto the first
+         * token of each text; a position increment before that token, such as from a removed stop word, is not kept.
+         * @param texts The texts to analyze.
+         * @param analyzerName The analyzer name.
+         * @return The analyzed tokens of each text, with offsets and positions relative to their own text.
+         */
+        private List<List<AnalyzeToken>> executeAnalyze(final List<String> texts, final String analyzerName) {
+            final List<List<AnalyzeToken>> results = new ArrayList<>(texts.size());
+            final List<String> targets = new ArrayList<>(texts.size());
+            final List<Integer> targetIndexes = new ArrayList<>(texts.size());
+            for (int i = 0; i < texts.size(); i++) {
+                final String text = texts.get(i);
+                if (text == null || text.length() > maxContentLenth) {
+                    results.add(Collections.emptyList());
+                } else {
+                    results.add(new ArrayList<>());
+                    targets.add(text);
+                    targetIndexes.add(i);
+                }
+            }
+            if (targets.isEmpty()) {
+                return results;
+            }
+
+            final AnalyzeAction.Response analyzeResponse = client.admin()
+                    .indices()
+                    .prepareAnalyze(analyzerSettingsIndexName, targets.get(0))
+                    .setText(targets.toArray(new String[targets.size()]))
+                    .setAnalyzer(analyzerName)
+                    .execute()
+                    .actionGet(settings.getIndicesTimeout());
+
+            int target = 0;
+            int base = 0;
+            int end = targets.get(0).length();
+            int positionBase = -1;
+            for (final AnalyzeToken token : analyzeResponse.getTokens()) {
+                while (token.getStartOffset() >= end && target + 1 < targets.size()) {
+                    target++;
+                    base = end + 1;
+                    end = base + targets.get(target).length();
+                    positionBase = -1;
+                }
+                if (positionBase < 0) {
+                    positionBase = token.getPosition();
+                }
+                results.get(targetIndexes.get(target))
+                        .add(new AnalyzeToken(token.getTerm(), token.getPosition() - positionBase, token.getStartOffset() - base,
+                                token.getEndOffset() - base, token.getPositionLength(), token.getType(), token.getAttributes()));
+            }
+            return results;
+        }
     }
 
     /**
@@ -418,6 +542,17 @@ public class AnalyzerSettings {
         return analyzerSettings.getAsGroups().keySet();
     }
 
+    /**
+     * Get analysis settings.
+     * @return Analysis settings
+     */
+    protected Settings getAnalysisSettings() {
+        final GetSettingsResponse response =
+                client.admin().indices().prepareGetSettings().setIndices(analyzerSettingsIndexName).execute().actionGet();
+        final Settings settings = response.getIndexToSettings().get(analyzerSettingsIndexName);
+        return settings.getAsSettings("index.analysis");
+    }
+
     /**
      * Get field analyzer mapping.
      * @return Field analyzer mapping
@@ -18,13 +18,21 @@ package org.codelibs.fess.suggest.settings;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Arrays;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 import org.apache.logging.log4j.LogManager;
@@ -35,14 +43,20 @@ import org.codelibs.fess.suggest.constants.FieldNames;
 import org.codelibs.fess.suggest.exception.SuggestSettingsException;
 import org.codelibs.fess.suggest.util.SuggestUtil;
 import org.opensearch.action.admin.indices.create.CreateIndexResponse;
+import org.opensearch.action.bulk.BulkRequestBuilder;
+import org.opensearch.action.bulk.BulkResponse;
 import org.opensearch.action.search.SearchResponse;
 import org.opensearch.common.xcontent.XContentFactory;
 import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.common.collect.Tuple;
 import org.opensearch.common.xcontent.json.JsonXContent;
 import org.opensearch.core.xcontent.XContentBuilder;
 import org.opensearch.index.IndexNotFoundException;
+import org.opensearch.index.query.QueryBuilder;
 import org.opensearch.index.query.QueryBuilders;
 import org.opensearch.search.SearchHit;
+import org.opensearch.search.aggregations.AggregationBuilders;
+import org.opensearch.search.aggregations.metrics.Max;
 import org.opensearch.transport.client.Client;
 
 /**
@@ -60,13 +74,18 @@ import org.opensearch.transport.client.Client;
  * <li>{@link #add(String, Object)}: Adds a key-value pair to the settings array.</li>
  * <li>{@link #delete(String)}: Deletes all entries associated with the specified key.</li>
  * <li>{@link #delete(String, String)}: Deletes a specific key-value pair from the settings array.</li>
+ * <li>{@link #addAll(String, Collection)}: Adds values in a single bulk request.</li>
+ * <li>{@link #deleteAll(String, Collection)}: Deletes values in a single bulk request.</li>
+ * <li>{@link #clearCache()}: Clears cached values.</li>
+ * <li>{@link #setCacheInterval(long)}: Sets the interval after which cached values are checked against the index.</li>
  * </ul>
  *
  * <p>Protected Methods:
  * <ul>
  * <li>{@link #createArraySettingsIndexName(String)}: Creates the name for the array settings index.</li>
  * <li>{@link #createId(String, Object)}: Creates a unique ID for a key-value pair using Base64 encoding.</li>
- * <li>{@link #getFromArrayIndex(String, String, String)}: Retrieves an array of maps from the index based on the key.</li>
+ * <li>{@link #getFromArrayIndex(String, String, String)}: Retrieves an array of maps for the key from the local cache, checking the index for changes.</li>
+ * <li>{@link #loadCacheEntry(String, String, CacheEntry)}: Loads changed values into the cache.</li>
  * <li>{@link #addToArrayIndex(String, String, String, Map)}: Adds a map to the array index.</li>
  * <li>{@link #deleteKeyFromArray(String, String, String)}: Deletes all entries associated with the specified key from the array index.</li>
  * <li>{@link #deleteFromArray(String, String, String)}: Deletes a specific entry from the array index based on the ID.</li>
@@ -99,6 +118,14 @@ public class ArraySettings {
     /** Suggest settings. */
     protected final SuggestSettings settings;
 
+    /** Name of the aggregation used to detect changes. */
+    protected static final String MAX_TIMESTAMP_AGG = "max_timestamp";
+
+    /** Cached values by index and key. */
+    protected final Map<String, CacheEntry> cache = new ConcurrentHashMap<>();
+    /** Interval in milliseconds after which cached values are checked against the index. */
+    protected long cacheInterval = 1000L;
+
     private static final Base64.Encoder encoder = Base64.getEncoder();
 
     /**
@@ -153,6 +180,34 @@ public class ArraySettings {
         addToArrayIndex(arraySettingsIndexName, settingsId, createId(key, value), source);
     }
 
+    /**
+     * Add values in a single bulk request with a single refresh.
+     * Timestamps increase in iteration order, so {@link #get(String)} returns the values in that order.
+     * @param key Key
+     * @param values Values
+     */
+    public void addAll(final String key, final Collection<?> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Adding array settings: index={}, settingsId={}, key={}, size={}", arraySettingsIndexName, settingsId, key,
+                    values.size());
+        }
+
+        final Instant now = Instant.now();
+        final Map<String, Map<String, Object>> sources = new LinkedHashMap<>();
+        int i = 0;
+        for (final Object value : values) {
+            final Map<String, Object> source = new HashMap<>();
+            source.put(FieldNames.ARRAY_KEY, key);
+            source.put(FieldNames.ARRAY_VALUE, value);
+            source.put(FieldNames.TIMESTAMP, DateTimeFormatter.ISO_INSTANT.format(now.plusNanos(i++)));
+            sources.put(createId(key, value), source);
+        }
+        addAllToArrayIndex(arraySettingsIndexName, settingsId, sources);
+    }
+
     /**
      * Delete values.
      * @param key Key
@@ -174,6 +229,26 @@ public class ArraySettings {
         deleteFromArray(arraySettingsIndexName, settingsId, createId(key, value));
     }
 
+    /**
+     * Delete values in a single bulk request with a single refresh.
+     * @param key Key
+     * @param values Values
+     */
+    public void deleteAll(final String key, final Collection<String> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Deleting array settings: index={}, settingsId={}, key={}, size={}", arraySettingsIndexName, settingsId, key,
+                    values.size());
+        }
+        final List<String> ids = new ArrayList<>(values.size());
+        for (final String value : values) {
+            ids.add(createId(key, value));
+        }
+        deleteAllFromArray(arraySettingsIndexName, settingsId, ids);
+    }
+
     /**
      * Create array settings index name.
      * @param settingsIndexName Settings index name
@@ -195,79 +270,150 @@ public class ArraySettings {
 
     /**
      * Get values from array index.
+     * The values are served from a local cache. Once {@code cacheInterval} has passed, the next call checks
+     * the document count and the latest timestamp for the key, fetches only documents updated since the cached
+     * timestamp when values were only added or updated, and reloads all values otherwise.
+     * The check runs under the lock of the cache key only, so a slow load does not block the other keys.
+     * The returned maps, and the lists in them, are shared with the cache and cannot be modified.
      * @param index Index
      * @param type Type
      * @param key Key
-     * @return Values
+     * @return Values sorted by timestamp
      */
     @SuppressWarnings("unchecked")
     protected Map<String, Object>[] getFromArrayIndex(final String index, final String type, final String key) {
         final String actualIndex = index + "." + type.toLowerCase(Locale.ENGLISH);
-        try {
-            SearchResponse response = client.prepareSearch()
+        final String cacheKey = actualIndex + "/" + key;
+        CacheEntry entry = cache.get(cacheKey);
+        if (entry == null || System.currentTimeMillis() - entry.checkedTime >= cacheInterval) {
+            entry = cache.compute(cacheKey, (k, current) -> {
+                if (current != null && System.currentTimeMillis() - current.checkedTime < cacheInterval) {
+                    return current;
+                }
+                try {
+                    return loadCacheEntry(actualIndex, key, current);
+                } catch (final IndexNotFoundException e) {
+                    return null;
+                }
+            });
+            if (entry == null) {
+                return new Map[0];
+            }
+        }
+        return entry.array.clone();
+    }
+
+    /**
+     * Load a cache entry, reusing the current entry when the values have not changed.
+     * @param actualIndex Actual index name
+     * @param key Key
+     * @param current Current cache entry, or null
+     * @return Cache entry
+     */
+    protected CacheEntry loadCacheEntry(final String actualIndex, final String key, final CacheEntry current) {
+        if (current != null) {
+            final SearchResponse response = client.prepareSearch()
                     .setIndices(actualIndex)
-                    .setScroll(settings.getScrollTimeout())
                     .setQuery(QueryBuilders.termQuery(FieldNames.ARRAY_KEY, key))
-                    .setSize(DEFAULT_SEARCH_SIZE)
+                    .setSize(0)
+                    .setTrackTotalHits(true)
+                    .addAggregation(AggregationBuilders.max(MAX_TIMESTAMP_AGG).field(FieldNames.TIMESTAMP))
                     .execute()
                     .actionGet(settings.getSearchTimeout());
-            String scrollId = response.getScrollId();
-
-            final Map<String, Object>[] array = new Map[(int) response.getHits().getTotalHits().value()];
-
-            int count = 0;
-            try {
-                while (scrollId != null) {
-                    final SearchHit[] hits = response.getHits().getHits();
-                    if (hits.length == 0) {
-                        break;
-                    }
-                    for (final SearchHit hit : hits) {
-                        array[count] = hit.getSourceAsMap();
-                        count++;
-                    }
-                    response = client.prepareSearchScroll(scrollId)
-                            .setScroll(settings.getScrollTimeout())
-                            .execute()
-                            .actionGet(settings.getSearchTimeout());
-                    if (!scrollId.equals(response.getScrollId())) {
-                        SuggestUtil.deleteScrollContext(client, scrollId);
+            final long count = response.getHits().getTotalHits().value();
+            final Max max = response.getAggregations().get(MAX_TIMESTAMP_AGG);
+            final long maxTimestamp = Double.isInfinite(max.getValue()) ? Long.MIN_VALUE : (long) max.getValue();
+            if (count == current.sources.size() && maxTimestamp == current.maxTimestamp) {
+                current.checkedTime = System.currentTimeMillis();
+                return current;
+            }
+            if (count >= current.sources.size() && maxTimestamp >= current.maxTimestamp && current.maxTimestamp != Long.MIN_VALUE) {
+                final Map<String, Map<String, Object>> sources = new HashMap<>(current.sources);
+                sources.putAll(searchSources(actualIndex, QueryBuilders.boolQuery()
+                        .filter(QueryBuilders.termQuery(FieldNames.ARRAY_KEY, key))
+                        .filter(QueryBuilders.rangeQuery(FieldNames.TIMESTAMP).gte(current.maxTimestamp).format("epoch_millis"))));
+                if (sources.size() == count) {
+                    if (logger.isDebugEnabled()) {
+                        logger.debug("Updated array settings cache: index={}, key={}, size={}", actualIndex, key, count);
                     }
-                    scrollId = response.getScrollId();
+                    return new CacheEntry(sources);
                 }
-            } finally {
-                SuggestUtil.deleteScrollContext(client, scrollId);
             }
+        }
 
-            Arrays.sort(array, (o1, o2) -> {
-                if (o1 == null && o2 == null) {
-                    return 0;
-                }
-                if (o1 == null) {
-                    return -1;
-                }
-                if (o2 == null) {
-                    return 1;
-                }
+        final Map<String, Map<String, Object>> sources = searchSources(actualIndex, QueryBuilders.termQuery(FieldNames.ARRAY_KEY, key));
+        if (logger.isDebugEnabled()) {
+            logger.debug("Loaded array settings cache: index={}, key={}, size={}", actualIndex, key, sources.size());
+        }
+        return new CacheEntry(sources);
+    }
 
-                final Object timeObj1 = o1.get(FieldNames.TIMESTAMP);
-                final Object timeObj2 = o2.get(FieldNames.TIMESTAMP);
-                if (timeObj1 == null && timeObj2 == null) {
-                    return 0;
+    /**
+     * Scroll documents matching a query.
+     * @param actualIndex Actual index name
+     * @param query Query
+     * @return Map of document ID to source
+     */
+    protected Map<String, Map<String, Object>> searchSources(final String actualIndex, final QueryBuilder query) {
+        final Map<String, Map<String, Object>> sources = new HashMap<>();
+        SearchResponse response = client.prepareSearch()
+                .setIndices(actualIndex)
+                .setScroll(settings.getScrollTimeout())
+                .setQuery(query)
+                .setSize(DEFAULT_SEARCH_SIZE)
+                .execute()
+                .actionGet(settings.getSearchTimeout());
+        String scrollId = response.getScrollId();
+        try {
+            while (scrollId != null) {
+                final SearchHit[] hits = response.getHits().getHits();
+                if (hits.length == 0) {
+                    break;
                 }
-                if (timeObj1 == null) {
-                    return -1;
+                for (final SearchHit hit : hits) {
+                    sources.put(hit.getId(), toUnmodifiableSource(hit.getSourceAsMap()));
                 }
-                if (timeObj2 == null) {
-                    return 1;
+                response = client.prepareSearchScroll(scrollId)
+                        .setScroll(settings.getScrollTimeout())
+                        .execute()
+                        .actionGet(settings.getSearchTimeout());
+                if (!scrollId.equals(response.getScrollId())) {
+                    SuggestUtil.deleteScrollContext(client, scrollId);
                 }
-
-                return o1.toString().compareTo(o2.toString());
-            });
-            return array;
-        } catch (final IndexNotFoundException e) {
-            return new Map[0];
+                scrollId = response.getScrollId();
+            }
+        } finally {
+            SuggestUtil.deleteScrollContext(client, scrollId);
         }
+        return sources;
+    }
+
+    /**
+     * Clear cached values so that the next read checks the index.
+     */
+    public void clearCache() {
+        cache.clear();
+    }
+
+    /**
+     * Set the interval in milliseconds after which cached values are checked against the index.
+     * @param cacheInterval Interval in milliseconds
+     */
+    public void setCacheInterval(final long cacheInterval) {
+        this.cacheInterval = cacheInterval;
+    }
+
+    /**
+     * Mark cached values of an index as stale.
+     * @param actualIndex Actual index name
+     */
+    protected void invalidateCache(final String actualIndex) {
+        final String prefix = actualIndex + "/";
+        cache.forEach((cacheKey, entry) -> {
+            if (cacheKey.startsWith(prefix)) {
+                entry.checkedTime = 0L;
+            }
+        });
     }
 
     /**
@@ -290,11 +436,74 @@ public class ArraySettings {
                     .execute()
                     .actionGet(settings.getIndexTimeout());
             client.admin().indices().prepareRefresh().setIndices(actualIndex).execute().actionGet(settings.getIndicesTimeout());
+            invalidateCache(actualIndex);
         } catch (final Exception e) {
             throw new SuggestSettingsException("Failed to add to array.", e);
         }
     }
 
+    /**
+     * Add values to array index in a single bulk request with a single refresh.
+     * @param index Index
+     * @param type Type
+     * @param sources Sources by ID
+     */
+    protected void addAllToArrayIndex(final String index, final String type, final Map<String, Map<String, Object>> sources) {
+        final String actualIndex = index + "." + type.toLowerCase(Locale.ENGLISH);
+        try {
+            final BulkRequestBuilder bulkRequestBuilder = client.prepareBulk();
+            for (final Map.Entry<String, Map<String, Object>> entry : sources.entrySet()) {
+                final XContentBuilder builder = JsonXContent.contentBuilder().map(entry.getValue());
+                builder.flush();
+                bulkRequestBuilder
+                        .add(client.prepareUpdate().setIndex(actualIndex).setId(entry.getKey()).setDocAsUpsert(true).setDoc(builder));
+            }
+            executeBulk(actualIndex, bulkRequestBuilder);
+        } catch (final SuggestSettingsException e) {
+            throw e;
+        } catch (final Exception e) {
+            throw new SuggestSettingsException("Failed to add to array.", e);
+        }
+    }
+
+    /**
+     * Delete values from array index in a single bulk request with a single refresh.
+     * @param index Index
+     * @param type Type
+     * @param ids IDs
+     */
+    protected void deleteAllFromArray(final String index, final String type, final Collection<String> ids) {
+        final String actualIndex = index + "." + type.toLowerCase(Locale.ENGLISH);
+        try {
+            final BulkRequestBuilder bulkRequestBuilder = client.prepareBulk();
+            for (final String id : ids) {
+                bulkRequestBuilder.add(client.prepareDelete().setIndex(actualIndex).setId(id));
+            }
+            executeBulk(actualIndex, bulkRequestBuilder);
+        } catch (final SuggestSettingsException e) {
+            throw e;
+        } catch (final Exception e) {
+            throw new SuggestSettingsException("Failed to delete from array.", e);
+        }
+    }
+
+    /**
+     * Execute a bulk request, refresh the index and mark cached values as stale.
+     * @param actualIndex Actual index name
+     * @param bulkRequestBuilder Bulk request builder
+     */
+    protected void executeBulk(final String actualIndex, final BulkRequestBuilder bulkRequestBuilder) {
+        if (bulkRequestBuilder.numberOfActions() == 0) {
+            return;
+        }
+        final BulkResponse response = bulkRequestBuilder.execute().actionGet(settings.getBulkTimeout());
+        client.admin().indices().prepareRefresh().setIndices(actualIndex).execute().actionGet(settings.getIndicesTimeout());
+        invalidateCache(actualIndex);
+        if (response.hasFailures()) {
+            throw new SuggestSettingsException("Failed to update " + actualIndex + ": " + response.buildFailureMessage());
+        }
+    }
+
     /**
      * Delete values from array index.
      * @param index Index
@@ -305,6 +514,7 @@ public class ArraySettings {
         final String actualIndex = index + "." + type.toLowerCase(Locale.ENGLISH);
         try {
             SuggestUtil.deleteByQuery(client, settings, actualIndex, QueryBuilders.termQuery(FieldNames.ARRAY_KEY, key));
+            invalidateCache(actualIndex);
         } catch (final Exception e) {
             throw new SuggestSettingsException("Failed to delete all from array.", e);
         }
@@ -321,6 +531,7 @@ public class ArraySettings {
         try {
             client.prepareDelete().setIndex(actualIndex).setId(id).execute().actionGet(settings.getIndexTimeout());
             client.admin().indices().prepareRefresh().setIndices(actualIndex).execute().actionGet(settings.getIndicesTimeout());
+            invalidateCache(actualIndex);
         } catch (final Exception e) {
             throw new SuggestSettingsException("Failed to delete from array.", e);
         }
@@ -401,4 +612,65 @@ public class ArraySettings {
         return sb.toString().replaceAll(Pattern.quote("${fess.dictionary.path}"), dictionaryPath);
     }
 
+    /**
+     * Wrap a source, and the lists in it, as unmodifiable so that it can be cached and shared.
+     * @param source Source
+     * @return Unmodifiable source
+     */
+    private static Map<String, Object> toUnmodifiableSource(final Map<String, Object> source) {
+        source.replaceAll((name, value) -> value instanceof final List<?> list ? Collections.unmodifiableList(list) : value);
+        return Collections.unmodifiableMap(source);
+    }
+
+    /**
+     * Cached values of a key.
+     * The sources are unmodifiable, so they can be shared with callers.
+     */
+    protected static class CacheEntry {
+        /** Sources by document ID. */
+        protected final Map<String, Map<String, Object>> sources;
+        /** Sources sorted by timestamp and value. */
+        protected final Map<String, Object>[] array;
+        /** Latest timestamp in epoch milliseconds, or {@link Long#MIN_VALUE} if none. */
+        protected final long maxTimestamp;
+        /** Time when the entry was last checked against the index. */
+        protected volatile long checkedTime = System.currentTimeMillis();
+
+        /**
+         * Constructor.
+         * @param sources Sources by document ID
+         */
+        @SuppressWarnings("unchecked")
+        protected CacheEntry(final Map<String, Map<String, Object>> sources) {
+            this.sources = sources;
+            final List<Tuple<Instant, Map<String, Object>>> list = new ArrayList<>(sources.size());
+            long max = Long.MIN_VALUE;
+            for (final Map<String, Object> source : sources.values()) {
+                final Instant timestamp = parseTimestamp(source.get(FieldNames.TIMESTAMP));
+                if (timestamp != null) {
+                    max = Math.max(max, timestamp.toEpochMilli());
+                }
+                list.add(new Tuple<>(timestamp, source));
+            }
+            maxTimestamp = max;
+            final Comparator<Tuple<Instant, Map<String, Object>>> comparator =
+                    Comparator.comparing(Tuple::v1, Comparator.nullsFirst(Comparator.<Instant> naturalOrder()));
+            list.sort(comparator.thenComparing(t -> String.valueOf(t.v2().get(FieldNames.ARRAY_VALUE))));
+            array = new Map[list.size()];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = list.get(i).v2();
+            }
+        }
+
+        private static Instant parseTimestamp(final Object value) {
+            if (value == null) {
+                return null;
+            }
+            try {
+                return Instant.parse(value.toString());
+            } catch (final DateTimeParseException e) {
+                return null;
+            }
+        }
+    }
 }
@@ -18,6 +18,7 @@ package org.codelibs.fess.suggest.settings;
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import org.apache.logging.log4j.LogManager;
@@ -96,6 +97,24 @@ public class BadWordSettings {
         arraySettings.add(BAD_WORD_SETTINGS_KEY, badWord);
     }
 
+    /**
+     * Add bad words in a single bulk request.
+     * @param badWords Bad words
+     */
+    public void addAll(final Collection<String> badWords) {
+        for (final String badWord : badWords) {
+            final String validationError = getValidationError(badWord);
+            if (validationError != null) {
+                throw new IllegalArgumentException("Validation error: " + validationError);
+            }
+        }
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Adding bad words: index={}, size={}", arraySettings.arraySettingsIndexName, badWords.size());
+        }
+        arraySettings.addAll(BAD_WORD_SETTINGS_KEY, badWords);
+    }
+
     /**
      * Delete a bad word.
      * @param badWord Bad word
@@ -117,6 +136,17 @@ public class BadWordSettings {
         arraySettings.delete(BAD_WORD_SETTINGS_KEY);
     }
 
+    /**
+     * Delete bad words in a single bulk request.
+     * @param badWords Bad words
+     */
+    public void deleteAll(final Collection<String> badWords) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Deleting bad words: index={}, size={}", arraySettings.arraySettingsIndexName, badWords.size());
+        }
+        arraySettings.deleteAll(BAD_WORD_SETTINGS_KEY, badWords);
+    }
+
     /**
      * Get validation error.
      * @param badWord Bad word
@@ -15,9 +15,11 @@
  */
 package org.codelibs.fess.suggest.settings;
 
-import java.time.ZonedDateTime;
+import java.time.Instant;
 import java.time.format.DateTimeFormatter;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -45,7 +47,9 @@ import org.opensearch.transport.client.Client;
  * <ul>
  *   <li>{@code get()} - Retrieves an array of elevate words from the settings.</li>
  *   <li>{@code add(ElevateWord elevateWord)} - Adds a new elevate word to the settings.</li>
+ *   <li>{@code addAll(Collection elevateWords)} - Adds elevate words in a single bulk request.</li>
  *   <li>{@code delete(String elevateWord)} - Deletes an elevate word from the settings.</li>
+ *   <li>{@code deleteAll(Collection elevateWords)} - Deletes elevate words in a single bulk request.</li>
  *   <li>{@code deleteAll()} - Deletes all elevate words from the settings.</li>
  * </ul>
  *
@@ -141,6 +145,38 @@ public class ElevateWordSettings {
                     elevateWord.getElevateWord(), elevateWord.getBoost());
         }
 
+        arraySettings.addToArrayIndex(arraySettings.arraySettingsIndexName, arraySettings.settingsId,
+                arraySettings.createId(ELEVATE_WORD_SETTINGS_KEY, elevateWord.getElevateWord()),
+                createSource(elevateWord, Instant.now()));
+    }
+
+    /**
+     * Add elevate words in a single bulk request.
+     * Timestamps increase in iteration order, so {@link #get()} returns the words in that order.
+     * @param elevateWords Elevate words
+     */
+    public void addAll(final Collection<ElevateWord> elevateWords) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Adding elevate words: index={}, size={}", arraySettings.arraySettingsIndexName, elevateWords.size());
+        }
+
+        final Instant now = Instant.now();
+        final Map<String, Map<String, Object>> sources = new LinkedHashMap<>();
+        int i = 0;
+        for (final ElevateWord elevateWord : elevateWords) {
+            sources.put(arraySettings.createId(ELEVATE_WORD_SETTINGS_KEY, elevateWord.getElevateWord()),
+                    createSource(elevateWord, now.plusNanos(i++)));
+        }
+        arraySettings.addAllToArrayIndex(arraySettings.arraySettingsIndexName, arraySettings.settingsId, sources);
+    }
+
+    /**
+     * Create the source of an elevate word.
+     * @param elevateWord Elevate word
+     * @param timestamp Timestamp
+     * @return Source
+     */
+    protected Map<String, Object> createSource(final ElevateWord elevateWord, final Instant timestamp) {
         final Map<String, Object> source = new HashMap<>();
         source.put(FieldNames.ARRAY_KEY, ELEVATE_WORD_SETTINGS_KEY);
         source.put(FieldNames.ARRAY_VALUE, elevateWord.getElevateWord());
@@ -149,10 +185,8 @@ public class ElevateWordSettings {
         source.put(ELEVATE_WORD_FIELDS, elevateWord.getFields());
         source.put(ELEVATE_WORD_TAGS, elevateWord.getTags());
         source.put(ELEVATE_WORD_ROLES, elevateWord.getRoles());
-        source.put(FieldNames.TIMESTAMP, DateTimeFormatter.ISO_INSTANT.format(ZonedDateTime.now()));
-
-        arraySettings.addToArrayIndex(arraySettings.arraySettingsIndexName, arraySettings.settingsId,
-                arraySettings.createId(ELEVATE_WORD_SETTINGS_KEY, elevateWord.getElevateWord()), source);
+        source.put(FieldNames.TIMESTAMP, DateTimeFormatter.ISO_INSTANT.format(timestamp));
+        return source;
     }
 
     /**
@@ -166,6 +200,17 @@ public class ElevateWordSettings {
         arraySettings.delete(ELEVATE_WORD_SETTINGS_KEY, elevateWord);
     }
 
+    /**
+     * Delete elevate words in a single bulk request.
+     * @param elevateWords Elevate words
+     */
+    public void deleteAll(final Collection<String> elevateWords) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Deleting elevate words: index={}, size={}", arraySettings.arraySettingsIndexName, elevateWords.size());
+        }
+        arraySettings.deleteAll(ELEVATE_WORD_SETTINGS_KEY, elevateWords);
+    }
+
     /**
      * Delete all elevate words.
      */
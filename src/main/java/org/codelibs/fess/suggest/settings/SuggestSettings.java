@@ -20,7 +20,9 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
@@ -49,6 +51,11 @@ import org.opensearch.transport.client.Client;
  *
  * <p>It also includes a nested TimeoutSettings class to manage various timeout configurations.</p>
  *
+ * <p>Settings are read from an immutable in-memory snapshot of the settings document.
+ * Once {@code cacheInterval} milliseconds have passed since the snapshot was validated, the next read
+ * checks the document's sequence number and reloads the snapshot only if the document has changed.
+ * {@link #set(String, Object)} reloads the snapshot immediately.</p>
+ *
  * <p>Usage example:</p>
  * <pre>
  * {@code
@@ -133,6 +140,12 @@ public class SuggestSettings {
     /** The timeout settings. */
     protected org.codelibs.fess.suggest.settings.TimeoutSettings timeoutSettings;
 
+    /** Interval in milliseconds after which the snapshot is validated against the settings document. */
+    protected long cacheInterval = 10000L;
+
+    /** The current snapshot of the settings document. */
+    protected volatile Snapshot snapshot;
+
     private ArraySettings arraySettings;
     private BadWordSettings badWordSettings;
     private ElevateWordSettings elevateWordSettings;
@@ -233,7 +246,9 @@ public class SuggestSettings {
 
             final List<Tuple<String, Object>> defaultArraySettings = defaultArraySettings();
             defaultArraySettings.addAll(arraySettings);
-            defaultArraySettings.forEach(t -> array().add(t.v1(), t.v2()));
+            final Map<String, List<Object>> arrayValues = new LinkedHashMap<>();
+            defaultArraySettings.forEach(t -> arrayValues.computeIfAbsent(t.v1(), k -> new ArrayList<>()).add(t.v2()));
+            arrayValues.forEach((key, values) -> array().addAll(key, values));
         }
     }
 
@@ -243,13 +258,80 @@ public class SuggestSettings {
      * @return The setting value, or null if not found.
      */
     public Object get(final String key) {
+        return getSnapshot().source.get(key);
+    }
+
+    /**
+     * Returns the current snapshot, validating it if {@code cacheInterval} has passed.
+     * @return The snapshot.
+     */
+    protected Snapshot getSnapshot() {
+        final Snapshot current = snapshot;
+        if (current != null && System.currentTimeMillis() - current.validatedTime < cacheInterval) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot != current) {
+                return snapshot;
+            }
+            snapshot = loadSnapshot(current);
+            return snapshot;
+        }
+    }
+
+    /**
+     * Loads a snapshot. If the settings document has not changed since the given snapshot was loaded,
+     * only its sequence number is fetched and the given snapshot is reused.
+     * @param current The current snapshot, or null to load unconditionally.
+     * @return The loaded snapshot.
+     */
+    protected Snapshot loadSnapshot(final Snapshot current) {
+        if (current != null) {
+            final GetResponse versionResponse = client.prepareGet()
+                    .setIndex(settingsIndexName)
+                    .setId(settingsId)
+                    .setFetchSource(false)
+                    .execute()
+                    .actionGet(getSearchTimeout());
+            if (versionResponse.isExists() && versionResponse.getSeqNo() == current.seqNo
+                    && versionResponse.getPrimaryTerm() == current.primaryTerm) {
+                return new Snapshot(current.source, current.seqNo, current.primaryTerm);
+            }
+        }
+
         final GetResponse getResponse =
                 client.prepareGet().setIndex(settingsIndexName).setId(settingsId).execute().actionGet(getSearchTimeout());
         if (!getResponse.isExists()) {
-            return null;
+            return new Snapshot(Collections.emptyMap(), -1L, 0L);
         }
-        final Map<String, Object> map = getResponse.getSource();
-        return map.get(key);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Loaded suggest settings: index={}, settingsId={}, seqNo={}", settingsIndexName, settingsId,
+                    getResponse.getSeqNo());
+        }
+        return new Snapshot(Collections.unmodifiableMap(getResponse.getSource()), getResponse.getSeqNo(), getResponse.getPrimaryTerm());
+    }
+
+    /**
+     * Reloads the snapshot from the settings document.
+     */
+    public void reload() {
+        final Snapshot loaded = loadSnapshot(null);
+        synchronized (this) {
+            final Snapshot current = snapshot;
+            if (current == null || loaded.primaryTerm > current.primaryTerm
+                    || loaded.primaryTerm == current.primaryTerm && loaded.seqNo >= current.seqNo) {
+                snapshot = loaded;
+            }
+        }
+    }
+
+    /**
+     * Sets the interval in milliseconds after which the snapshot is validated against the settings document.
+     * Set 0 to validate on every read.
+     * @param cacheInterval The interval in milliseconds.
+     */
+    public void setCacheInterval(final long cacheInterval) {
+        this.cacheInterval = cacheInterval;
     }
 
     private <T> T getAs(final String key, final T defaultValue, final Function<String, T> parser) {
@@ -326,6 +408,7 @@ public class SuggestSettings {
                     .execute()
                     .actionGet(getIndexTimeout());
             client.admin().indices().prepareRefresh().setIndices(settingsIndexName).execute().actionGet(getIndicesTimeout());
+            reload();
         } catch (final Exception e) {
             throw new SuggestSettingsException("Failed to update suggestSettings.", e);
         }
@@ -352,6 +435,7 @@ public class SuggestSettings {
                     .execute()
                     .actionGet(getIndexTimeout());
             client.admin().indices().prepareRefresh().setIndices(settingsIndexName).execute().actionGet(getIndicesTimeout());
+            reload();
         } catch (final Exception e) {
             throw new SuggestSettingsException("Failed to update suggestSettings.", e);
         }
@@ -534,8 +618,36 @@ public class SuggestSettings {
         public static final String PARALLEL_PROCESSING = "parallel";
         /** Max content length key. */
         public static final String MAX_CONTENT_LENGTH = "maxContentLength";
+        /** Document item buffer size key. */
+        public static final String DOCUMENT_ITEM_BUFFER_SIZE = "documentItemBufferSize";
 
         private DefaultKeys() {
         }
     }
+
+    /**
+     * An immutable snapshot of the settings document.
+     */
+    protected static class Snapshot {
+        /** The settings document source. */
+        protected final Map<String, Object> source;
+        /** The sequence number of the document. */
+        protected final long seqNo;
+        /** The primary term of the document. */
+        protected final long primaryTerm;
+        /** The time the snapshot was validated. */
+        protected final long validatedTime = System.currentTimeMillis();
+
+        /**
+         * Constructs a new {@link Snapshot}.
+         * @param source The settings document source.
+         * @param seqNo The sequence number of the document.
+         * @param primaryTerm The primary term of the document.
+         */
+        protected Snapshot(final Map<String, Object> source, final long seqNo, final long primaryTerm) {
+            this.source = source;
+            this.seqNo = seqNo;
+            this.primaryTerm = primaryTerm;
+        }
+    }
 }
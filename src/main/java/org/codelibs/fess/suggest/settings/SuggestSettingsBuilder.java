@@ -41,6 +41,9 @@ public class SuggestSettingsBuilder {
     /** The initial settings. */
     protected Map<String, Object> initialSettings = new HashMap<>();
 
+    /** Interval in milliseconds after which cached settings are validated, or a negative value for the default. */
+    protected long cacheInterval = -1L;
+
     /**
      * Sets the settings index name.
      * @param settingsIndexName The settings index name.
@@ -122,6 +125,16 @@ public class SuggestSettingsBuilder {
         return this;
     }
 
+    /**
+     * Sets the interval in milliseconds after which cached settings are validated against the settings document.
+     * @param cacheInterval The interval in milliseconds. 0 validates on every read.
+     * @return This builder instance.
+     */
+    public SuggestSettingsBuilder cacheInterval(final long cacheInterval) {
+        this.cacheInterval = cacheInterval;
+        return this;
+    }
+
     /**
      * Builds a SuggestSettings instance.
      * @param client The OpenSearch client.
@@ -129,6 +142,10 @@ public class SuggestSettingsBuilder {
      * @return A SuggestSettings instance.
      */
     public SuggestSettings build(final Client client, final String id) {
-        return new SuggestSettings(client, id, initialSettings, settingsIndexName, timeoutSettings);
+        final SuggestSettings settings = new SuggestSettings(client, id, initialSettings, settingsIndexName, timeoutSettings);
+        if (cacheInterval >= 0) {
+            settings.setCacheInterval(cacheInterval);
+        }
+        return settings;
     }
 }
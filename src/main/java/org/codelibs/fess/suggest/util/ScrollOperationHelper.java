@@ -17,14 +17,20 @@ package org.codelibs.fess.suggest.util;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
+import org.codelibs.fess.suggest.exception.SuggesterException;
 import org.codelibs.fess.suggest.settings.SuggestSettings;
+import org.opensearch.action.search.SearchRequestBuilder;
 import org.opensearch.action.search.SearchResponse;
 import org.opensearch.transport.client.Client;
 import org.opensearch.index.query.QueryBuilder;
 import org.opensearch.search.SearchHit;
+import org.opensearch.search.slice.SliceBuilder;
 
 /**
  * Helper class for scroll-based search operations in OpenSearch.
@@ -35,6 +41,7 @@ import org.opensearch.search.SearchHit;
  * <li>{@link #scrollSearch(Client, SuggestSettings, String, QueryBuilder, int, HitProcessor)} - Collects results into a list</li>
  * <li>{@link #scrollSearchWithCallback(Client, SuggestSettings, String, QueryBuilder, int, Consumer)} - Processes each hit individually</li>
  * <li>{@link #scrollSearchWithBatchCallback(Client, SuggestSettings, String, QueryBuilder, int, BiConsumer)} - Processes hits in batches</li>
+ * <li>{@link #scrollSearchSlicedWithCallback(Client, SuggestSettings, String, QueryBuilder, int, int, Executor, Consumer)} - Processes slices concurrently</li>
  * </ul>
  */
 public final class ScrollOperationHelper {
@@ -122,14 +129,54 @@ public final class ScrollOperationHelper {
      */
     public static void scrollSearchWithCallback(final Client client, final SuggestSettings settings, final String index,
             final QueryBuilder query, final int pageSize, final Consumer<SearchHit> hitCallback) {
+        scrollSlice(client, settings, index, query, pageSize, null, hitCallback);
+    }
 
-        SearchResponse response = client.prepareSearch()
-                .setIndices(index)
-                .setScroll(settings.getScrollTimeout())
-                .setQuery(query)
-                .setSize(pageSize)
-                .execute()
-                .actionGet(settings.getSearchTimeout());
+    /**
+     * Performs a sliced scroll search, reading each slice concurrently on the given executor.
+     * The callback is invoked from multiple threads and must be thread-safe.
+     * Hits are passed in no particular order.
+     *
+     * @param client The OpenSearch client
+     * @param settings The suggest settings containing timeout configurations
+     * @param index The index name to search
+     * @param query The query to execute
+     * @param pageSize The number of hits per scroll page
+     * @param numSlices The number of slices; values below 2 fall back to a single scroll
+     * @param executor The executor that runs each slice
+     * @param hitCallback The callback to process each search hit
+     */
+    public static void scrollSearchSlicedWithCallback(final Client client, final SuggestSettings settings, final String index,
+            final QueryBuilder query, final int pageSize, final int numSlices, final Executor executor,
+            final Consumer<SearchHit> hitCallback) {
+        if (numSlices < 2) {
+            scrollSearchWithCallback(client, settings, index, query, pageSize, hitCallback);
+            return;
+        }
+
+        final CompletableFuture<?>[] futures = new CompletableFuture<?>[numSlices];
+        for (int i = 0; i < numSlices; i++) {
+            final SliceBuilder slice = new SliceBuilder(i, numSlices);
+            futures[i] = CompletableFuture.runAsync(() -> scrollSlice(client, settings, index, query, pageSize, slice, hitCallback),
+                    executor);
+        }
+        try {
+            CompletableFuture.allOf(futures).join();
+        } catch (final CompletionException e) {
+            final Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new SuggesterException("Failed to scroll " + index + " with " + numSlices + " slices.", cause);
+        }
+    }
+
+    private static void scrollSlice(final Client client, final SuggestSettings settings, final String index, final QueryBuilder query,
+            final int pageSize, final SliceBuilder slice, final Consumer<SearchHit> hitCallback) {
+
+        final SearchRequestBuilder builder =
+                client.prepareSearch().setIndices(index).setScroll(settings.getScrollTimeout()).setQuery(query).setSize(pageSize);
+        if (slice != null) {
+            builder.slice(slice);
+        }
+        SearchResponse response = builder.execute().actionGet(settings.getSearchTimeout());
         String scrollId = response.getScrollId();
 
         try {
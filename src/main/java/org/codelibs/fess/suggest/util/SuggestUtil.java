@@ -35,6 +35,7 @@ import org.apache.lucene.search.Query;
 import org.apache.lucene.search.TermQuery;
 import org.codelibs.core.CoreLibConstants;
 import org.codelibs.fess.suggest.converter.AnalyzerConverter;
+import org.codelibs.fess.suggest.converter.KatakanaConverter;
 import org.codelibs.fess.suggest.converter.KatakanaToAlphabetConverter;
 import org.codelibs.fess.suggest.converter.ReadingConverter;
 import org.codelibs.fess.suggest.converter.ReadingConverterChain;
@@ -49,6 +50,7 @@ import org.opensearch.action.bulk.BulkRequestBuilder;
 import org.opensearch.action.bulk.BulkResponse;
 import org.opensearch.action.delete.DeleteRequest;
 import org.opensearch.action.search.SearchResponse;
+import org.opensearch.common.hash.MurmurHash3;
 import org.opensearch.common.xcontent.json.JsonXContent;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.xcontent.XContentBuilder;
@@ -65,8 +67,21 @@ public final class SuggestUtil {
 
     private static final Base64.Encoder encoder = Base64.getEncoder();
 
+    private static final Base64.Encoder hashEncoder = Base64.getUrlEncoder().withoutPadding();
+
     private static final int ID_MAX_LENGTH = 445;
 
+    /** System property selecting the suggest ID type. Set to {@code hash} to use hashed IDs. */
+    public static final String ID_TYPE_PROPERTY = "fess.suggest.id.type";
+
+    private static volatile boolean hashedTextId = "hash".equals(System.getProperty(ID_TYPE_PROPERTY));
+
+    /**
+     * System property selecting the default reading converter. Set to {@code kuromoji} to generate readings in process
+     * with {@link KatakanaConverter} instead of analyze requests.
+     */
+    public static final String READING_CONVERTER_PROPERTY = "fess.suggest.reading.converter";
+
     /**
      * Private constructor to prevent instantiation.
      */
@@ -77,11 +92,15 @@ public final class SuggestUtil {
      * Creates a unique identifier for the given text by encoding it to a Base64 string.
      * If the encoded string exceeds the maximum allowed length, it truncates the string
      * to the specified maximum length.
+     * If hashed IDs are enabled, returns {@link #createHashedSuggestTextId(String)} instead.
      *
      * @param text the input text to be encoded
      * @return the encoded string, truncated if necessary
      */
     public static String createSuggestTextId(final String text) {
+        if (hashedTextId) {
+            return createHashedSuggestTextId(text);
+        }
         final String id = encoder.encodeToString(text.getBytes(CoreLibConstants.CHARSET_UTF_8));
         if (id.length() > ID_MAX_LENGTH) {
             return id.substring(0, ID_MAX_LENGTH);
@@ -89,6 +108,45 @@ public final class SuggestUtil {
         return id;
     }
 
+    /**
+     * Creates a fixed-length identifier for the given text from the 128-bit MurmurHash3 of its UTF-8 bytes,
+     * encoded as 22 characters of URL-safe Base64.
+     *
+     * @param text the input text to be hashed
+     * @return the hashed identifier
+     */
+    public static String createHashedSuggestTextId(final String text) {
+        final byte[] bytes = text.getBytes(CoreLibConstants.CHARSET_UTF_8);
+        final MurmurHash3.Hash128 hash = MurmurHash3.hash128(bytes, 0, bytes.length, 0, new MurmurHash3.Hash128());
+        final byte[] id = new byte[16];
+        for (int i = 0; i < 8; i++) {
+            id[i] = (byte) (hash.h1 >>> 56 - i * 8);
+            id[i + 8] = (byte) (hash.h2 >>> 56 - i * 8);
+        }
+        return hashEncoder.encodeToString(id);
+    }
+
+    /**
+     * Enables or disables hashed suggest IDs for this JVM.
+     * All suggesters sharing an index must use the same setting; an existing index is converted
+     * by {@link org.codelibs.fess.suggest.Suggester#reindexToNextIndex()}.
+     * The default is taken from the system property {@value #ID_TYPE_PROPERTY}.
+     *
+     * @param hashed true to use hashed IDs
+     */
+    public static void setHashedSuggestTextId(final boolean hashed) {
+        hashedTextId = hashed;
+    }
+
+    /**
+     * Checks if hashed suggest IDs are enabled.
+     *
+     * @return true if hashed IDs are used
+     */
+    public static boolean isHashedSuggestTextId() {
+        return hashedTextId;
+    }
+
     /**
      * Parses the given query string and returns an array of keywords.
      *
@@ -235,6 +293,8 @@ public final class SuggestUtil {
     /**
      * Creates a default ReadingConverter with a chain of converters.
      * The chain includes an AnalyzerConverter and a KatakanaToAlphabetConverter.
+     * If the system property {@value #READING_CONVERTER_PROPERTY} is {@code kuromoji}, a {@link KatakanaConverter}
+     * is used instead of the AnalyzerConverter.
      *
      * @param client   the client to be used by the AnalyzerConverter
      * @param settings the settings to be used by the AnalyzerConverter
@@ -242,11 +302,24 @@ public final class SuggestUtil {
      */
     public static ReadingConverter createDefaultReadingConverter(final Client client, final SuggestSettings settings) {
         final ReadingConverterChain chain = new ReadingConverterChain();
-        chain.addConverter(new AnalyzerConverter(client, settings));
+        if ("kuromoji".equals(System.getProperty(READING_CONVERTER_PROPERTY))) {
+            chain.addConverter(createKatakanaConverter());
+        } else {
+            chain.addConverter(new AnalyzerConverter(client, settings));
+        }
         chain.addConverter(new KatakanaToAlphabetConverter());
         return chain;
     }
 
+    private static ReadingConverter createKatakanaConverter() {
+        try {
+            Class.forName("org.apache.lucene.analysis.ja.JapaneseTokenizer", false, SuggestUtil.class.getClassLoader());
+        } catch (final ClassNotFoundException e) {
+            throw new SuggesterException("lucene-analysis-kuromoji is required for " + READING_CONVERTER_PROPERTY + "=kuromoji", e);
+        }
+        return new KatakanaConverter();
+    }
+
     /**
      * Creates a default ReadingConverterChain with a KatakanaToAlphabetConverter.
      *
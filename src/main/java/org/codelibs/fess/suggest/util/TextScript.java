@@ -0,0 +1,92 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.fess.suggest.util;
+
+/**
+ * Classifies a text by the characters it is written in, so that callers can decide whether
+ * an analyzer round trip is needed for it.
+ *
+ * <ul>
+ *   <li>{@link #LATIN}: ASCII letters and digits separated by spaces.</li>
+ *   <li>{@link #KANA}: Hiragana and Katakana, including the prolonged sound mark, separated by spaces or ideographic spaces.</li>
+ *   <li>{@link #OTHER}: Anything else, including blank text and a mix of the above.</li>
+ * </ul>
+ */
+public enum TextScript {
+    /** ASCII letters and digits. */
+    LATIN,
+    /** Hiragana and Katakana. */
+    KANA,
+    /** Any other text. */
+    OTHER;
+
+    /**
+     * Returns the script of a text.
+     * @param text The text.
+     * @return The script.
+     */
+    public static TextScript of(final String text) {
+        if (text == null) {
+            return OTHER;
+        }
+        boolean hasLatin = false;
+        boolean hasKana = false;
+        boolean hasIdeographicSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (isLatin(c)) {
+                hasLatin = true;
+            } else if (isKana(c)) {
+                hasKana = true;
+            } else if (c == '\u3000') {
+                hasIdeographicSpace = true;
+            } else if (c != ' ') {
+                return OTHER;
+            }
+        }
+        if (hasLatin && !hasKana && !hasIdeographicSpace) {
+            return LATIN;
+        }
+        if (hasKana && !hasLatin) {
+            return KANA;
+        }
+        return OTHER;
+    }
+
+    /**
+     * Checks whether a character belongs to this script, separators included.
+     * @param c The character.
+     * @return True if the character can appear in a text of this script.
+     */
+    public boolean accepts(final char c) {
+        switch (this) {
+        case LATIN:
+            return isLatin(c) || c == ' ';
+        case KANA:
+            return isKana(c) || c == ' ' || c == '\u3000';
+        default:
+            return true;
+        }
+    }
+
+    private static boolean isLatin(final char c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9';
+    }
+
+    private static boolean isKana(final char c) {
+        return c >= 'ぁ' && c <= 'ゖ' || c >= 'ァ' && c <= 'ヺ' || c == 'ー';
+    }
+}
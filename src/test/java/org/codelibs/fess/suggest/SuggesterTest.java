@@ -43,6 +43,7 @@ import org.codelibs.fess.suggest.request.popularwords.PopularWordsResponse;
 import org.codelibs.fess.suggest.request.suggest.SuggestResponse;
 import org.codelibs.fess.suggest.settings.AnalyzerSettings;
 import org.codelibs.fess.suggest.settings.SuggestSettings;
+import org.codelibs.fess.suggest.util.SuggestUtil;
 import org.codelibs.opensearch.runner.OpenSearchRunner;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -751,6 +752,76 @@ public class SuggesterTest {
         assertEquals(1, count);
     }
 
+    @Test
+    public void test_reindexToNextIndex() throws Exception {
+        SuggestItem[] items = getItemSet1();
+        suggester.indexer().index(items);
+        suggester.refresh();
+        String text = items[0].getText();
+        assertTrue(runner.client().prepareGet().setIndex(suggester.getIndex()).setId(SuggestUtil.createSuggestTextId(text)).get().isExists());
+
+        SuggestUtil.setHashedSuggestTextId(true);
+        try {
+            long count = suggester.reindexToNextIndex();
+            assertEquals(suggester.getAllWordsNum(), count);
+            assertTrue(
+                    runner.client().prepareGet().setIndex(suggester.getIndex()).setId(SuggestUtil.createSuggestTextId(text)).get().isExists());
+
+            SuggestResponse response = suggester.suggest().setQuery("kensaku").setSuggestDetail(true).execute().getResponse();
+            assertEquals(1, response.getNum());
+        } finally {
+            SuggestUtil.setHashedSuggestTextId(false);
+            suggester.removeDisableIndices();
+        }
+    }
+
+    @Test
+    public void test_reindexToNextIndexFailure() throws Exception {
+        SuggestItem[] items = getItemSet1();
+        suggester.indexer().index(items);
+        // a word without text cannot be parsed, so copying fails
+        runner.client()
+                .prepareIndex()
+                .setIndex(suggester.getIndex())
+                .setId("broken")
+                .setSource(Collections.singletonMap(FieldNames.DOC_FREQ, 1))
+                .setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE)
+                .execute()
+                .actionGet();
+        suggester.refresh();
+        long wordNum = suggester.getAllWordsNum();
+        List<String> indices = getSuggestIndices();
+
+        try {
+            suggester.reindexToNextIndex();
+            fail();
+        } catch (RuntimeException e) {
+            // expected
+        }
+
+        assertEquals(indices, getSuggestIndices());
+        assertEquals(wordNum, suggester.getAllWordsNum());
+
+        // the update alias still points to the search index
+        SuggestItem item = new SuggestItem(new String[] { "追加" }, new String[][] { { "tsuika" } }, new String[] { "content" }, 1, 0, -1,
+                null, null, null, SuggestItem.Kind.DOCUMENT);
+        suggester.indexer().index(item);
+        suggester.refresh();
+        assertEquals(wordNum + 1, suggester.getAllWordsNum());
+    }
+
+    private List<String> getSuggestIndices() {
+        GetIndexResponse getIndexResponse = runner.client().admin().indices().prepareGetIndex().execute().actionGet();
+        List<String> indices = new ArrayList<>();
+        for (String index : getIndexResponse.getIndices()) {
+            if (index.startsWith(suggester.getIndex())) {
+                indices.add(index);
+            }
+        }
+        Collections.sort(indices);
+        return indices;
+    }
+
     private SuggestItem[] getItemSet1() {
         SuggestItem[] queryItems = new SuggestItem[3];
 
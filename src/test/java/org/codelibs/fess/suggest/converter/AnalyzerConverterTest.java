@@ -16,14 +16,19 @@
 package org.codelibs.fess.suggest.converter;
 
 import static org.codelibs.opensearch.runner.OpenSearchRunner.newConfigs;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
+import java.util.HashSet;
 import java.util.List;
 
 import org.codelibs.fess.suggest.Suggester;
 import org.codelibs.fess.suggest.settings.SuggestSettings;
+import org.codelibs.fess.suggest.util.TextScript;
 import org.codelibs.opensearch.runner.OpenSearchRunner;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -204,7 +209,10 @@ public class AnalyzerConverterTest {
         List<String> results = converter.convert(text, field, "en", "ja");
 
         assertNotNull(results);
-        // With multiple languages, should use ReadingConverterChain
+        // The original text comes first, followed by the readings in language order
+        assertEquals(text, results.get(0));
+        assertEquals(new HashSet<>(results).size(), results.size());
+        assertSame(converter.getLangConverter("en"), converter.getLangConverter("en"));
     }
 
     @Test
@@ -366,4 +374,41 @@ public class AnalyzerConverterTest {
 
         assertNotNull(results);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testCombinedReadingAnalysis() throws IOException {
+        // One explained request must give the same readings as separate reading and term requests
+        AnalyzerConverter separateConverter = new AnalyzerConverter(client, settings) {
+            @Override
+            protected boolean isCombinable(final String readingAnalyzer, final String readingTermAnalyzer) {
+                return false;
+            }
+        };
+
+        for (String lang : new String[] { "en", "ja" }) {
+            for (String text : new String[] { "test text", "テスト", "ひらがな", "test テスト 123" }) {
+                assertEquals(separateConverter.convert(text, "content", lang), converter.convert(text, "content", lang));
+            }
+        }
+        assertTrue(converter.isCombinable("reading_analyzer", "reading_analyzer"));
+    }
+
+    @Test
+    public void testLocalReadings() throws IOException {
+        // Readings built without the analyzers must match the analyzed readings
+        AnalyzerConverter remoteConverter = new AnalyzerConverter(client, settings) {
+            @Override
+            protected boolean isLocalReading(final String readingAnalyzer, final String readingTermAnalyzer, final TextScript script) {
+                return false;
+            }
+        };
+
+        assertTrue(converter.isLocalReading("reading_analyzer_en", "reading_term_analyzer_en", TextScript.LATIN));
+        assertFalse(converter.isLocalReading("reading_analyzer_en", "reading_term_analyzer_en", TextScript.OTHER));
+        assertFalse(converter.isLocalReading("reading_analyzer_ja", "reading_term_analyzer_ja", TextScript.LATIN));
+
+        for (String text : new String[] { "test text", " fess 15 ", "けんさく", "テスト です" }) {
+            assertEquals(remoteConverter.convert(text, "content", "en"), converter.convert(text, "content", "en"));
+        }
+    }
+}
@@ -15,13 +15,78 @@
  */
 package org.codelibs.fess.suggest.converter;
 
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.codelibs.fess.suggest.constants.SuggestConstants;
+
 import junit.framework.TestCase;
 
 public class KatakanaConverterTest extends TestCase {
     public void test_convert() throws Exception {
-        /*
-         * TODO ReadingConverter converter = new KatakanaConverter(); converter.init(); assertEquals("ケンサク",
-         * converter.convert("検索").get(0));
-         */
+        ReadingConverter converter = new KatakanaConverter();
+        converter.init();
+        assertEquals("ケンサク", converter.convert("検索", null).get(0));
+        assertEquals("ケンサクエンジン", converter.convert("検索エンジン", null).get(0));
+        assertEquals("カタカナ", converter.convert("かたかな", null).get(0));
+        assertEquals("", converter.convert("", null).get(0));
+    }
+
+    public void test_convertKeepsNonJapanese() throws Exception {
+        ReadingConverter converter = new KatakanaConverter();
+        converter.init();
+        assertEquals("fess ケンサク", converter.convert("fess 検索", null).get(0));
+    }
+
+    public void test_userDictionary() throws Exception {
+        File dict = File.createTempFile("userdict", ".txt");
+        dict.deleteOnExit();
+        Files.write(dict.toPath(), "全文検索,全文検索,ゼンブンサーチ,カスタム名詞\n".getBytes(StandardCharsets.UTF_8));
+        System.setProperty(SuggestConstants.USER_DICT_PATH, dict.getAbsolutePath());
+        try {
+            ReadingConverter converter = new KatakanaConverter();
+            converter.init();
+            assertEquals("ゼンブンサーチ", converter.convert("全文検索", null).get(0));
+        } finally {
+            System.clearProperty(SuggestConstants.USER_DICT_PATH);
+        }
+    }
+
+    public void test_close() throws Exception {
+        KatakanaConverter converter = new KatakanaConverter();
+        converter.init();
+        assertEquals("ケンサク", converter.convert("検索", null).get(0));
+        assertEquals("エンジン", converter.convert("エンジン", null).get(0));
+        assertEquals(1, converter.tokenizerPool.size());
+
+        converter.close();
+        assertTrue(converter.tokenizerPool.isEmpty());
+        assertEquals("ケンサク", converter.convert("検索", null).get(0));
+    }
+
+    public void test_convertConcurrently() throws Exception {
+        ReadingConverter converter = new KatakanaConverter();
+        converter.init();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                futures.add(executor.submit(() -> converter.convert("検索", null).get(0)));
+            }
+            for (Future<String> future : futures) {
+                assertEquals("ケンサク", future.get());
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        assertTrue(((KatakanaConverter) converter).tokenizerPool.size() <= 4);
     }
 }
@@ -15,8 +15,12 @@
  */
 package org.codelibs.fess.suggest.converter;
 
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 
+import com.ibm.icu.text.Transliterator;
+
 import junit.framework.TestCase;
 
 public class KatakanaToAlphabetConverterTest extends TestCase {
@@ -175,4 +179,27 @@ public class KatakanaToAlphabetConverterTest extends TestCase {
             assertFalse(result.contains("ａ")); // Full-width a
         }
     }
+
+    public void test_convertOrder() {
+        List<String> results = converter.convert("シチ", null);
+        assertEquals(Arrays.asList("siti", "shiti", "sichi", "shichi"), results);
+    }
+
+    public void test_convertMaxReadingNum() {
+        // expansion stops once the number of readings reaches getMaxReadingNum()
+        List<String> results = converter.convert("シシシシシ", null);
+        assertEquals(16, results.size());
+        assertEquals("sisisisisi", results.get(0));
+        assertEquals(new HashSet<>(results).size(), results.size());
+    }
+
+    public void test_convertFullWidthAscii() {
+        assertEquals(Arrays.asList("tesutoabc 1"), converter.convert("テストＡｂＣ　１", null));
+        assertEquals(Arrays.asList("abc"), converter.convert("ABC", null));
+    }
+
+    public void test_convertWithTransliteration() {
+        String longVowel = Transliterator.getInstance("Fullwidth-Halfwidth").transliterate("ー");
+        assertEquals(Arrays.asList("ra" + longVowel + "menn"), converter.convert("ラーメン", null));
+    }
 }
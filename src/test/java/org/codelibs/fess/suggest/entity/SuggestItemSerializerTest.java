@@ -17,12 +17,19 @@ package org.codelibs.fess.suggest.entity;
 
 import static org.junit.Assert.*;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.codelibs.fess.suggest.constants.FieldNames;
 import org.junit.Test;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.common.xcontent.XContentHelper;
+import org.opensearch.common.xcontent.json.JsonXContent;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.xcontent.XContentBuilder;
 
 /**
  * Unit tests for SuggestItemSerializer.
@@ -93,6 +100,29 @@ public class SuggestItemSerializerTest {
         assertTrue(json.contains("json test"));
     }
 
+    @Test
+    public void testToJson_nullArraysAsEmpty() {
+        SuggestItem item = new SuggestItem(new String[] { "json test" }, new String[][] { { "reading" } }, new String[] { "field" }, 1L,
+                1L, 1.0f, new String[0], new String[0], null, SuggestItem.Kind.DOCUMENT);
+        item.setReadings(new String[][] { null });
+        item.setTags(null);
+        item.setRoles(null);
+        item.setLanguages(null);
+
+        String json = SuggestItemSerializer.toJson(item);
+        Map<String, Object> map = XContentHelper.convertToMap(JsonXContent.jsonXContent, json, false);
+
+        assertEquals(List.of(), map.get(FieldNames.READING_PREFIX + 0));
+        assertEquals(List.of(), map.get(FieldNames.TAGS));
+        assertEquals(List.of(), map.get(FieldNames.ROLES));
+        assertEquals(List.of(), map.get(FieldNames.LANGUAGES));
+
+        SuggestItem parsed = SuggestItemSerializer.fromSource(map);
+        assertEquals(1, parsed.getReadings().length);
+        assertEquals(0, parsed.getReadings()[0].length);
+        assertEquals(0, parsed.getTags().length);
+    }
+
     @Test
     public void testToUpdatedSource() {
         String[] text = { "updated" };
@@ -138,4 +168,53 @@ public class SuggestItemSerializerTest {
         assertTrue(source.containsKey(FieldNames.SCORE));
         assertTrue(source.containsKey(FieldNames.TIMESTAMP));
     }
+
+    @Test
+    public void testToXContent_sameAsToSource() throws Exception {
+        String[][] readings = { { "r1", "r2", "r1" }, null };
+        SuggestItem item = new SuggestItem(new String[] { "xcontent" }, readings, new String[] { "field" }, 3L, 2L, 1.5f,
+                new String[] { "tag1", "tag2" }, new String[] { "role1" }, new String[] { "ja" }, SuggestItem.Kind.DOCUMENT);
+        item.setKinds(new SuggestItem.Kind[] { SuggestItem.Kind.DOCUMENT, SuggestItem.Kind.QUERY });
+
+        Map<String, Object> expected = parse(XContentFactory.jsonBuilder().map(SuggestItemSerializer.toSource(item)));
+        Map<String, Object> actual = parse(SuggestItemSerializer.toXContent(item, XContentFactory.jsonBuilder()));
+
+        assertEquals(expected, actual);
+        assertEquals(Arrays.asList("r1", "r2"), actual.get(FieldNames.READING_PREFIX + 0));
+        assertTrue(actual.containsKey(FieldNames.READING_PREFIX + 1));
+        assertNull(actual.get(FieldNames.READING_PREFIX + 1));
+    }
+
+    @Test
+    public void testToUpdatedXContent_sameAsToUpdatedSource() throws Exception {
+        String[][] readings = { { "r2", "r3" } };
+        SuggestItem item = new SuggestItem(new String[] { "xcontent" }, readings, new String[] { "field2" }, 3L, 2L, 1.0f,
+                new String[] { "tag1", "tag3", "tag3" }, new String[] { "role1" }, null, SuggestItem.Kind.QUERY);
+
+        Map<String, Object> expected =
+                parse(XContentFactory.jsonBuilder().map(SuggestItemSerializer.toUpdatedSource(item, createExisting())));
+        Map<String, Object> actual =
+                parse(SuggestItemSerializer.toUpdatedXContent(item, createExisting(), XContentFactory.jsonBuilder()));
+
+        assertEquals(expected, actual);
+        assertEquals(Arrays.asList("r1", "r2", "r3"), actual.get(FieldNames.READING_PREFIX + 0));
+        assertEquals(Arrays.asList("tag1", "tag3"), actual.get(FieldNames.TAGS));
+        assertEquals(Arrays.asList("document", "query"), actual.get(FieldNames.KINDS));
+        assertEquals(12L, ((Number) actual.get(FieldNames.QUERY_FREQ)).longValue());
+    }
+
+    private Map<String, Object> createExisting() {
+        Map<String, Object> existing = new HashMap<>();
+        existing.put(FieldNames.READING_PREFIX + 0, new ArrayList<>(List.of("r1", "r2")));
+        existing.put(FieldNames.FIELDS, new ArrayList<>(List.of("field1")));
+        existing.put(FieldNames.TAGS, new ArrayList<>(List.of("tag1")));
+        existing.put(FieldNames.KINDS, new ArrayList<>(List.of("document")));
+        existing.put(FieldNames.QUERY_FREQ, 10L);
+        existing.put(FieldNames.DOC_FREQ, 1L);
+        return existing;
+    }
+
+    private Map<String, Object> parse(XContentBuilder builder) {
+        return XContentHelper.convertToMap(JsonXContent.jsonXContent, BytesReference.bytes(builder).utf8ToString(), false);
+    }
 }
@@ -19,6 +19,8 @@ import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.time.ZonedDateTime;
@@ -28,6 +30,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.codelibs.fess.suggest.constants.FieldNames;
+import org.codelibs.fess.suggest.util.SuggestUtil;
 import org.junit.Test;
 
 public class SuggestItemTest {
@@ -420,4 +423,46 @@ public class SuggestItemTest {
 
         SuggestItem.merge(item1, item2); // Should throw IllegalArgumentException
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testLazyIdAndTimestamp() {
+        String[] fields = { "content" };
+        SuggestItem item1 = new SuggestItem(new String[] { "lazy" }, new String[][] { { "lazy" } }, fields, 1L, 0L, 1.0f, null, null, null,
+                SuggestItem.Kind.DOCUMENT);
+        SuggestItem item2 = new SuggestItem(new String[] { "lazy" }, new String[][] { { "lazy" } }, fields, 1L, 0L, 1.0f, null, null, null,
+                SuggestItem.Kind.DOCUMENT);
+
+        assertEquals(SuggestUtil.createSuggestTextId("lazy"), item1.getId());
+        assertEquals(item1.getTimestampMillis(), item1.getTimestamp().toInstant().toEpochMilli());
+        assertNotNull(item1.toEmptyMap());
+
+        item1.setTimestampMillis(1000L);
+        assertEquals(1000L, item1.getTimestamp().toInstant().toEpochMilli());
+
+        SuggestItem merged = SuggestItem.merge(item1, item2);
+        assertArrayEquals(fields, merged.getFields());
+        assertNotSame(item1.getFields(), merged.getFields());
+        assertSame(item1.getRoles(), merged.getRoles());
+        assertEquals(item2.getTimestampMillis(), merged.getTimestampMillis());
+        assertEquals(2L, merged.getDocFreq());
+    }
+
+    @Test
+    public void testConstructorCopiesArrays() {
+        String[][] readings = { { "copy" } };
+        String[] fields = { "content" };
+        String[] tags = { "tag1" };
+        String[] roles = { "role1" };
+        SuggestItem item = new SuggestItem(new String[] { "copy" }, readings, fields, 1L, 0L, 1.0f, tags, roles, null,
+                SuggestItem.Kind.DOCUMENT);
+
+        readings[0][0] = "changed";
+        fields[0] = "changed";
+        tags[0] = "changed";
+        roles[0] = "changed";
+        assertEquals("copy", item.getReadings()[0][0]);
+        assertEquals("content", item.getFields()[0]);
+        assertEquals("tag1", item.getTags()[0]);
+        assertEquals("role1", item.getRoles()[0]);
+    }
+}
@@ -20,19 +20,30 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.codelibs.fess.suggest.Suggester;
 import org.codelibs.fess.suggest.constants.FieldNames;
 import org.codelibs.fess.suggest.constants.SuggestConstants;
 import org.codelibs.fess.suggest.entity.ElevateWord;
 import org.codelibs.fess.suggest.entity.SuggestItem;
+import org.codelibs.fess.suggest.exception.SuggesterException;
+import org.codelibs.fess.suggest.index.contents.document.DocumentReader;
 import org.codelibs.fess.suggest.index.contents.querylog.QueryLog;
+import org.codelibs.fess.suggest.index.throttle.AdaptiveIndexingThrottle;
+import org.codelibs.fess.suggest.index.writer.SuggestIndexWriter;
+import org.codelibs.fess.suggest.index.writer.SuggestWriterResult;
+import org.codelibs.fess.suggest.request.suggest.SuggestResponse;
 import org.codelibs.fess.suggest.settings.SuggestSettings;
 import org.codelibs.opensearch.runner.OpenSearchRunner;
 import org.junit.AfterClass;
@@ -41,7 +52,10 @@ import org.junit.BeforeClass;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TestName;
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.core.concurrency.OpenSearchRejectedExecutionException;
 import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.transport.client.Client;
 
 public class SuggestIndexerTest {
     static Suggester suggester;
@@ -451,6 +465,24 @@ public class SuggestIndexerTest {
         assertFalse(response.hasError());
     }
 
+    @Test
+    public void test_restoreManyElevateWords() throws Exception {
+        List<ElevateWord> elevateWords = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            elevateWords.add(new ElevateWord("word" + i, 2.0f, Collections.singletonList("word" + i), Collections.singletonList("content"),
+                    null, null));
+        }
+        suggester.settings().elevateWord().addAll(elevateWords);
+
+        SuggestIndexResponse response = suggester.indexer().restoreElevateWord();
+        suggester.refresh();
+
+        assertEquals(50, response.getNumberOfInputDocs());
+        assertFalse(response.hasError());
+        assertEquals(50, suggester.getAllWordsNum());
+        assertEquals(50, suggester.settings().elevateWord().get().length);
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     public void test_deleteOldWords() throws Exception {
@@ -704,4 +736,102 @@ public class SuggestIndexerTest {
         // Only Query should be deleted, User should remain
         assertEquals(1, suggester.getAllWordsNum());
     }
+
+    @Test
+    public void test_indexFromDocumentReaderRetriesRejectionInWriter() throws Exception {
+        SuggestSettings settings = suggester.settings();
+        settings.set(SuggestSettings.DefaultKeys.DOCUMENT_ITEM_BUFFER_SIZE, "1");
+        String field = settings.array().get(SuggestSettings.DefaultKeys.SUPPORTED_FIELDS)[0];
+
+        // the second bulk request is rejected and resubmitted by the writer only
+        AtomicInteger writeCount = new AtomicInteger();
+        AtomicInteger bulkCount = new AtomicInteger();
+        suggester.indexer().setSuggestWriter(new SuggestIndexWriter() {
+            @Override
+            public SuggestWriterResult write(final Client client, final SuggestSettings settings, final String index,
+                    final SuggestItem[] items, final boolean update) {
+                writeCount.incrementAndGet();
+                return super.write(client, settings, index, items, update);
+            }
+
+            @Override
+            protected BulkResponse executeBulk(final Client client, final SuggestSettings settings, final String index,
+                    final SuggestItem[] items, final boolean update) {
+                if (bulkCount.incrementAndGet() == 2) {
+                    throw new OpenSearchRejectedExecutionException("rejected execution of bulk");
+                }
+                return super.executeBulk(client, settings, index, items, update);
+            }
+        });
+
+        SuggestIndexResponse response = suggester.indexer()
+                .indexFromDocument(() -> createDocumentReader(field), new AdaptiveIndexingThrottle(10))
+                .getResponse(30, TimeUnit.SECONDS);
+        suggester.refresh();
+
+        assertEquals(3, response.getNumberOfInputDocs());
+        assertFalse(response.hasError());
+        assertEquals(writeCount.get() + 1, bulkCount.get());
+        SuggestResponse suggestResponse = suggester.suggest().setSize(100).setSuggestDetail(true).execute().getResponse();
+        assertTrue(suggestResponse.getItems().size() >= 3);
+        for (SuggestItem item : suggestResponse.getItems()) {
+            assertEquals(item.getText(), 1, item.getDocFreq());
+        }
+    }
+
+    @Test
+    public void test_indexFromDocumentReaderDoesNotResubmitRejectedBatch() throws Exception {
+        SuggestSettings settings = suggester.settings();
+        settings.set(SuggestSettings.DefaultKeys.DOCUMENT_ITEM_BUFFER_SIZE, "1");
+        String field = settings.array().get(SuggestSettings.DefaultKeys.SUPPORTED_FIELDS)[0];
+
+        // the second write is still rejected after the writer's own retries
+        AtomicInteger writeCount = new AtomicInteger();
+        suggester.indexer().setSuggestWriter(new SuggestIndexWriter() {
+            @Override
+            public SuggestWriterResult write(final Client client, final SuggestSettings settings, final String index,
+                    final SuggestItem[] items, final boolean update) {
+                if (writeCount.incrementAndGet() == 2) {
+                    throw new OpenSearchRejectedExecutionException("rejected execution of bulk");
+                }
+                return super.write(client, settings, index, items, update);
+            }
+        });
+
+        AdaptiveIndexingThrottle throttle = new AdaptiveIndexingThrottle(10);
+        try {
+            suggester.indexer().indexFromDocument(() -> createDocumentReader(field), throttle).getResponse(30, TimeUnit.SECONDS);
+            fail();
+        } catch (SuggesterException e) {
+            assertTrue(AdaptiveIndexingThrottle.isRejection(e));
+        }
+        suggester.refresh();
+
+        assertEquals(2, writeCount.get());
+        assertTrue(throttle.getDelay() > 0);
+        SuggestResponse suggestResponse = suggester.suggest().setSize(100).setSuggestDetail(true).execute().getResponse();
+        for (SuggestItem item : suggestResponse.getItems()) {
+            assertEquals(item.getText(), 1, item.getDocFreq());
+        }
+    }
+
+    private DocumentReader createDocumentReader(final String field) {
+        List<Map<String, Object>> documents = new ArrayList<>();
+        for (String content : new String[] { "検索", "エンジン", "テスト" }) {
+            documents.add(Collections.singletonMap(field, content));
+        }
+        return new DocumentReader() {
+            int pos = 0;
+
+            @Override
+            public Map<String, Object> read() {
+                return pos < documents.size() ? documents.get(pos++) : null;
+            }
+
+            @Override
+            public void close() {
+                // nothing
+            }
+        };
+    }
 }
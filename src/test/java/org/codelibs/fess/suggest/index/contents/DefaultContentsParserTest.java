@@ -16,12 +16,14 @@
 package org.codelibs.fess.suggest.index.contents;
 
 import static org.codelibs.opensearch.runner.OpenSearchRunner.newConfigs;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -281,4 +283,61 @@ public class DefaultContentsParserTest {
         }
     }
 
+    @Test
+    public void test_parseDocuments() throws Exception {
+        List<Map<String, Object>> documents = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Map<String, Object> document = new HashMap<>();
+            StringBuilder content = new StringBuilder();
+            for (int j = 0; j <= i * 30; j++) {
+                content.append("検索エンジン").append(i).append(" テスト ");
+            }
+            document.put("content", content.toString());
+            if (i % 3 == 0) {
+                document.put("title", "タイトル" + i);
+            }
+            if (i % 4 == 0) {
+                document.put("lang", "en");
+            }
+            document.put("label", "tag" + i);
+            documents.add(document);
+        }
+
+        SuggestAnalyzer analyzer = suggester.settings().analyzer().new DefaultContentsAnalyzer();
+        List<SuggestItem> expected = new ArrayList<>();
+        for (Map<String, Object> document : documents) {
+            expected.addAll(defaultContentsParser.parseDocument(document, supportedFields, tagFieldNames, roleFieldName, "lang",
+                    createDefaultReadingConverter(), createDefaultReadingConverter(), createDefaultNormalizer(), analyzer));
+        }
+        List<SuggestItem> items = defaultContentsParser.parseDocuments(documents, supportedFields, tagFieldNames, roleFieldName, "lang",
+                createDefaultReadingConverter(), createDefaultReadingConverter(), createDefaultNormalizer(), analyzer);
+
+        assertEquals(expected.size(), items.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getText(), items.get(i).getText());
+            assertArrayEquals(expected.get(i).getReadings()[0], items.get(i).getReadings()[0]);
+            assertArrayEquals(expected.get(i).getFields(), items.get(i).getFields());
+            assertArrayEquals(expected.get(i).getTags(), items.get(i).getTags());
+            assertArrayEquals(expected.get(i).getLanguages(), items.get(i).getLanguages());
+        }
+    }
+
+    @Test
+    public void test_analyzeTexts() throws Exception {
+        SuggestAnalyzer analyzer = suggester.settings().analyzer().new DefaultContentsAnalyzer();
+        List<String> texts = java.util.Arrays.asList("これはテストです。", "", "検索エンジン", "テスト テスト");
+
+        List<List<AnalyzeToken>> results = analyzer.analyzeTexts(texts, "content", null);
+
+        assertEquals(texts.size(), results.size());
+        for (int i = 0; i < texts.size(); i++) {
+            List<AnalyzeToken> expected = analyzer.analyze(texts.get(i), "content", null);
+            assertEquals(expected.size(), results.get(i).size());
+            for (int j = 0; j < expected.size(); j++) {
+                assertEquals(expected.get(j).getTerm(), results.get(i).get(j).getTerm());
+                assertEquals(expected.get(j).getStartOffset(), results.get(i).get(j).getStartOffset());
+                assertEquals(expected.get(j).getEndOffset(), results.get(i).get(j).getEndOffset());
+            }
+        }
+    }
 }
@@ -17,8 +17,13 @@ package org.codelibs.fess.suggest.index.contents.document;
 
 import static org.codelibs.opensearch.runner.OpenSearchRunner.newConfigs;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -28,6 +33,7 @@ import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.codelibs.fess.suggest.Suggester;
+import org.codelibs.fess.suggest.exception.SuggesterException;
 import org.codelibs.fess.suggest.settings.SuggestSettings;
 import org.codelibs.opensearch.runner.OpenSearchRunner;
 import org.junit.AfterClass;
@@ -226,6 +232,205 @@ public class ESSourceReaderTest {
         assertEquals(num, count);
     }
 
+    @Test
+    public void test_SlicedRead() throws Exception {
+        String indexName = "test-index";
+        Client client = runner.client();
+        SuggestSettings settings = suggester.settings();
+        int num = 10000;
+
+        addDocument(indexName, client, num);
+
+        SlicedESSourceReader reader = new SlicedESSourceReader(client, settings, indexName);
+        reader.setScrollSize(500);
+        reader.setSliceNum(4);
+        reader.setQueueCapacity(100);
+        int count = 0;
+        Set<String> valueSet = new HashSet<>();
+        Map<String, Object> source;
+        while ((source = reader.read()) != null) {
+            assertTrue(source.get("field1").toString().startsWith("test"));
+            valueSet.add(source.get("field1").toString());
+            count++;
+        }
+        reader.close();
+        assertEquals(num, count);
+        assertEquals(num, valueSet.size());
+    }
+
+    @Test
+    public void test_PitReadWithDefaultTiebreaker() throws Exception {
+        String indexName = "test-index";
+        Client client = runner.client();
+        SuggestSettings settings = suggester.settings();
+        int num = 300;
+
+        addDocument(indexName, client, num);
+
+        Set<String> valueSet = new HashSet<>();
+        PitESSourceReader reader = new PitESSourceReader(client, settings, indexName);
+        reader.setScrollSize(100);
+        Map<String, Object> source;
+        while ((source = reader.read()) != null) {
+            valueSet.add(source.get("field1").toString());
+        }
+        reader.close();
+        assertEquals(num, valueSet.size());
+    }
+
+    @Test
+    public void test_PitReadWithCheckpoint() throws Exception {
+        String indexName = "test-index";
+        Client client = runner.client();
+        SuggestSettings settings = suggester.settings();
+        int num = 1000;
+
+        addDocument(indexName, client, num);
+
+        Path checkpointPath = Files.createTempFile("suggest", ".checkpoint");
+        Files.delete(checkpointPath);
+        FileCheckpointStore store = new FileCheckpointStore(checkpointPath);
+
+        Set<String> valueSet = new HashSet<>();
+        PitESSourceReader reader = new PitESSourceReader(client, settings, indexName);
+        reader.setScrollSize(100);
+        reader.setTiebreakerField("field2");
+        reader.setCheckpointStore(store);
+        for (int i = 0; i < 250; i++) {
+            valueSet.add(reader.read().get("field1").toString());
+        }
+        reader.checkpoint();
+        reader.read();
+        reader.close();
+        assertTrue(Files.exists(checkpointPath));
+
+        reader = new PitESSourceReader(client, settings, indexName);
+        reader.setScrollSize(100);
+        reader.setTiebreakerField("field2");
+        reader.setCheckpointStore(store);
+        int count = 0;
+        Map<String, Object> source;
+        while ((source = reader.read()) != null) {
+            valueSet.add(source.get("field1").toString());
+            count++;
+        }
+        reader.checkpoint();
+        reader.close();
+        assertEquals(num - 250, count);
+        assertEquals(num, valueSet.size());
+        assertTrue(Files.exists(checkpointPath));
+
+        reader.complete();
+        assertFalse(Files.exists(checkpointPath));
+    }
+
+    @Test
+    public void test_PitResumeWithDefaultTiebreaker() throws Exception {
+        String indexName = "test-index";
+        Client client = runner.client();
+        SuggestSettings settings = suggester.settings();
+
+        addDocument(indexName, client, 100);
+
+        Path checkpointPath = Files.createTempFile("suggest", ".checkpoint");
+        Files.delete(checkpointPath);
+
+        PitESSourceReader reader = new PitESSourceReader(client, settings, indexName);
+        reader.setScrollSize(10);
+        reader.setCheckpointStore(new FileCheckpointStore(checkpointPath));
+        try {
+            reader.read();
+            fail();
+        } catch (SuggesterException e) {
+            assertTrue(e.getMessage().contains(PitESSourceReader.SHARD_DOC));
+        } finally {
+            reader.close();
+        }
+        assertFalse(Files.exists(checkpointPath));
+    }
+
+    @Test
+    public void test_PitResumeWithLimitNumber() throws Exception {
+        String indexName = "test-index";
+        Client client = runner.client();
+        SuggestSettings settings = suggester.settings();
+
+        addDocument(indexName, client, 1000);
+
+        Path checkpointPath = Files.createTempFile("suggest", ".checkpoint");
+        Files.delete(checkpointPath);
+        FileCheckpointStore store = new FileCheckpointStore(checkpointPath);
+
+        PitESSourceReader reader = new PitESSourceReader(client, settings, indexName);
+        reader.setScrollSize(100);
+        reader.setLimitNumber(300);
+        reader.setTiebreakerField("field2");
+        reader.setCheckpointStore(store);
+        for (int i = 0; i < 250; i++) {
+            assertNotNull(reader.read());
+        }
+        reader.checkpoint();
+        reader.close();
+        assertEquals(250, store.loadDocCount());
+
+        reader = new PitESSourceReader(client, settings, indexName);
+        reader.setScrollSize(100);
+        reader.setLimitNumber(300);
+        reader.setTiebreakerField("field2");
+        reader.setCheckpointStore(store);
+        int count = 0;
+        while (reader.read() != null) {
+            count++;
+        }
+        reader.checkpoint();
+        reader.close();
+        assertEquals(50, count);
+        assertEquals(300, store.loadDocCount());
+    }
+
+    @Test
+    public void test_ReadWithSourceFiltering() throws Exception {
+        String indexName = "test-index";
+        Client client = runner.client();
+        SuggestSettings settings = suggester.settings();
+        int num = 100;
+
+        addDocument(indexName, client, num);
+
+        ESSourceReader reader = new ESSourceReader(client, settings, indexName);
+        reader.setScrollSize(10);
+        reader.setSourceFiltering(true);
+        reader.addSourceField("field1");
+        reader.setDocumentSizeField("field2");
+        reader.setLimitOfDocumentSize(49);
+        int count = 0;
+        Map<String, Object> source;
+        while ((source = reader.read()) != null) {
+            assertTrue(source.containsKey("field1"));
+            assertFalse(source.containsKey("field2"));
+            count++;
+        }
+        assertEquals(50, count);
+    }
+
+    @Test
+    public void test_getTotalDocNumWithSizeFilter() throws Exception {
+        String indexName = "test-index";
+        Client client = runner.client();
+        SuggestSettings settings = suggester.settings();
+        int num = 100;
+
+        addDocument(indexName, client, num);
+
+        ESSourceReader reader = new ESSourceReader(client, settings, indexName);
+        assertEquals(num, reader.getTotalDocNum());
+
+        reader = new ESSourceReader(client, settings, indexName);
+        reader.setDocumentSizeField("field2");
+        reader.setLimitOfDocumentSize(49);
+        assertEquals(50, reader.getTotalDocNum());
+    }
+
     private void addDocument(String indexName, Client client, int num) {
         BulkRequestBuilder bulkRequestBuilder = client.prepareBulk();
         for (int i = 0; i < num; i++) {
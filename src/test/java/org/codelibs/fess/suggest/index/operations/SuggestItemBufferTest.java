@@ -0,0 +1,117 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.fess.suggest.index.operations;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.codelibs.fess.suggest.entity.SuggestItem;
+import org.junit.Test;
+
+public class SuggestItemBufferTest {
+
+    @Test
+    public void test_mergeItems() {
+        final List<SuggestItem[]> flushed = new ArrayList<>();
+        final SuggestItemBuffer buffer = new SuggestItemBuffer(10, flushed::add);
+
+        buffer.accept(createItem("検索"));
+        buffer.accept(createItem("検索"));
+        buffer.accept(createItem("全文"));
+        assertEquals(0, flushed.size());
+
+        buffer.flush();
+        assertEquals(1, flushed.size());
+        assertEquals(2, flushed.get(0).length);
+        assertEquals("検索", flushed.get(0)[0].getText());
+        assertEquals(2, flushed.get(0)[0].getDocFreq());
+        assertEquals(1, flushed.get(0)[1].getDocFreq());
+        assertEquals(3, buffer.getAcceptedCount());
+
+        buffer.flush();
+        assertEquals(1, flushed.size());
+    }
+
+    @Test
+    public void test_flushAtCapacity() {
+        final List<SuggestItem[]> flushed = new ArrayList<>();
+        final SuggestItemBuffer buffer = new SuggestItemBuffer(2, flushed::add);
+
+        buffer.accept(createItem("a"));
+        buffer.accept(createItem("a"));
+        assertEquals(0, flushed.size());
+        buffer.accept(createItem("b"));
+        assertEquals(1, flushed.size());
+        assertEquals(2, flushed.get(0).length);
+
+        buffer.accept(createItem("c"));
+        buffer.flush();
+        assertEquals(2, flushed.size());
+        assertEquals(1, flushed.get(1).length);
+        assertEquals(4, buffer.getAcceptedCount());
+    }
+
+    @Test
+    public void test_acceptDuringFlush() throws Exception {
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<SuggestItem[]> flushed = new CopyOnWriteArrayList<>();
+        final SuggestItemBuffer buffer = new SuggestItemBuffer(1, items -> {
+            flushed.add(items);
+            if (flushed.size() == 1) {
+                writing.countDown();
+                try {
+                    release.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+
+        final Thread thread = new Thread(() -> buffer.accept(createItem("a")));
+        thread.start();
+        assertTrue(writing.await(10, TimeUnit.SECONDS));
+
+        // the buffer lock is not held while the first write is in progress
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            assertEquals(1L, executor.submit(buffer::getAcceptedCount).get(10, TimeUnit.SECONDS).longValue());
+            executor.submit(buffer::flush).get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, flushed.size());
+
+        release.countDown();
+        thread.join(10000);
+        buffer.accept(createItem("b"));
+        assertEquals(2, flushed.size());
+        assertEquals(2, buffer.getAcceptedCount());
+    }
+
+    private SuggestItem createItem(final String text) {
+        return new SuggestItem(new String[] { text }, new String[][] { new String[] { text } }, new String[] { "content" }, 1, 0, -1,
+                new String[0], new String[0], null, SuggestItem.Kind.DOCUMENT);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.fess.suggest.index.throttle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.codelibs.fess.suggest.exception.SuggestIndexException;
+import org.junit.Test;
+import org.opensearch.OpenSearchStatusException;
+import org.opensearch.core.concurrency.OpenSearchRejectedExecutionException;
+import org.opensearch.core.rest.RestStatus;
+
+public class AdaptiveIndexingThrottleTest {
+
+    @Test
+    public void test_increaseWhenHealthy() {
+        AdaptiveIndexingThrottle throttle = new AdaptiveIndexingThrottle(100);
+        throttle.setIncreaseStep(10);
+
+        throttle.onBatch(100, 100, Collections.emptyList());
+        assertEquals(110, throttle.getBatchSize());
+        throttle.onBatch(110, 110, Collections.emptyList());
+        assertEquals(120, throttle.getBatchSize());
+        assertEquals(0, throttle.getDelay());
+    }
+
+    @Test
+    public void test_delayWhenSlow() {
+        AdaptiveIndexingThrottle throttle = new AdaptiveIndexingThrottle(100);
+        throttle.setDelayStep(100);
+
+        throttle.onBatch(100, 100, Collections.emptyList());
+        throttle.onBatch(110, 1100, Collections.emptyList());
+        assertEquals(110, throttle.getBatchSize());
+        assertEquals(100, throttle.getDelay());
+        throttle.onBatch(110, 1100, Collections.emptyList());
+        assertEquals(200, throttle.getDelay());
+
+        throttle.onBatch(110, 110, Collections.emptyList());
+        assertEquals(100, throttle.getDelay());
+    }
+
+    @Test
+    public void test_backOffOnRejection() {
+        AdaptiveIndexingThrottle throttle = new AdaptiveIndexingThrottle(100);
+        throttle.setDelayStep(100);
+        throttle.setMinBatchSize(10);
+
+        throttle.onBatch(100, 100, Collections.singletonList(
+                new SuggestIndexException("Bulk failure. retries exhausted", new OpenSearchRejectedExecutionException("queue is full"))));
+        assertEquals(50, throttle.getBatchSize());
+        assertEquals(100, throttle.getDelay());
+
+        throttle.onFailure(new RuntimeException(new RejectedExecutionException("queue is full")));
+        assertEquals(25, throttle.getBatchSize());
+        assertEquals(200, throttle.getDelay());
+
+        throttle.onFailure(new OpenSearchStatusException("too many requests", RestStatus.TOO_MANY_REQUESTS));
+        throttle.onFailure(new RejectedExecutionException("queue is full"));
+        assertEquals(10, throttle.getBatchSize());
+    }
+
+    @Test
+    public void test_noBackOffOnOtherFailure() {
+        AdaptiveIndexingThrottle throttle = new AdaptiveIndexingThrottle(100);
+        throttle.onFailure(new IllegalStateException("mapping error"));
+        assertEquals(100, throttle.getBatchSize());
+        assertEquals(0, throttle.getDelay());
+    }
+
+    @Test
+    public void test_isRejection() {
+        assertTrue(AdaptiveIndexingThrottle.isRejection(new OpenSearchRejectedExecutionException("rejected")));
+        assertTrue(AdaptiveIndexingThrottle.isRejection(new SuggestIndexException(new RejectedExecutionException("full"))));
+        assertTrue(AdaptiveIndexingThrottle.isRejection(new OpenSearchStatusException("busy", RestStatus.TOO_MANY_REQUESTS)));
+        // the message alone does not make a rejection
+        assertFalse(AdaptiveIndexingThrottle.isRejection(new SuggestIndexException("Bulk failure. rejected execution, TOO_MANY_REQUESTS")));
+        assertFalse(AdaptiveIndexingThrottle.isRejection(new OpenSearchStatusException("bad request", RestStatus.BAD_REQUEST)));
+    }
+
+    @Test
+    public void test_fixed() throws Exception {
+        IndexingThrottle throttle = IndexingThrottle.fixed(5, 0L);
+        throttle.onBatch(5, 1000, Collections.emptyList());
+        assertEquals(5, throttle.getBatchSize());
+        throttle.onFailure(new RejectedExecutionException("full"));
+        assertEquals(5, throttle.getBatchSize());
+        throttle.await();
+    }
+}
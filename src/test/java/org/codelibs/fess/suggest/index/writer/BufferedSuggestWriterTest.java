@@ -0,0 +1,194 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.fess.suggest.index.writer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.codelibs.fess.suggest.constants.SuggestConstants;
+import org.codelibs.fess.suggest.entity.SuggestItem;
+import org.codelibs.fess.suggest.exception.SuggestIndexException;
+import org.codelibs.fess.suggest.settings.SuggestSettings;
+import org.junit.Test;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.transport.client.Client;
+
+public class BufferedSuggestWriterTest {
+
+    @Test
+    public void test_mergeAndFlush() throws Exception {
+        final RecordingWriter delegate = new RecordingWriter();
+        try (BufferedSuggestWriter writer = new BufferedSuggestWriter(delegate, 60000L, 100)) {
+            for (int i = 0; i < 10; i++) {
+                final SuggestWriterResult result = writer.write(null, null, "index", new SuggestItem[] { createItem("fess") }, true);
+                assertFalse(result.hasFailure());
+            }
+            writer.write(null, null, "index", new SuggestItem[] { createItem("suggest") }, true);
+            assertEquals(0, delegate.written.size());
+            assertEquals(2, writer.getBufferedCount());
+
+            writer.flush();
+            assertEquals(0, writer.getBufferedCount());
+            assertEquals(2, delegate.written.size());
+            for (final SuggestItem item : delegate.written) {
+                if ("fess".equals(item.getText())) {
+                    assertEquals(10, item.getQueryFreq());
+                } else {
+                    assertEquals(1, item.getQueryFreq());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test_flushOnMaxBufferSize() throws Exception {
+        final RecordingWriter delegate = new RecordingWriter();
+        try (BufferedSuggestWriter writer = new BufferedSuggestWriter(delegate, 60000L, 3)) {
+            writer.write(null, null, "index", new SuggestItem[] { createItem("a"), createItem("b") }, true);
+            assertEquals(0, delegate.written.size());
+            writer.write(null, null, "index", new SuggestItem[] { createItem("c") }, true);
+            assertEquals(3, delegate.written.size());
+            assertEquals(0, writer.getBufferedCount());
+        }
+    }
+
+    @Test
+    public void test_flushBeforeDeleteAndClose() throws Exception {
+        final RecordingWriter delegate = new RecordingWriter();
+        final BufferedSuggestWriter writer = new BufferedSuggestWriter(delegate, 60000L, 100);
+        writer.write(null, null, "index", new SuggestItem[] { createItem("a") }, true);
+        writer.delete(null, null, "index", "id");
+        assertEquals(1, delegate.written.size());
+        assertEquals(1, delegate.deleteCount);
+
+        writer.write(null, null, "index", new SuggestItem[] { createItem("b") }, true);
+        writer.close();
+        assertEquals(2, delegate.written.size());
+    }
+
+    @Test
+    public void test_keepFailedItems() throws Exception {
+        final FailingWriter delegate = new FailingWriter();
+        try (BufferedSuggestWriter writer = new BufferedSuggestWriter(delegate, 60000L, 100)) {
+            writer.write(null, null, "index", new SuggestItem[] { createItem("a"), createItem("b") }, true);
+            delegate.failedTexts.add("b");
+            assertTrue(writer.flush().hasFailure());
+            assertEquals(1, delegate.written.size());
+            assertEquals("a", delegate.written.get(0).getText());
+            assertEquals(1, writer.getBufferedCount());
+
+            delegate.failedTexts.clear();
+            delegate.throwing = true;
+            writer.write(null, null, "index", new SuggestItem[] { createItem("b") }, true);
+            try {
+                writer.flush();
+                fail();
+            } catch (final SuggestIndexException e) {
+                // expected
+            }
+            assertEquals(1, writer.getBufferedCount());
+
+            delegate.throwing = false;
+            assertFalse(writer.flush().hasFailure());
+            assertEquals(2, delegate.written.size());
+            assertEquals("b", delegate.written.get(1).getText());
+            assertEquals(2, delegate.written.get(1).getQueryFreq());
+            assertEquals(0, writer.getBufferedCount());
+        }
+    }
+
+    @Test
+    public void test_dropPermanentFailures() throws Exception {
+        final FailingWriter delegate = new FailingWriter();
+        try (BufferedSuggestWriter writer = new BufferedSuggestWriter(delegate, 60000L, 100)) {
+            writer.write(null, null, "index", new SuggestItem[] { createItem("a"), createItem("b"), createItem("c") }, true);
+            delegate.failedTexts.add("b");
+            delegate.permanentTexts.add("c");
+            final SuggestWriterResult result = writer.flush();
+            assertEquals(2, result.getFailures().size());
+            assertEquals(1, writer.getBufferedCount());
+
+            delegate.failedTexts.clear();
+            assertFalse(writer.flush().hasFailure());
+            assertEquals(2, delegate.written.size());
+            assertEquals("b", delegate.written.get(1).getText());
+            assertEquals(0, writer.getBufferedCount());
+        }
+    }
+
+    private SuggestItem createItem(final String text) {
+        return new SuggestItem(new String[] { text }, new String[][] { new String[] { text } }, new String[] { "content" }, 0, 1, -1,
+                new String[] { "tag1" }, new String[] { SuggestConstants.DEFAULT_ROLE }, null, SuggestItem.Kind.QUERY);
+    }
+
+    static class RecordingWriter implements SuggestWriter {
+        final List<SuggestItem> written = new ArrayList<>();
+        int deleteCount = 0;
+
+        @Override
+        public synchronized SuggestWriterResult write(final Client client, final SuggestSettings settings, final String index,
+                final SuggestItem[] items, final boolean update) {
+            for (final SuggestItem item : items) {
+                written.add(item);
+            }
+            return new SuggestWriterResult();
+        }
+
+        @Override
+        public SuggestWriterResult delete(final Client client, final SuggestSettings settings, final String index, final String id) {
+            deleteCount++;
+            return new SuggestWriterResult();
+        }
+
+        @Override
+        public SuggestWriterResult deleteByQuery(final Client client, final SuggestSettings settings, final String index,
+                final QueryBuilder queryBuilder) {
+            return new SuggestWriterResult();
+        }
+    }
+
+    static class FailingWriter extends RecordingWriter {
+        final Set<String> failedTexts = new HashSet<>();
+        final Set<String> permanentTexts = new HashSet<>();
+        boolean throwing = false;
+
+        @Override
+        public synchronized SuggestWriterResult write(final Client client, final SuggestSettings settings, final String index,
+                final SuggestItem[] items, final boolean update) {
+            if (throwing) {
+                throw new SuggestIndexException("Failed to write.");
+            }
+            final SuggestWriterResult result = new SuggestWriterResult();
+            for (final SuggestItem item : items) {
+                if (failedTexts.contains(item.getText())) {
+                    result.addFailure(item.getId(), new SuggestIndexException("Bulk failure. retries exhausted, id=" + item.getId()), true);
+                } else if (permanentTexts.contains(item.getText())) {
+                    result.addFailure(item.getId(), new SuggestIndexException("Bulk failure. permanent, id=" + item.getId()));
+                } else {
+                    written.add(item);
+                }
+            }
+            return result;
+        }
+    }
+}
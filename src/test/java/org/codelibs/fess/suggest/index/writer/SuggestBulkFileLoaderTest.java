@@ -0,0 +1,192 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.fess.suggest.index.writer;
+
+import static org.codelibs.opensearch.runner.OpenSearchRunner.newConfigs;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.codelibs.fess.suggest.Suggester;
+import org.codelibs.fess.suggest.constants.FieldNames;
+import org.codelibs.fess.suggest.constants.SuggestConstants;
+import org.codelibs.fess.suggest.entity.SuggestItem;
+import org.codelibs.opensearch.runner.OpenSearchRunner;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opensearch.action.get.GetResponse;
+
+public class SuggestBulkFileLoaderTest {
+    static Suggester suggester;
+    static OpenSearchRunner runner;
+
+    private Path file;
+
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        runner = new OpenSearchRunner();
+        runner.onBuild((number, settingsBuilder) -> {
+            settingsBuilder.put("http.cors.enabled", true);
+            settingsBuilder.put("discovery.type", "single-node");
+        })
+                .build(newConfigs().clusterName("SuggestBulkFileLoaderTest")
+                        .numOfNode(1)
+                        .pluginTypes("org.codelibs.opensearch.extension.ExtensionPlugin"));
+        runner.ensureYellow();
+    }
+
+    @AfterClass
+    public static void afterClass() throws Exception {
+        runner.close();
+        runner.clean();
+    }
+
+    @Before
+    public void before() throws Exception {
+        suggester = Suggester.builder().build(runner.client(), "SuggestBulkFileLoaderTest");
+        suggester.createIndexIfNothing();
+        suggester.indexer().deleteAll();
+        suggester.refresh();
+        file = Files.createTempFile("suggest-bulk", ".ndjson.gz");
+    }
+
+    @After
+    public void after() throws Exception {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void test_load() throws Exception {
+        SuggestItem[] items = createItems(25);
+        try (SuggestBulkFileWriter fileWriter = new SuggestBulkFileWriter(file, true)) {
+            assertFalse(fileWriter.write(null, null, suggester.getIndex(), items, false).hasFailure());
+            assertEquals(25, fileWriter.getActionCount());
+        }
+
+        SuggestBulkFileLoader loader = new SuggestBulkFileLoader(runner.client(), suggester.settings());
+        loader.setBulkSize(10);
+        loader.setParallelism(2);
+        SuggestWriterResult result = loader.load(file);
+        assertFalse(result.hasFailure());
+        runner.refresh();
+
+        assertEquals(25, getCount());
+        GetResponse getResponse = runner.client().prepareGet().setIndex(suggester.getIndex()).setId(items[24].getId()).get();
+        assertTrue(getResponse.isExists());
+        assertEquals("bulk24", getResponse.getSourceAsMap().get(FieldNames.TEXT));
+    }
+
+    @Test
+    public void test_loadWithManyChunks() throws Exception {
+        SuggestItem[] items = createItems(200);
+        try (SuggestBulkFileWriter fileWriter = new SuggestBulkFileWriter(file, true)) {
+            fileWriter.write(null, null, suggester.getIndex(), items, false);
+        }
+
+        SuggestBulkFileLoader loader = new SuggestBulkFileLoader(runner.client(), suggester.settings());
+        loader.setBulkSize(1);
+        loader.setParallelism(4);
+        assertFalse(loader.load(file).hasFailure());
+        runner.refresh();
+
+        assertEquals(200, getCount());
+    }
+
+    @Test
+    public void test_loadWithDelete() throws Exception {
+        SuggestItem[] items = createItems(3);
+        try (SuggestBulkFileWriter fileWriter = new SuggestBulkFileWriter(file, true)) {
+            fileWriter.write(null, null, suggester.getIndex(), items, false);
+            fileWriter.delete(null, null, suggester.getIndex(), items[1].getId());
+        }
+
+        SuggestBulkFileLoader loader = new SuggestBulkFileLoader(runner.client(), suggester.settings());
+        loader.setBulkSize(2);
+        loader.setParallelism(1);
+        assertFalse(loader.load(file).hasFailure());
+        runner.refresh();
+
+        assertEquals(2, getCount());
+        assertFalse(runner.client().prepareGet().setIndex(suggester.getIndex()).setId(items[1].getId()).get().isExists());
+    }
+
+    @Test
+    public void test_loadWithItemsWrittenTwice() throws Exception {
+        try (SuggestBulkFileWriter fileWriter = new SuggestBulkFileWriter(file, true)) {
+            fileWriter.write(null, null, suggester.getIndex(), createItems(3), false);
+            fileWriter.write(null, null, suggester.getIndex(), createItems(1), false);
+        }
+
+        SuggestBulkFileLoader loader = new SuggestBulkFileLoader(runner.client(), suggester.settings());
+        loader.setBulkSize(1);
+        loader.setParallelism(2);
+        assertFalse(loader.load(file).hasFailure());
+        runner.refresh();
+
+        assertEquals(3, getCount());
+        SuggestItem[] items = createItems(2);
+        String index = suggester.getIndex();
+        Map<String, Object> source = runner.client().prepareGet().setIndex(index).setId(items[0].getId()).get().getSourceAsMap();
+        assertEquals(2, ((Number) source.get(FieldNames.DOC_FREQ)).intValue());
+        source = runner.client().prepareGet().setIndex(index).setId(items[1].getId()).get().getSourceAsMap();
+        assertEquals(1, ((Number) source.get(FieldNames.DOC_FREQ)).intValue());
+    }
+
+    @Test
+    public void test_loadWithFormattedActionLines() throws Exception {
+        SuggestItem[] items = createItems(2);
+        String index = suggester.getIndex();
+        // action lines with whitespace are parsed, not matched by prefix
+        String action0 = "{ \"index\" : { \"_index\" : \"" + index + "\", \"_id\" : \"" + items[0].getId() + "\" } }";
+        String action1 = "{\"index\":{\"_index\":\"" + index + "\",\"_id\":\"" + items[1].getId() + "\"}}";
+        String delete0 = "  { \"delete\" : { \"_index\" : \"" + index + "\", \"_id\" : \"" + items[0].getId() + "\" } }";
+        Files.write(file, List.of(action0, "{ \"text\" : \"bulk0\" }", delete0, action1, "{\"text\":\"bulk1\"}"), StandardCharsets.UTF_8);
+
+        SuggestBulkFileLoader loader = new SuggestBulkFileLoader(runner.client(), suggester.settings());
+        loader.setBulkSize(1);
+        loader.setParallelism(1);
+        assertFalse(loader.load(file).hasFailure());
+        runner.refresh();
+
+        assertEquals(1, getCount());
+        assertFalse(runner.client().prepareGet().setIndex(index).setId(items[0].getId()).get().isExists());
+        assertTrue(runner.client().prepareGet().setIndex(index).setId(items[1].getId()).get().isExists());
+    }
+
+    private long getCount() {
+        return runner.client().prepareSearch(suggester.getIndex()).setSize(0).get().getHits().getTotalHits().value();
+    }
+
+    private SuggestItem[] createItems(final int num) {
+        SuggestItem[] items = new SuggestItem[num];
+        for (int i = 0; i < items.length; i++) {
+            String[][] readings = new String[1][];
+            readings[0] = new String[] { "bulk" + i };
+            items[i] = new SuggestItem(new String[] { "bulk" + i }, readings, new String[] { "content" }, 1, 0, -1, new String[] { "tag1" },
+                    new String[] { SuggestConstants.DEFAULT_ROLE }, null, SuggestItem.Kind.DOCUMENT);
+        }
+        return items;
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.fess.suggest.index.writer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import org.codelibs.fess.suggest.constants.FieldNames;
+import org.codelibs.fess.suggest.constants.SuggestConstants;
+import org.codelibs.fess.suggest.entity.SuggestItem;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opensearch.common.xcontent.json.JsonXContent;
+import org.opensearch.core.xcontent.DeprecationHandler;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.index.query.QueryBuilders;
+
+public class SuggestBulkFileWriterTest {
+    private Path file;
+
+    @Before
+    public void before() throws Exception {
+        file = Files.createTempFile("suggest-bulk", ".ndjson");
+    }
+
+    @After
+    public void after() throws Exception {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void test_writeAndDelete() throws Exception {
+        try (SuggestBulkFileWriter writer = new SuggestBulkFileWriter(file)) {
+            assertFalse(writer.write(null, null, "index", new SuggestItem[] { createItem("a"), createItem("b") }, false).hasFailure());
+            assertFalse(writer.delete(null, null, "index", createItem("a").getId()).hasFailure());
+            assertEquals(2, writer.getActionCount());
+        }
+
+        final List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(3, lines.size());
+        assertAction(lines.get(0), "delete", createItem("a").getId());
+        assertAction(lines.get(1), "index", createItem("b").getId());
+        assertEquals("b", parse(lines.get(2)).get(FieldNames.TEXT));
+    }
+
+    @Test
+    public void test_mergeItemsAcrossWrites() throws Exception {
+        try (SuggestBulkFileWriter writer = new SuggestBulkFileWriter(file)) {
+            writer.write(null, null, "index", new SuggestItem[] { createItem("a"), createItem("b") }, false);
+            writer.write(null, null, "index", new SuggestItem[] { createItem("a") }, false);
+            assertEquals(2, writer.getActionCount());
+        }
+
+        final List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(4, lines.size());
+        assertAction(lines.get(0), "index", createItem("a").getId());
+        assertEquals(2, ((Number) parse(lines.get(1)).get(FieldNames.DOC_FREQ)).intValue());
+        assertAction(lines.get(2), "index", createItem("b").getId());
+        assertEquals(1, ((Number) parse(lines.get(3)).get(FieldNames.DOC_FREQ)).intValue());
+    }
+
+    @Test
+    public void test_mergeItemsInWrite() throws Exception {
+        try (SuggestBulkFileWriter writer = new SuggestBulkFileWriter(file)) {
+            writer.write(null, null, "index", new SuggestItem[] { createItem("a"), createItem("a") }, false);
+            assertEquals(1, writer.getActionCount());
+        }
+
+        final List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(2, lines.size());
+        assertEquals(2, ((Number) parse(lines.get(1)).get(FieldNames.DOC_FREQ)).intValue());
+    }
+
+    @Test
+    public void test_writeCompressed() throws Exception {
+        try (SuggestBulkFileWriter writer = new SuggestBulkFileWriter(file, true)) {
+            writer.write(null, null, "index", new SuggestItem[] { createItem("a") }, false);
+        }
+
+        final List<String> lines = new ArrayList<>();
+        try (BufferedReader reader =
+                new BufferedReader(new InputStreamReader(new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+        assertEquals(2, lines.size());
+        assertAction(lines.get(0), "index", createItem("a").getId());
+    }
+
+    @Test
+    public void test_deleteByQueryUnsupported() throws Exception {
+        try (SuggestBulkFileWriter writer = new SuggestBulkFileWriter(file)) {
+            writer.deleteByQuery(null, null, "index", QueryBuilders.matchAllQuery());
+            fail();
+        } catch (final UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void assertAction(final String line, final String action, final String id) throws Exception {
+        final Map<String, Object> map = parse(line);
+        assertEquals(1, map.size());
+        assertTrue(map.containsKey(action));
+        final Map<String, Object> meta = (Map<String, Object>) map.get(action);
+        assertEquals("index", meta.get("_index"));
+        assertEquals(id, meta.get("_id"));
+    }
+
+    private Map<String, Object> parse(final String line) throws Exception {
+        return JsonXContent.jsonXContent.createParser(NamedXContentRegistry.EMPTY, DeprecationHandler.THROW_UNSUPPORTED_OPERATION, line)
+                .map();
+    }
+
+    private SuggestItem createItem(final String text) {
+        return new SuggestItem(new String[] { text }, new String[][] { new String[] { text } }, new String[] { "content" }, 1, 0, -1,
+                new String[] { "tag1" }, new String[] { SuggestConstants.DEFAULT_ROLE }, null, SuggestItem.Kind.DOCUMENT);
+    }
+}
@@ -20,19 +20,32 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
 
 import org.codelibs.fess.suggest.Suggester;
 import org.codelibs.fess.suggest.constants.FieldNames;
 import org.codelibs.fess.suggest.constants.SuggestConstants;
 import org.codelibs.fess.suggest.entity.SuggestItem;
+import org.codelibs.fess.suggest.settings.SuggestSettings;
 import org.codelibs.opensearch.runner.OpenSearchRunner;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
+import org.opensearch.action.DocWriteRequest;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkResponse;
 import org.opensearch.action.get.GetResponse;
+import org.opensearch.action.index.IndexResponse;
 import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.concurrency.OpenSearchRejectedExecutionException;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.core.rest.RestStatus;
 import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.transport.client.Client;
 
 public class SuggestIndexWriterTest {
     private static final String TEST_ID = "SuggestIndexWriterTest";
@@ -403,4 +416,162 @@ public class SuggestIndexWriterTest {
         assertNotNull(mergedItems);
         assertEquals(3, mergedItems.length);
     }
+
+    @Test
+    public void test_getBackoff() throws Exception {
+        SuggestIndexWriter retryWriter = new SuggestIndexWriter();
+        retryWriter.setInitialBackoff(100);
+        retryWriter.setMaxBackoff(1000);
+
+        for (int i = 0; i < 100; i++) {
+            long backoff0 = retryWriter.getBackoff(0);
+            assertTrue(String.valueOf(backoff0), backoff0 >= 50 && backoff0 <= 100);
+            long backoff2 = retryWriter.getBackoff(2);
+            assertTrue(String.valueOf(backoff2), backoff2 >= 200 && backoff2 <= 400);
+            long backoff10 = retryWriter.getBackoff(10);
+            assertTrue(String.valueOf(backoff10), backoff10 >= 500 && backoff10 <= 1000);
+        }
+    }
+
+    @Test
+    public void test_writeWithoutFailureHasNoRetry() throws Exception {
+        SuggestIndexWriter retryWriter = new SuggestIndexWriter();
+        String[][] readings = new String[1][];
+        readings[0] = new String[] { "retry" };
+        SuggestItem item = new SuggestItem(new String[] { "リトライ" }, readings, new String[] { "content" }, 1, 0, -1,
+                new String[] { "tag1" }, new String[] { SuggestConstants.DEFAULT_ROLE }, null, SuggestItem.Kind.DOCUMENT);
+
+        SuggestWriterResult result =
+                retryWriter.write(runner.client(), suggester.settings(), suggester.getIndex(), new SuggestItem[] { item }, false);
+
+        assertFalse(result.hasFailure());
+        assertEquals(0, retryWriter.getRetryCount());
+        assertEquals(0, retryWriter.getFailedItemCount());
+    }
+
+    @Test
+    public void test_resubmitRetryableItems() throws Exception {
+        SuggestItem[] items = createItems("retry", 4);
+        ScriptedWriter retryWriter = new ScriptedWriter();
+        // first attempt: 429, 409 and 400 on items 1..3, second attempt succeeds
+        retryWriter.statuses.add(new RestStatus[] { null, RestStatus.TOO_MANY_REQUESTS, RestStatus.CONFLICT, RestStatus.BAD_REQUEST });
+        retryWriter.statuses.add(new RestStatus[] { null, null });
+
+        SuggestWriterResult result = retryWriter.write(null, suggester.settings(), suggester.getIndex(), items, false);
+
+        assertEquals(2, retryWriter.submitted.size());
+        assertEquals(4, retryWriter.submitted.get(0).size());
+        assertEquals(List.of(items[1].getId(), items[2].getId()), retryWriter.submitted.get(1));
+        assertEquals(1, result.getFailures().size());
+        assertTrue(result.getFailures().get(0).getMessage().contains("permanent"));
+        assertEquals(1, retryWriter.getRetryCount());
+        assertEquals(2, retryWriter.getRetriedItemCount());
+        assertEquals(2, retryWriter.getRecoveredItemCount());
+        assertEquals(1, retryWriter.getFailedItemCount());
+    }
+
+    @Test
+    public void test_giveUpAfterMaxRetryCount() throws Exception {
+        SuggestItem[] items = createItems("exhausted", 2);
+        ScriptedWriter retryWriter = new ScriptedWriter();
+        retryWriter.setMaxRetryCount(2);
+        retryWriter.statuses.add(new RestStatus[] { null, RestStatus.SERVICE_UNAVAILABLE });
+        retryWriter.statuses.add(new RestStatus[] { RestStatus.SERVICE_UNAVAILABLE });
+        retryWriter.statuses.add(new RestStatus[] { RestStatus.SERVICE_UNAVAILABLE });
+
+        SuggestWriterResult result = retryWriter.write(null, suggester.settings(), suggester.getIndex(), items, false);
+
+        assertEquals(3, retryWriter.submitted.size());
+        assertEquals(List.of(items[1].getId()), retryWriter.submitted.get(2));
+        assertEquals(1, result.getFailures().size());
+        assertTrue(result.getFailures().get(0).getMessage().contains("retries exhausted"));
+        assertEquals(2, retryWriter.getRetryCount());
+        assertEquals(0, retryWriter.getRecoveredItemCount());
+        assertEquals(1, retryWriter.getFailedItemCount());
+    }
+
+    @Test
+    public void test_resubmitRejectedRequest() throws Exception {
+        SuggestItem[] items = createItems("rejected", 3);
+        ScriptedWriter retryWriter = new ScriptedWriter();
+        retryWriter.statuses.add(null);
+        retryWriter.statuses.add(new RestStatus[] { null, null, null });
+
+        SuggestWriterResult result = retryWriter.write(null, suggester.settings(), suggester.getIndex(), items, false);
+
+        assertFalse(result.hasFailure());
+        assertEquals(2, retryWriter.submitted.size());
+        assertEquals(3, retryWriter.submitted.get(1).size());
+        assertEquals(1, retryWriter.getRetryCount());
+        assertEquals(3, retryWriter.getRecoveredItemCount());
+    }
+
+    @Test
+    public void test_throwOnlyWhenNothingWritten() throws Exception {
+        SuggestItem[] items = createItems("partial", 2);
+        ScriptedWriter retryWriter = new ScriptedWriter();
+        retryWriter.setMaxRetryCount(0);
+        retryWriter.statuses.add(null);
+        try {
+            retryWriter.write(null, suggester.settings(), suggester.getIndex(), items, false);
+            fail();
+        } catch (OpenSearchRejectedExecutionException e) {
+            // expected
+        }
+
+        retryWriter = new ScriptedWriter();
+        retryWriter.setMaxRetryCount(1);
+        retryWriter.statuses.add(new RestStatus[] { null, RestStatus.TOO_MANY_REQUESTS });
+        retryWriter.statuses.add(null);
+        SuggestWriterResult result = retryWriter.write(null, suggester.settings(), suggester.getIndex(), items, false);
+        assertEquals(1, result.getFailures().size());
+        assertEquals(1, retryWriter.getFailedItemCount());
+    }
+
+    private SuggestItem[] createItems(String prefix, int num) {
+        SuggestItem[] items = new SuggestItem[num];
+        for (int i = 0; i < num; i++) {
+            String[][] readings = new String[1][];
+            readings[0] = new String[] { prefix + i };
+            items[i] = new SuggestItem(new String[] { prefix + i }, readings, new String[] { "content" }, 1, 0, -1, new String[] { "tag1" },
+                    new String[] { SuggestConstants.DEFAULT_ROLE }, null, SuggestItem.Kind.DOCUMENT);
+        }
+        return items;
+    }
+
+    /**
+     * Writer answering each bulk with scripted item statuses; a null entry rejects the whole request.
+     */
+    static class ScriptedWriter extends SuggestIndexWriter {
+        final List<RestStatus[]> statuses = new ArrayList<>();
+        final List<List<String>> submitted = new ArrayList<>();
+
+        ScriptedWriter() {
+            setInitialBackoff(1);
+        }
+
+        @Override
+        protected BulkResponse executeBulk(Client client, SuggestSettings settings, String index, SuggestItem[] items, boolean update) {
+            final List<String> ids = new ArrayList<>();
+            for (SuggestItem item : items) {
+                ids.add(item.getId());
+            }
+            submitted.add(ids);
+            final RestStatus[] itemStatuses = statuses.get(submitted.size() - 1);
+            if (itemStatuses == null) {
+                throw new OpenSearchRejectedExecutionException("rejected execution of bulk");
+            }
+            final BulkItemResponse[] responses = new BulkItemResponse[items.length];
+            for (int i = 0; i < items.length; i++) {
+                if (itemStatuses[i] == null) {
+                    responses[i] = BulkItemResponse.success(i, DocWriteRequest.OpType.INDEX,
+                            new IndexResponse(new ShardId(index, "_na_", 0), items[i].getId(), 1, 1, 1, true));
+                } else {
+                    responses[i] = BulkItemResponse.failure(i, DocWriteRequest.OpType.INDEX, new BulkItemResponse.Failure(index,
+                            items[i].getId(), new Exception("failed: " + itemStatuses[i]), itemStatuses[i]));
+                }
+            }
+            return new BulkResponse(responses, 1);
+        }
+    }
 }
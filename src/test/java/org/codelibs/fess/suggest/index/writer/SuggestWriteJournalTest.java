@@ -0,0 +1,163 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.fess.suggest.index.writer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.codelibs.fess.suggest.constants.SuggestConstants;
+import org.codelibs.fess.suggest.entity.SuggestItem;
+import org.codelibs.fess.suggest.exception.SuggestIndexException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SuggestWriteJournalTest {
+    private Path path;
+
+    @Before
+    public void before() throws Exception {
+        path = Files.createTempFile("suggest-journal", ".bin");
+        Files.delete(path);
+    }
+
+    @After
+    public void after() throws Exception {
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    public void test_appendAndReplay() throws Exception {
+        try (SuggestWriteJournal journal = new SuggestWriteJournal(path, 1024)) {
+            for (int i = 0; i < 100; i++) {
+                journal.append("index", new SuggestItem[] { createItem("word" + i) });
+            }
+        }
+
+        final List<SuggestItem> items = new ArrayList<>();
+        try (SuggestWriteJournal journal = new SuggestWriteJournal(path, 1024)) {
+            assertEquals(100, journal.replay((index, item) -> {
+                assertEquals("index", index);
+                items.add(item);
+            }));
+        }
+        assertEquals("word0", items.get(0).getText());
+        assertEquals("word99", items.get(99).getText());
+        final SuggestItem item = items.get(1);
+        assertEquals(createItem("word1").getId(), item.getId());
+        assertArrayEquals(new String[] { "word1" }, item.getReadings()[0]);
+        assertArrayEquals(new String[] { "tag1" }, item.getTags());
+        assertArrayEquals(new SuggestItem.Kind[] { SuggestItem.Kind.QUERY }, item.getKinds());
+        assertEquals(1, item.getQueryFreq());
+    }
+
+    @Test
+    public void test_truncate() throws Exception {
+        try (SuggestWriteJournal journal = new SuggestWriteJournal(path, 1024)) {
+            journal.append("index", new SuggestItem[] { createItem("a"), createItem("b"), createItem("c") });
+            journal.truncate();
+            assertEquals(0, journal.size());
+            journal.append("index", new SuggestItem[] { createItem("d") });
+        }
+
+        final List<String> texts = new ArrayList<>();
+        try (SuggestWriteJournal journal = new SuggestWriteJournal(path, 1024)) {
+            journal.replay((index, item) -> texts.add(item.getText()));
+        }
+        assertEquals(List.of("d"), texts);
+    }
+
+    @Test
+    public void test_recoverBufferedWriter() throws Exception {
+        final BufferedSuggestWriterTest.RecordingWriter delegate = new BufferedSuggestWriterTest.RecordingWriter();
+        final BufferedSuggestWriter writer = new BufferedSuggestWriter(delegate, 60000L, 100, new SuggestWriteJournal(path, 1024));
+        writer.write(null, null, "index", new SuggestItem[] { createItem("a"), createItem("a") }, true);
+        // simulate a crash: the buffer is lost, but the journal file remains
+        writer.scheduler.shutdownNow();
+        writer.journal.close();
+
+        final BufferedSuggestWriter recovered = new BufferedSuggestWriter(delegate, 60000L, 100, new SuggestWriteJournal(path, 1024));
+        assertEquals(2, recovered.recover(null, null));
+        assertEquals(0, delegate.written.size());
+        assertEquals(1, recovered.getBufferedCount());
+
+        recovered.flush();
+        assertEquals(1, delegate.written.size());
+        assertEquals(2, delegate.written.get(0).getQueryFreq());
+        assertEquals(0, recovered.journal.size());
+        recovered.close();
+    }
+
+    @Test
+    public void test_appendLongText() throws Exception {
+        final String text = "a".repeat(70000) + "\u3042";
+        try (SuggestWriteJournal journal = new SuggestWriteJournal(path, 1024)) {
+            journal.append("index", new SuggestItem[] { createItem(text) });
+        }
+
+        final List<SuggestItem> items = new ArrayList<>();
+        try (SuggestWriteJournal journal = new SuggestWriteJournal(path, 1024)) {
+            journal.replay((index, item) -> items.add(item));
+        }
+        assertEquals(1, items.size());
+        assertEquals(text, items.get(0).getText());
+    }
+
+    @Test
+    public void test_appendWithoutKinds() throws Exception {
+        final SuggestItem item = createItem("a");
+        item.setKinds(new SuggestItem.Kind[0]);
+        try (SuggestWriteJournal journal = new SuggestWriteJournal(path, 1024)) {
+            try {
+                journal.append("index", new SuggestItem[] { item });
+                fail();
+            } catch (final SuggestIndexException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void test_keepRetryableItemsInJournal() throws Exception {
+        final BufferedSuggestWriterTest.FailingWriter delegate = new BufferedSuggestWriterTest.FailingWriter();
+        try (BufferedSuggestWriter writer = new BufferedSuggestWriter(delegate, 60000L, 100, new SuggestWriteJournal(path, 1024))) {
+            writer.write(null, null, "index", new SuggestItem[] { createItem("a"), createItem("b"), createItem("c") }, true);
+
+            delegate.failedTexts.add("b");
+            delegate.permanentTexts.add("c");
+            writer.flush();
+            final List<String> texts = new ArrayList<>();
+            writer.journal.replay((index, item) -> texts.add(item.getText()));
+            assertEquals(List.of("b"), texts);
+
+            delegate.failedTexts.clear();
+            writer.flush();
+            assertEquals(0, writer.journal.size());
+            assertEquals(2, delegate.written.size());
+        }
+    }
+
+    private SuggestItem createItem(final String text) {
+        return new SuggestItem(new String[] { text }, new String[][] { new String[] { text } }, new String[] { "content" }, 0, 1, -1,
+                new String[] { "tag1" }, new String[] { SuggestConstants.DEFAULT_ROLE }, null, SuggestItem.Kind.QUERY);
+    }
+}
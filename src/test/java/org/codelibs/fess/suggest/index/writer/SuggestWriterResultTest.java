@@ -46,6 +46,19 @@ public class SuggestWriterResultTest {
         assertEquals(exception, result.getFailures().get(0));
     }
 
+    @Test
+    public void test_addFailureWithId() throws Exception {
+        SuggestWriterResult result = new SuggestWriterResult();
+
+        result.addFailure(new Exception("Request failure"));
+        result.addFailure("id1", new Exception("Item failure"));
+
+        assertTrue(result.hasFailure());
+        assertEquals(2, result.getFailures().size());
+        assertEquals(1, result.getFailedIds().size());
+        assertEquals("id1", result.getFailedIds().get(0));
+    }
+
     @Test
     public void test_addMultipleFailures() throws Exception {
         SuggestWriterResult result = new SuggestWriterResult();
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.fess.suggest.load;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Thread-safe recorder of request latencies reporting percentiles and throughput.
+ */
+public class LatencyStats {
+
+    private final String name;
+
+    private long[] values = new long[1024];
+
+    private int count;
+
+    private long startTime;
+
+    private long endTime;
+
+    /**
+     * Constructor.
+     * @param name Name used in the report
+     */
+    public LatencyStats(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * Marks the start of the run used for the throughput.
+     */
+    public synchronized void start() {
+        startTime = System.nanoTime();
+    }
+
+    /**
+     * Marks the end of the run used for the throughput.
+     */
+    public synchronized void stop() {
+        endTime = System.nanoTime();
+    }
+
+    /**
+     * Records a value.
+     * @param value The value, in nanoseconds for latencies
+     */
+    public synchronized void record(final long value) {
+        if (count == values.length) {
+            values = Arrays.copyOf(values, count * 2);
+        }
+        values[count++] = value;
+    }
+
+    /**
+     * Returns the number of recorded values.
+     * @return Number of recorded values
+     */
+    public synchronized int getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the value at a percentile with the nearest-rank method.
+     * @param percentile Percentile between 0 and 100
+     * @return The value, or 0 if nothing is recorded
+     */
+    public synchronized long getPercentile(final double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        final long[] sorted = Arrays.copyOf(values, count);
+        Arrays.sort(sorted);
+        final int rank = (int) Math.ceil(percentile / 100.0 * count);
+        return sorted[Math.max(0, Math.min(count, rank) - 1)];
+    }
+
+    /**
+     * Returns the number of recorded values per second of the run.
+     * @return Recorded values per second between {@link #start()} and {@link #stop()}
+     */
+    public synchronized double getThroughput() {
+        return getRate(count);
+    }
+
+    /**
+     * Returns an amount processed during the run divided by its duration.
+     * @param amount Amount processed between {@link #start()} and {@link #stop()}
+     * @return The amount per second
+     */
+    public synchronized double getRate(final long amount) {
+        final long elapsed = endTime - startTime;
+        return elapsed > 0 ? amount * 1_000_000_000.0 / elapsed : 0;
+    }
+
+    /**
+     * Formats the recorded latencies as a one-line report.
+     * @return Latency percentiles in milliseconds and throughput per second
+     */
+    public String toLatencyReport() {
+        return String.format(Locale.ROOT, "%s: count=%d, throughput=%.1f/s, p50=%.2fms, p95=%.2fms, p99=%.2fms, max=%.2fms", name,
+                getCount(), getThroughput(), getPercentile(50) / 1_000_000.0, getPercentile(95) / 1_000_000.0,
+                getPercentile(99) / 1_000_000.0, getPercentile(100) / 1_000_000.0);
+    }
+
+    /**
+     * Formats values that were recorded in milliseconds, such as server-side took times, as a one-line report.
+     * @return Percentiles of values recorded in milliseconds
+     */
+    public String toMillisReport() {
+        return String.format(Locale.ROOT, "%s: count=%d, p50=%dms, p95=%dms, p99=%dms, max=%dms", name, getCount(), getPercentile(50),
+                getPercentile(95), getPercentile(99), getPercentile(100));
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.fess.suggest.load;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Queries used to seed a suggest index and to replay typing sessions.
+ * Each query has the words to index and the keys a user types to reach it.
+ */
+public class QueryCorpus {
+
+    private static final String[][] SYLLABLES = { { "a", "ア" }, { "i", "イ" }, { "u", "ウ" }, { "e", "エ" }, { "o", "オ" }, { "ka", "カ" },
+            { "ki", "キ" }, { "ku", "ク" }, { "ke", "ケ" }, { "ko", "コ" }, { "sa", "サ" }, { "su", "ス" }, { "se", "セ" }, { "so", "ソ" },
+            { "ta", "タ" }, { "te", "テ" }, { "to", "ト" }, { "na", "ナ" }, { "ni", "ニ" }, { "nu", "ヌ" }, { "ne", "ネ" }, { "no", "ノ" },
+            { "ha", "ハ" }, { "hi", "ヒ" }, { "he", "ヘ" }, { "ho", "ホ" }, { "ma", "マ" }, { "mi", "ミ" }, { "mu", "ム" }, { "me", "メ" },
+            { "mo", "モ" }, { "ya", "ヤ" }, { "yu", "ユ" }, { "yo", "ヨ" }, { "ra", "ラ" }, { "ri", "リ" }, { "ru", "ル" }, { "re", "レ" },
+            { "ro", "ロ" }, { "wa", "ワ" } };
+
+    private final List<String[]> words = new ArrayList<>();
+
+    private final List<String> keys = new ArrayList<>();
+
+    /**
+     * Creates a corpus of katakana queries that are typed as romaji, like a user typing readings without an IME.
+     * Queries have one or two words of two to four syllables.
+     * @param num Number of queries
+     * @param random Random generator
+     * @return The corpus
+     */
+    public static QueryCorpus synthetic(final int num, final Random random) {
+        final QueryCorpus corpus = new QueryCorpus();
+        for (int i = 0; i < num; i++) {
+            final int wordNum = random.nextInt(4) == 0 ? 2 : 1;
+            final String[] words = new String[wordNum];
+            final StringBuilder key = new StringBuilder();
+            for (int j = 0; j < wordNum; j++) {
+                final StringBuilder word = new StringBuilder();
+                if (j > 0) {
+                    key.append(' ');
+                }
+                final int syllableNum = random.nextInt(3) + 2;
+                for (int k = 0; k < syllableNum; k++) {
+                    final String[] syllable = SYLLABLES[random.nextInt(SYLLABLES.length)];
+                    key.append(syllable[0]);
+                    word.append(syllable[1]);
+                }
+                words[j] = word.toString();
+            }
+            corpus.add(words, key.toString());
+        }
+        return corpus;
+    }
+
+    /**
+     * Loads a corpus from a file with one query per line. Words are separated by whitespace and typed as they are written.
+     * @param path Path of the file
+     * @return The corpus
+     * @throws IOException If the file cannot be read
+     */
+    public static QueryCorpus load(final Path path) throws IOException {
+        final QueryCorpus corpus = new QueryCorpus();
+        for (final String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+            final String query = line.trim();
+            if (!query.isEmpty()) {
+                corpus.add(query.split("\\s+"), query);
+            }
+        }
+        return corpus;
+    }
+
+    private void add(final String[] queryWords, final String key) {
+        words.add(queryWords);
+        keys.add(key);
+    }
+
+    /**
+     * Returns the number of queries in the corpus.
+     * @return Number of queries
+     */
+    public int size() {
+        return words.size();
+    }
+
+    /**
+     * Returns the words of a query, wrapping around the end of the corpus.
+     * @param index Index of the query
+     * @return Words of the query
+     */
+    public String[] getWords(final int index) {
+        return words.get(index % words.size());
+    }
+
+    /**
+     * Returns the keys typed to enter a query, wrapping around the end of the corpus.
+     * @param index Index of the query
+     * @return Keys typed to enter the query
+     */
+    public String getKeys(final int index) {
+        return keys.get(index % keys.size());
+    }
+
+    /**
+     * Picks a query index with a Zipf-like distribution, so that a few queries are much more popular than the rest.
+     * @param random Random generator
+     * @return The query index
+     */
+    public int nextIndex(final Random random) {
+        return (int) Math.min(size() - 1, Math.floor(Math.pow(size() + 1.0, random.nextDouble()) - 1));
+    }
+}
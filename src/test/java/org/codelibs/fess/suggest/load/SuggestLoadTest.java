@@ -0,0 +1,303 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.fess.suggest.load;
+
+import static org.codelibs.opensearch.runner.OpenSearchRunner.newConfigs;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.codelibs.core.lang.StringUtil;
+import org.codelibs.core.lang.ThreadUtil;
+import org.codelibs.fess.suggest.Suggester;
+import org.codelibs.fess.suggest.index.SuggestIndexResponse;
+import org.codelibs.fess.suggest.index.contents.querylog.QueryLog;
+import org.codelibs.fess.suggest.request.suggest.SuggestResponse;
+import org.codelibs.fess.suggest.settings.SuggestSettings;
+import org.codelibs.fess.suggest.util.SuggestUtil;
+import org.codelibs.opensearch.runner.OpenSearchRunner;
+import org.junit.AfterClass;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Load harness replaying typing sessions and indexing runs against an embedded OpenSearch.
+ *
+ * <p>The harness is skipped unless {@code fess.suggest.load} is true. Sizes are set with system properties:</p>
+ * <ul>
+ * <li>{@code fess.suggest.load.queries}: number of synthetic queries seeded from query logs (default 2000)</li>
+ * <li>{@code fess.suggest.load.corpus}: file with one query per line used instead of synthetic queries</li>
+ * <li>{@code fess.suggest.load.sessions}: number of typing sessions (default 200)</li>
+ * <li>{@code fess.suggest.load.concurrency}: number of concurrent users (default 4)</li>
+ * <li>{@code fess.suggest.load.think.ms}: pause between keystrokes in milliseconds (default 0)</li>
+ * <li>{@code fess.suggest.load.typo.rate}: probability of a mistyped key followed by a backspace (default 0.05)</li>
+ * <li>{@code fess.suggest.load.documents}: number of documents indexed by the document run (default 500)</li>
+ * <li>{@code fess.suggest.load.batch}: documents or query logs per indexing request (default 100)</li>
+ * </ul>
+ *
+ * <p>{@code test_compareSuggestIdTypes} indexes the same query logs into one index with text-based IDs and one with
+ * hashed IDs, and reports the write throughput and the store size after a force merge for each.</p>
+ *
+ * <p>For example:</p>
+ * <pre>
+ * mvn test -Dtest=SuggestLoadTest -Dfess.suggest.load=true -Dfess.suggest.load.queries=100000 -Dfess.suggest.load.concurrency=16
+ * </pre>
+ */
+public class SuggestLoadTest {
+    private static final Logger logger = LogManager.getLogger(SuggestLoadTest.class);
+
+    static Suggester suggester;
+
+    static OpenSearchRunner runner;
+
+    static String field;
+
+    final Random random = new Random(0x5eed);
+
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        Assume.assumeTrue(Boolean.getBoolean("fess.suggest.load"));
+        runner = new OpenSearchRunner();
+        runner.onBuild((number, settingsBuilder) -> {
+            settingsBuilder.put("http.cors.enabled", true);
+            settingsBuilder.put("discovery.type", "single-node");
+        }).build(newConfigs().clusterName("SuggestLoadTest").numOfNode(1).pluginTypes("org.codelibs.opensearch.extension.ExtensionPlugin"));
+        runner.ensureYellow();
+        suggester = Suggester.builder().build(runner.client(), "SuggestLoadTest");
+        suggester.createIndexIfNothing();
+        field = suggester.settings().array().get(SuggestSettings.DefaultKeys.SUPPORTED_FIELDS)[0];
+    }
+
+    @AfterClass
+    public static void afterClass() throws Exception {
+        if (runner != null) {
+            runner.close();
+            runner.clean();
+        }
+    }
+
+    @Before
+    public void before() throws Exception {
+        suggester.indexer().deleteAll();
+        suggester.refresh();
+    }
+
+    @Test
+    public void test_replayTypingSessions() throws Exception {
+        final QueryCorpus corpus = createCorpus();
+        seedFromQueryLogs(suggester, corpus);
+
+        final int sessionNum = Integer.getInteger("fess.suggest.load.sessions", 200);
+        final int concurrency = Integer.getInteger("fess.suggest.load.concurrency", 4);
+        final long thinkTime = Long.getLong("fess.suggest.load.think.ms", 0L);
+        final float typoRate = Float.parseFloat(System.getProperty("fess.suggest.load.typo.rate", "0.05"));
+        final List<TypingSession> sessions = new ArrayList<>(sessionNum);
+        for (int i = 0; i < sessionNum; i++) {
+            sessions.add(new TypingSession(corpus.getKeys(corpus.nextIndex(random)), typoRate, random));
+        }
+
+        final LatencyStats latency = new LatencyStats("suggest");
+        final LatencyStats took = new LatencyStats("suggest took");
+        final AtomicInteger hitCount = new AtomicInteger();
+        final AtomicInteger foundSessionCount = new AtomicInteger();
+        final AtomicInteger sessionIndex = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            latency.start();
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int n = sessionIndex.getAndIncrement(); n < sessions.size(); n = sessionIndex.getAndIncrement()) {
+                        SuggestResponse response = null;
+                        for (final String query : sessions.get(n).getQueries()) {
+                            final long start = System.nanoTime();
+                            response = suggester.suggest().setQuery(query).setSize(10).execute().getResponse();
+                            latency.record(System.nanoTime() - start);
+                            took.record(response.getTookMs());
+                            if (response.getNum() > 0) {
+                                hitCount.incrementAndGet();
+                            }
+                            if (thinkTime > 0) {
+                                ThreadUtil.sleep(thinkTime);
+                            }
+                        }
+                        if (response != null && response.getNum() > 0) {
+                            foundSessionCount.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+            latency.stop();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        if (logger.isInfoEnabled()) {
+            logger.info("sessions={}, concurrency={}, hitRate={}%, foundSessions={}", sessionNum, concurrency,
+                    hitCount.get() * 100 / Math.max(1, latency.getCount()), foundSessionCount.get());
+            logger.info(latency.toLatencyReport());
+            logger.info(took.toMillisReport());
+        }
+
+        assertEquals(latency.getCount(), took.getCount());
+        assertTrue(foundSessionCount.get() > 0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void test_indexFromDocumentThroughput() throws Exception {
+        final QueryCorpus corpus = createCorpus();
+        final int documentNum = Integer.getInteger("fess.suggest.load.documents", 500);
+        final int batchSize = Integer.getInteger("fess.suggest.load.batch", 100);
+
+        final LatencyStats latency = new LatencyStats("indexFromDocument");
+        int itemNum = 0;
+        latency.start();
+        for (int i = 0; i < documentNum; i += batchSize) {
+            final Map<String, Object>[] documents = new Map[Math.min(batchSize, documentNum - i)];
+            for (int j = 0; j < documents.length; j++) {
+                final StringBuilder buf = new StringBuilder();
+                final int sentenceNum = random.nextInt(20) + 5;
+                for (int k = 0; k < sentenceNum; k++) {
+                    buf.append(String.join(" ", corpus.getWords(corpus.nextIndex(random)))).append("。");
+                }
+                final Map<String, Object> document = new HashMap<>();
+                document.put(field, buf.toString());
+                documents[j] = document;
+            }
+            final long start = System.nanoTime();
+            final SuggestIndexResponse response = suggester.indexer().indexFromDocument(documents);
+            latency.record(System.nanoTime() - start);
+            assertFalse(response.hasError());
+            itemNum += response.getNumberOfSuggestDocs();
+        }
+        latency.stop();
+        suggester.refresh();
+
+        if (logger.isInfoEnabled()) {
+            logger.info("documents={}, batch={}, items={}, documentThroughput={}", documentNum, batchSize, itemNum,
+                    String.format(Locale.ROOT, "%.1f/s", latency.getRate(documentNum)));
+            logger.info(latency.toLatencyReport());
+        }
+
+        assertTrue(itemNum > 0);
+    }
+
+    @Test
+    public void test_indexFromQueryLogThroughput() throws Exception {
+        final QueryCorpus corpus = createCorpus();
+        final LatencyStats latency = seedFromQueryLogs(suggester, corpus);
+
+        final int batchSize = Integer.getInteger("fess.suggest.load.batch", 100);
+        assertEquals((corpus.size() + batchSize - 1) / batchSize, latency.getCount());
+        assertTrue(suggester.getAllWordsNum() > 0);
+    }
+
+    @Test
+    public void test_compareSuggestIdTypes() throws Exception {
+        final QueryCorpus corpus = createCorpus();
+        final boolean hashedSuggestTextId = SuggestUtil.isHashedSuggestTextId();
+        try {
+            for (final boolean hashed : new boolean[] { false, true }) {
+                SuggestUtil.setHashedSuggestTextId(hashed);
+                final Suggester idSuggester = Suggester.builder().build(runner.client(), "SuggestLoadTest" + (hashed ? "Hashed" : "Plain"));
+                idSuggester.createIndexIfNothing();
+                seedFromQueryLogs(idSuggester, corpus);
+
+                runner.client().admin().indices().prepareForceMerge(idSuggester.getIndex()).setMaxNumSegments(1).execute().actionGet();
+                idSuggester.refresh();
+                final long storeSize = runner.client()
+                        .admin()
+                        .indices()
+                        .prepareStats(idSuggester.getIndex())
+                        .setStore(true)
+                        .execute()
+                        .actionGet()
+                        .getPrimaries()
+                        .getStore()
+                        .getSizeInBytes();
+                final long wordNum = idSuggester.getAllWordsNum();
+                if (logger.isInfoEnabled()) {
+                    logger.info("idType={}, words={}, storeSize={}, bytesPerWord={}", hashed ? "hash" : "text", wordNum, storeSize,
+                            storeSize / Math.max(1, wordNum));
+                }
+
+                assertTrue(wordNum > 0);
+            }
+        } finally {
+            SuggestUtil.setHashedSuggestTextId(hashedSuggestTextId);
+        }
+    }
+
+    private QueryCorpus createCorpus() throws Exception {
+        final String path = System.getProperty("fess.suggest.load.corpus");
+        if (StringUtil.isNotBlank(path)) {
+            return QueryCorpus.load(Paths.get(path));
+        }
+        return QueryCorpus.synthetic(Integer.getInteger("fess.suggest.load.queries", 2000), random);
+    }
+
+    private LatencyStats seedFromQueryLogs(final Suggester target, final QueryCorpus corpus) {
+        final int batchSize = Integer.getInteger("fess.suggest.load.batch", 100);
+        final LatencyStats latency = new LatencyStats("indexFromQueryLog");
+        latency.start();
+        for (int i = 0; i < corpus.size(); i += batchSize) {
+            final QueryLog[] queryLogs = new QueryLog[Math.min(batchSize, corpus.size() - i)];
+            for (int j = 0; j < queryLogs.length; j++) {
+                final StringBuilder buf = new StringBuilder();
+                for (final String word : corpus.getWords(i + j)) {
+                    if (buf.length() > 0) {
+                        buf.append(" AND ");
+                    }
+                    buf.append(field).append(':').append(word);
+                }
+                queryLogs[j] = new QueryLog(buf.toString(), null);
+            }
+            final long start = System.nanoTime();
+            final SuggestIndexResponse response = target.indexer().indexFromQueryLog(queryLogs);
+            latency.record(System.nanoTime() - start);
+            assertFalse(response.hasError());
+        }
+        latency.stop();
+        target.refresh();
+
+        if (logger.isInfoEnabled()) {
+            logger.info("queryLogs={}, batch={}, queryLogThroughput={}, words={}", corpus.size(), batchSize,
+                    String.format(Locale.ROOT, "%.1f/s", latency.getRate(corpus.size())), target.getAllWordsNum());
+            logger.info(latency.toLatencyReport());
+        }
+        return latency;
+    }
+}
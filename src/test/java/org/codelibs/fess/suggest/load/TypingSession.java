@@ -0,0 +1,65 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.fess.suggest.load;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Keystroke stream of a user typing a query in a search box.
+ * Every keystroke sends the current text as a suggest query, and mistyped keys are corrected with a backspace.
+ */
+public class TypingSession {
+
+    private static final String TYPO_KEYS = "abcdefghijklmnopqrstuvwxyz";
+
+    private final List<String> queries;
+
+    /**
+     * Constructor.
+     * @param keys Keys typed to enter the query
+     * @param typoRate Probability of mistyping each key
+     * @param random Random generator
+     */
+    public TypingSession(final String keys, final float typoRate, final Random random) {
+        queries = new ArrayList<>(keys.length() * 2);
+        final StringBuilder buf = new StringBuilder(keys.length() + 1);
+        for (int i = 0; i < keys.length(); i++) {
+            final char c = keys.charAt(i);
+            if (c != ' ' && random.nextFloat() < typoRate) {
+                buf.append(TYPO_KEYS.charAt(random.nextInt(TYPO_KEYS.length())));
+                queries.add(buf.toString());
+                buf.setLength(buf.length() - 1);
+                if (buf.length() > 0) {
+                    queries.add(buf.toString());
+                }
+            }
+            buf.append(c);
+            if (c != ' ') {
+                queries.add(buf.toString());
+            }
+        }
+    }
+
+    /**
+     * Returns the queries of the session in typing order.
+     * @return Suggest queries sent by the session, one per keystroke
+     */
+    public List<String> getQueries() {
+        return queries;
+    }
+}
@@ -18,8 +18,11 @@ package org.codelibs.fess.suggest.normalizer;
 import static org.codelibs.opensearch.runner.OpenSearchRunner.newConfigs;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 import org.codelibs.fess.suggest.Suggester;
+import org.codelibs.fess.suggest.util.TextScript;
 import org.codelibs.opensearch.runner.OpenSearchRunner;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -117,4 +120,36 @@ public class AnalyzerNormalizerTest {
         assertNotNull(result);
         assertEquals("search", result);
     }
+
+    @Test
+    public void test_normalizeWithMultipleLanguagesMatchesSequential() throws Exception {
+        AnalyzerNormalizer normalizer = new AnalyzerNormalizer(runner.client(), suggester.settings());
+
+        for (String text : new String[] { "ＴＥＳＴ Ｔｅｘｔ", "test", "ｹﾝｻｸ" }) {
+            String expected = normalizer.normalize(normalizer.normalize(text, "content", "en"), "content", "ja");
+            assertEquals(expected, normalizer.normalize(text, "content", "en", "ja"));
+        }
+        assertSame(normalizer.getLangNormalizer("en"), normalizer.getLangNormalizer("en"));
+    }
+
+    @Test
+    public void test_normalizeLocally() throws Exception {
+        AnalyzerNormalizer normalizer = new AnalyzerNormalizer(runner.client(), suggester.settings());
+        AnalyzerNormalizer remoteNormalizer = new AnalyzerNormalizer(runner.client(), suggester.settings()) {
+            @Override
+            protected boolean isLocalNormalize(final String analyzerName, final TextScript script) {
+                return false;
+            }
+        };
+
+        assertEquals("fess search", normalizer.getLangNormalizer("en").normalizeLocally("Fess Search", "content", TextScript.LATIN));
+        assertEquals("けんさく", normalizer.getLangNormalizer("ja").normalizeLocally("けんさく", "content", TextScript.KANA));
+        assertNull(normalizer.getLangNormalizer("en").normalizeLocally("Fess検索", "content", TextScript.OTHER));
+        assertNull(normalizer.getLangNormalizer("tr").normalizeLocally("Fess", "content", TextScript.LATIN));
+
+        for (String text : new String[] { "Fess Search", "ABC 123 ", "けんさく", "サーバー　ケンサク" }) {
+            assertEquals(remoteNormalizer.normalize(text, "content"), normalizer.normalize(text, "content"));
+            assertEquals(remoteNormalizer.normalize(text, "content", "en", "ja"), normalizer.normalize(text, "content", "en", "ja"));
+        }
+    }
 }
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.fess.suggest.normalizer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+public class CompiledNormalizerTest {
+
+    private Normalizer createNormalizer() {
+        NormalizerChain chain = new NormalizerChain();
+        chain.add(new HankakuKanaToZenkakuKana());
+        chain.add(new FullWidthToHalfWidthAlphabetNormalizer());
+        chain.add(new ICUNormalizer("Any-Lower"));
+        return chain.compile();
+    }
+
+    @Test
+    public void test_fusedNormalize() throws Exception {
+        Normalizer normalizer = createNormalizer();
+        assertEquals("ガパア。 test123 検索", normalizer.normalize("ｶﾞﾊﾟｱ｡ ＴｅｓＴ１２３ 検索", "field"));
+        assertEquals("abc", normalizer.normalize("ABC", "field"));
+        assertEquals("゛", normalizer.normalize("ﾞ", "field"));
+    }
+
+    @Test
+    public void test_sameAsChain() throws Exception {
+        NormalizerChain chain = new NormalizerChain();
+        chain.add(new HankakuKanaToZenkakuKana());
+        chain.add(new FullWidthToHalfWidthAlphabetNormalizer());
+        chain.add(new ICUNormalizer("Any-Lower"));
+        Normalizer compiled = chain.compile();
+        for (String text : new String[] { "", "ｶﾞｷﾞｸﾞ", "ΑΣ Σ", "İstanbul ÉCOLE", "ﾊﾟﾋﾟﾌﾟﾍﾟﾎﾟﾞ", "Ｆｕｌｌ ｗｉｄｔｈ", "mixed ｶﾀｶﾅ ABC ａｂｃ" }) {
+            assertEquals(text, chain.normalize(text, "field"), compiled.normalize(text, "field"));
+        }
+    }
+
+    @Test
+    public void test_returnsInputWhenUnchanged() throws Exception {
+        Normalizer normalizer = createNormalizer();
+        String text = "already normalized 検索 カタカナ";
+        assertSame(text, normalizer.normalize(text, "field"));
+        assertNull(normalizer.normalize(null, "field"));
+    }
+
+    @Test
+    public void test_unsupportedNormalizerKeepsOrder() throws Exception {
+        CompiledNormalizer normalizer = new CompiledNormalizer(Arrays.asList(new FullWidthToHalfWidthAlphabetNormalizer(),
+                (text, field, langs) -> text.toUpperCase(), new ICUNormalizer("Any-Lower")));
+        assertEquals(3, normalizer.stages.length);
+        assertEquals("abc", normalizer.normalize("ａｂｃ", "field"));
+
+        CompiledNormalizer upper =
+                new CompiledNormalizer(Arrays.asList(new ICUNormalizer("Any-Lower"), (text, field, langs) -> text.toUpperCase()));
+        assertEquals("ABC", upper.normalize("abc", "field"));
+    }
+
+    @Test
+    public void test_emptyChain() throws Exception {
+        CompiledNormalizer normalizer = new CompiledNormalizer(Collections.emptyList());
+        assertEquals("ＡＢＣ", normalizer.normalize("ＡＢＣ", "field"));
+    }
+}
@@ -98,6 +98,26 @@ public class AnalyzerSettingsTest {
         assertEquals(4, matchCount);
     }
 
+    @Test
+    public void test_analyzeTexts() {
+        SuggestAnalyzer analyzer = SuggestUtil.createDefaultAnalyzer(runner.client(), settings);
+        List<String> texts = List.of("全文検索サーバー", "Java 実行環境", "無料");
+        List<List<AnalyzeToken>> results = analyzer.analyzeTexts(texts, "", null);
+        assertEquals(texts.size(), results.size());
+        for (int i = 0; i < texts.size(); i++) {
+            List<AnalyzeToken> expected = analyzer.analyze(texts.get(i), "", null);
+            List<AnalyzeToken> actual = results.get(i);
+            assertEquals(expected.size(), actual.size());
+            int firstPosition = expected.get(0).getPosition();
+            for (int j = 0; j < expected.size(); j++) {
+                assertEquals(expected.get(j).getTerm(), actual.get(j).getTerm());
+                assertEquals(expected.get(j).getStartOffset(), actual.get(j).getStartOffset());
+                assertEquals(expected.get(j).getEndOffset(), actual.get(j).getEndOffset());
+                assertEquals(expected.get(j).getPosition() - firstPosition, actual.get(j).getPosition());
+            }
+        }
+    }
+
     @Test
     public void test_analyzerNames() throws Exception {
         final Set<String> analyzerNames = settings.analyzer().getAnalyzerNames();
@@ -17,8 +17,12 @@ package org.codelibs.fess.suggest.settings;
 
 import static org.codelibs.opensearch.runner.OpenSearchRunner.newConfigs;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.Map;
 
 import org.codelibs.fess.suggest.Suggester;
+import org.codelibs.fess.suggest.constants.FieldNames;
 import org.codelibs.opensearch.runner.OpenSearchRunner;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -96,4 +100,49 @@ public class ArraySettingsTest {
         settings.array().delete(key);
         assertEquals(0, settings.array().get(key).length);
     }
+
+    @Test
+    public void test_cacheAcrossInstances() {
+        String key = "key";
+        settings.array().add(key, "a");
+        settings.array().setCacheInterval(60000L);
+        assertEquals(1, settings.array().get(key).length);
+
+        SuggestSettings other = SuggestSettings.builder().build(runner.client(), id);
+        other.init();
+        other.array().add(key, "b");
+        other.array().add(key, "c");
+        assertEquals(1, settings.array().get(key).length);
+
+        settings.array().setCacheInterval(0L);
+        String[] values = settings.array().get(key);
+        assertEquals(3, values.length);
+        assertEquals("a", values[0]);
+        assertEquals("b", values[1]);
+        assertEquals("c", values[2]);
+
+        other.array().delete(key, "b");
+        values = settings.array().get(key);
+        assertEquals(2, values.length);
+        assertEquals("a", values[0]);
+        assertEquals("c", values[1]);
+    }
+
+    @Test
+    public void test_cachedValuesAreUnmodifiable() {
+        String key = "key";
+        ArraySettings array = settings.array();
+        array.add(key, "a");
+        array.setCacheInterval(60000L);
+        Map<String, Object>[] sources = array.getFromArrayIndex(array.arraySettingsIndexName, array.settingsId, key);
+        assertEquals(1, sources.length);
+        try {
+            sources[0].put(FieldNames.ARRAY_VALUE, "b");
+            fail();
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+        sources[0] = null;
+        assertEquals("a", array.get(key)[0]);
+    }
 }
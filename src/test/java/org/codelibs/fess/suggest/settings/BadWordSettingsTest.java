@@ -20,6 +20,8 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.Arrays;
+
 import org.codelibs.fess.suggest.Suggester;
 import org.codelibs.opensearch.runner.OpenSearchRunner;
 import org.junit.AfterClass;
@@ -126,4 +128,25 @@ public class BadWordSettingsTest {
         assertEquals(0, settings.badword().get(false).length);
     }
 
+    @Test
+    public void test_addAllAndDeleteAll() {
+        settings.badword().addAll(Arrays.asList("z", "y", "x"));
+        String[] badWords = settings.badword().get(false);
+        assertEquals(3, badWords.length);
+        assertEquals("z", badWords[0]);
+        assertEquals("y", badWords[1]);
+        assertEquals("x", badWords[2]);
+
+        settings.badword().deleteAll(Arrays.asList("z", "x"));
+        badWords = settings.badword().get(false);
+        assertEquals(1, badWords.length);
+        assertEquals("y", badWords[0]);
+
+        try {
+            settings.badword().addAll(Arrays.asList("a", "b c"));
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals(1, settings.badword().get(false).length);
+        }
+    }
 }
@@ -18,7 +18,10 @@ package org.codelibs.fess.suggest.settings;
 import static org.codelibs.opensearch.runner.OpenSearchRunner.newConfigs;
 import static org.junit.Assert.assertEquals;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 import org.codelibs.fess.suggest.Suggester;
 import org.codelibs.fess.suggest.entity.ElevateWord;
@@ -118,4 +121,23 @@ public class ElevateWordSettingsTest {
         settings.elevateWord().deleteAll();
         assertEquals(0, settings.elevateWord().get().length);
     }
+
+    @Test
+    public void test_addAllAndDeleteAll() {
+        List<ElevateWord> elevateWords = new ArrayList<>();
+        for (String word : new String[] { "c", "b", "a" }) {
+            elevateWords.add(new ElevateWord(word, 1.0f, Collections.singletonList(word), Collections.singletonList("content"), null, null));
+        }
+        settings.elevateWord().addAll(elevateWords);
+        ElevateWord[] result = settings.elevateWord().get();
+        assertEquals(3, result.length);
+        assertEquals("c", result[0].getElevateWord());
+        assertEquals("b", result[1].getElevateWord());
+        assertEquals("a", result[2].getElevateWord());
+
+        settings.elevateWord().deleteAll(Arrays.asList("c", "a"));
+        result = settings.elevateWord().get();
+        assertEquals(1, result.length);
+        assertEquals("b", result[0].getElevateWord());
+    }
 }
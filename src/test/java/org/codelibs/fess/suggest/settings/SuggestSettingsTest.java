@@ -120,4 +120,25 @@ public class SuggestSettingsTest {
         assertEquals(true, settings.getAsBoolean(key, false));
     }
 
+    @Test
+    public void test_cachedSnapshot() {
+        String key = "cached";
+        settings.set(key, "value1");
+        settings.setCacheInterval(60000L);
+        assertEquals("value1", settings.getAsString(key, ""));
+
+        String settingsIndexName = "fess_suggest";
+        runner.client().prepareUpdate().setIndex(settingsIndexName).setId(id).setDoc(key, "value2").execute().actionGet();
+        runner.refresh();
+        assertEquals("value1", settings.getAsString(key, ""));
+
+        settings.reload();
+        assertEquals("value2", settings.getAsString(key, ""));
+
+        runner.client().prepareUpdate().setIndex(settingsIndexName).setId(id).setDoc(key, "value3").execute().actionGet();
+        runner.refresh();
+        settings.setCacheInterval(0L);
+        assertEquals("value3", settings.getAsString(key, ""));
+    }
+
 }
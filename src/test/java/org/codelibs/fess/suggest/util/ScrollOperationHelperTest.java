@@ -22,6 +22,10 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.codelibs.fess.suggest.Suggester;
 import org.codelibs.opensearch.runner.OpenSearchRunner;
@@ -179,6 +183,24 @@ public class ScrollOperationHelperTest {
         assertEquals(5, results.size());
     }
 
+    @Test
+    public void testScrollSearchSlicedWithCallback() {
+        createTestIndex();
+        indexDocuments(50);
+        runner.refresh();
+
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Set<String> ids = ConcurrentHashMap.newKeySet();
+            ScrollOperationHelper.scrollSearchSlicedWithCallback(client, suggester.settings(), INDEX_NAME, QueryBuilders.matchAllQuery(),
+                    10, 3, executor, hit -> ids.add(hit.getId()));
+
+            assertEquals(50, ids.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     private void createTestIndex() {
         if (!runner.indexExists(INDEX_NAME)) {
             runner.admin().indices().prepareCreate(INDEX_NAME).execute().actionGet();
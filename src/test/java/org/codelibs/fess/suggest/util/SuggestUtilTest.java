@@ -17,6 +17,7 @@ package org.codelibs.fess.suggest.util;
 
 import static org.codelibs.opensearch.runner.OpenSearchRunner.newConfigs;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
@@ -129,6 +130,28 @@ public class SuggestUtilTest {
         assertEquals(445, id.length()); // Should be truncated to ID_MAX_LENGTH
     }
 
+    @Test
+    public void testCreateHashedSuggestTextId() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            sb.append("0123456789");
+        }
+        String id1 = SuggestUtil.createHashedSuggestTextId(sb.toString() + "a");
+        String id2 = SuggestUtil.createHashedSuggestTextId(sb.toString() + "b");
+        assertEquals(22, id1.length());
+        assertEquals(22, id2.length());
+        assertFalse(id1.equals(id2));
+        assertEquals(id1, SuggestUtil.createHashedSuggestTextId(sb.toString() + "a"));
+
+        assertFalse(SuggestUtil.isHashedSuggestTextId());
+        SuggestUtil.setHashedSuggestTextId(true);
+        try {
+            assertEquals(SuggestUtil.createHashedSuggestTextId("テスト"), SuggestUtil.createSuggestTextId("テスト"));
+        } finally {
+            SuggestUtil.setHashedSuggestTextId(false);
+        }
+    }
+
     @Test
     public void testParseQuery() {
         // Test normal query
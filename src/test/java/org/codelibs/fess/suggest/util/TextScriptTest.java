@@ -0,0 +1,54 @@
+/*
+ * Copyright 2012-2025 CodeLibs Project and the Others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.codelibs.fess.suggest.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class TextScriptTest {
+
+    @Test
+    public void test_of() {
+        assertEquals(TextScript.LATIN, TextScript.of("abc"));
+        assertEquals(TextScript.LATIN, TextScript.of("Fess 15 "));
+        assertEquals(TextScript.KANA, TextScript.of("けんさく"));
+        assertEquals(TextScript.KANA, TextScript.of("サーバー　けんさく"));
+        assertEquals(TextScript.OTHER, TextScript.of(null));
+        assertEquals(TextScript.OTHER, TextScript.of(""));
+        assertEquals(TextScript.OTHER, TextScript.of("   "));
+        assertEquals(TextScript.OTHER, TextScript.of("abc　def"));
+        assertEquals(TextScript.OTHER, TextScript.of("abc けんさく"));
+        assertEquals(TextScript.OTHER, TextScript.of("検索"));
+        assertEquals(TextScript.OTHER, TextScript.of("ｹﾝｻｸ"));
+        assertEquals(TextScript.OTHER, TextScript.of("ＡＢＣ"));
+        assertEquals(TextScript.OTHER, TextScript.of("c++"));
+        assertEquals(TextScript.OTHER, TextScript.of("café"));
+    }
+
+    @Test
+    public void test_accepts() {
+        assertTrue(TextScript.LATIN.accepts('a'));
+        assertTrue(TextScript.LATIN.accepts(' '));
+        assertFalse(TextScript.LATIN.accepts('Ａ'));
+        assertTrue(TextScript.KANA.accepts('ア'));
+        assertTrue(TextScript.KANA.accepts('　'));
+        assertFalse(TextScript.KANA.accepts('ｱ'));
+        assertTrue(TextScript.OTHER.accepts('x'));
+    }
+}